@@ -0,0 +1,421 @@
+package com.github.nginate.wolframalpha.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.nginate.wolframalpha.processor.Mirrors.annotation;
+import static com.github.nginate.wolframalpha.processor.Mirrors.annotationValue;
+import static com.github.nginate.wolframalpha.processor.Mirrors.escape;
+import static com.github.nginate.wolframalpha.processor.Mirrors.isType;
+import static com.github.nginate.wolframalpha.processor.Mirrors.typeElement;
+
+/**
+ * Generates implementations of Retrofit API interfaces marked with {@code GenerateClient}. For every interface it
+ * writes {@code Generated<Interface>} class of the same package, created from {@code Retrofit} instance:
+ * <ul>
+ * <li>relative urls of {@code GET} annotations are resolved against Retrofit base url once</li>
+ * <li>string converters of {@code Query} parameters and response body converters are looked up from Retrofit once,
+ * with erased parameter and payload types. Iterable parameters are added once per item unless raw processing is
+ * requested, same as Retrofit is doing it</li>
+ * <li>marker annotations with runtime retention (e.g. {@code Streaming}) are passed to converter lookups as annotation
+ * literals, annotations with members are not passed</li>
+ * <li>every call builds url directly from arguments and executes it with {@code DirectCall}</li>
+ * </ul>
+ * Other http methods, parameter annotations and parameterized payload types fail compilation.
+ */
+@SupportedAnnotationTypes(ClientProcessor.GENERATE_CLIENT)
+public class ClientProcessor extends AbstractProcessor {
+    static final String GENERATE_CLIENT = "com.github.nginate.wolframalpha.retrofit.GenerateClient";
+
+    private static final String DIRECT_CALL = "com.github.nginate.wolframalpha.retrofit.DirectCall";
+    private static final String GET = "retrofit2.http.GET";
+    private static final String QUERY = "retrofit2.http.Query";
+    private static final String CALL = "retrofit2.Call";
+    private static final String FUTURE = "java.util.concurrent.CompletableFuture";
+    private static final String RETENTION = "java.lang.annotation.Retention";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.INTERFACE) {
+                    new ClientGenerator((TypeElement) element).generate();
+                } else {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Only interfaces could be marked with " + GENERATE_CLIENT, element);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes implementation of a single API interface
+     */
+    private class ClientGenerator {
+        private final TypeElement api;
+        private final String packageName;
+        private final String className;
+        private final Map<String, String> urlFields = new LinkedHashMap<>();
+        private final Map<String, ConverterField> converterFields = new LinkedHashMap<>();
+        private final Set<TypeElement> literals = new LinkedHashSet<>();
+        private final Set<String> usedNames = new HashSet<>();
+        private final StringBuilder code = new StringBuilder();
+        private boolean valid = true;
+
+        ClientGenerator(TypeElement api) {
+            this.api = api;
+            this.packageName = processingEnv.getElementUtils().getPackageOf(api).getQualifiedName().toString();
+            String relativeName = api.getQualifiedName().toString().substring(packageName.length() + 1);
+            this.className = "Generated" + relativeName.replace(".", "");
+        }
+
+        void generate() {
+            for (ExecutableElement method : ElementFilter.methodsIn(
+                    processingEnv.getElementUtils().getAllMembers(api))) {
+                if (method.getModifiers().contains(Modifier.ABSTRACT)
+                        && method.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                    writeMethod(method);
+                }
+            }
+            String methods = code.toString();
+            if (!valid) {
+                return;
+            }
+
+            code.setLength(0);
+            line(0, "package %s;", packageName);
+            line(0, "");
+            line(0, "import %s;", DIRECT_CALL);
+            line(0, "import okhttp3.HttpUrl;");
+            line(0, "import okhttp3.ResponseBody;");
+            line(0, "import retrofit2.Converter;");
+            line(0, "import retrofit2.Retrofit;");
+            line(0, "");
+            line(0, "import java.io.IOException;");
+            line(0, "import java.io.UncheckedIOException;");
+            line(0, "import java.lang.annotation.Annotation;");
+            line(0, "");
+            line(0, "/**");
+            line(0, " * Implementation of {@link %s} generated from its Retrofit annotations.", api.getQualifiedName());
+            line(0, " * Request urls are built directly, with converters looked up once from provided Retrofit");
+            line(0, " * instance.");
+            line(0, " */");
+            String generated = generatedAnnotation();
+            if (generated != null) {
+                line(0, "@%s(\"%s\")", generated, ClientProcessor.class.getName());
+            }
+            line(0, "public final class %s implements %s {", className, api.getQualifiedName());
+            line(1, "private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];");
+            line(0, "");
+            line(1, "private final okhttp3.Call.Factory callFactory;");
+            urlFields.values().forEach(field -> line(1, "private final HttpUrl %s;", field));
+            converterFields.values().forEach(field -> line(1, "private final %s %s;", field.type, field.name));
+            line(0, "");
+            line(1, "public %s(Retrofit retrofit) {", className);
+            line(2, "this.callFactory = retrofit.callFactory();");
+            urlFields.forEach((path, field) -> line(2, "this.%s = url(retrofit, \"%s\");", field, escape(path)));
+            converterFields.values().forEach(field -> line(2, "this.%s = %s;", field.name, field.initializer));
+            line(1, "}");
+            code.append(methods);
+            writeHelpers();
+            for (TypeElement literal : literals) {
+                line(0, "");
+                line(1, "private static final class %sLiteral implements %s {", literal.getSimpleName(),
+                        literal.getQualifiedName());
+                line(2, "@Override");
+                line(2, "public Class<? extends Annotation> annotationType() {");
+                line(3, "return %s.class;", literal.getQualifiedName());
+                line(2, "}");
+                line(1, "}");
+            }
+            line(0, "}");
+
+            try {
+                JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + className, api);
+                try (Writer writer = file.openWriter()) {
+                    writer.write(code.toString());
+                }
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write " + className + ": " + e, api);
+            }
+        }
+
+        private void writeMethod(ExecutableElement method) {
+            AnnotationMirror get = annotation(method, GET);
+            if (get == null) {
+                error(method, "Only GET methods are supported by generated client");
+                return;
+            }
+            if (!method.getTypeParameters().isEmpty()) {
+                error(method, "Generic methods are not supported by generated client");
+                return;
+            }
+            String path = String.valueOf(annotationValue(get, "value"));
+            if (path.contains("{")) {
+                error(method, "Path parameters are not supported by generated client");
+                return;
+            }
+            String urlField = urlFields.computeIfAbsent(path, this::urlFieldName);
+
+            TypeMirror returnType = method.getReturnType();
+            String factory;
+            TypeMirror payloadType;
+            if (isType(returnType, CALL) || isType(returnType, FUTURE)) {
+                factory = isType(returnType, CALL) ? "get" : "future";
+                List<? extends TypeMirror> arguments = ((DeclaredType) returnType).getTypeArguments();
+                payloadType = arguments.isEmpty() ? null : arguments.get(0);
+            } else {
+                factory = "payload";
+                payloadType = returnType;
+            }
+            if (payloadType == null || !isPlainType(payloadType)
+                    || payloadType.getKind() == TypeKind.DECLARED
+                    && !((DeclaredType) payloadType).getTypeArguments().isEmpty()) {
+                error(method, "Return type " + returnType + " is not supported by generated client");
+                return;
+            }
+            String responseConverter = converterField("Converter<ResponseBody, " + payloadType + ">",
+                    "responseBodyConverter", payloadType, "Response", markerAnnotations(method));
+
+            List<String> parameters = new ArrayList<>();
+            for (VariableElement parameter : method.getParameters()) {
+                parameters.add(parameter.asType() + " " + parameter.getSimpleName());
+            }
+            line(0, "");
+            line(1, "@Override");
+            line(1, "public %s %s(%s) {", returnType, method.getSimpleName(), String.join(", ", parameters));
+            line(2, "HttpUrl.Builder urlBuilder = %s.newBuilder();", urlField);
+            for (VariableElement parameter : method.getParameters()) {
+                writeQuery(parameter);
+            }
+            line(2, "return DirectCall.%s(callFactory, urlBuilder.build(), %s);", factory, responseConverter);
+            line(1, "}");
+        }
+
+        private void writeQuery(VariableElement parameter) {
+            AnnotationMirror query = annotation(parameter, QUERY);
+            if (query == null) {
+                error(parameter, "Only Query parameters are supported by generated client");
+                return;
+            }
+            String name = escape(String.valueOf(annotationValue(query, "value")));
+            boolean encoded = Boolean.TRUE.equals(annotationValue(query, "encoded"));
+            boolean rawProcessing = Boolean.TRUE.equals(annotationValue(query, "rawProcessing"));
+            List<TypeElement> annotations = markerAnnotations(parameter);
+
+            TypeMirror type = parameter.asType();
+            TypeMirror iterable = processingEnv.getTypeUtils().erasure(
+                    processingEnv.getElementUtils().getTypeElement("java.lang.Iterable").asType());
+            if (!rawProcessing && processingEnv.getTypeUtils().isAssignable(type, iterable)) {
+                List<? extends TypeMirror> arguments = type.getKind() == TypeKind.DECLARED
+                        ? ((DeclaredType) type).getTypeArguments()
+                        : null;
+                if (arguments == null || arguments.size() != 1 || !isPlainType(arguments.get(0))) {
+                    error(parameter, "Iterable parameter type " + type + " is not supported by generated client");
+                    return;
+                }
+                String converter = converterField("Converter<" + arguments.get(0) + ", String>",
+                        "stringConverter", arguments.get(0), "Query", annotations);
+                line(2, "addQueries(urlBuilder, \"%s\", %s, %s, %s);", name, parameter.getSimpleName(), converter,
+                        encoded);
+                return;
+            }
+            if (!rawProcessing && type.getKind() == TypeKind.ARRAY) {
+                error(parameter, "Array parameters are not supported by generated client");
+                return;
+            }
+            TypeMirror boxed = type.getKind().isPrimitive()
+                    ? processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(
+                    type.getKind())).asType()
+                    : type;
+            String converter = converterField("Converter<" + boxed + ", String>", "stringConverter",
+                    type, "Query", annotations);
+            line(2, "addQuery(urlBuilder, \"%s\", %s, %s, %s);", name, parameter.getSimpleName(), converter, encoded);
+        }
+
+        /**
+         * @return name of the field holding converter looked up from Retrofit for erasure of given type
+         */
+        private String converterField(String fieldType, String lookup, TypeMirror type, String kind,
+                                      List<TypeElement> annotations) {
+            TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+            StringBuilder name = new StringBuilder(simpleName(erasure));
+            List<String> literalList = new ArrayList<>();
+            for (TypeElement annotation : annotations) {
+                literals.add(annotation);
+                literalList.add("new " + annotation.getSimpleName() + "Literal()");
+                name.append(annotation.getSimpleName());
+            }
+            String annotationsArray = literalList.isEmpty()
+                    ? "NO_ANNOTATIONS"
+                    : "new Annotation[]{" + String.join(", ", literalList) + "}";
+            String initializer = String.format("retrofit.%s(%s.class, %s)", lookup, erasure, annotationsArray);
+            return converterFields.computeIfAbsent(fieldType + " " + initializer, key -> new ConverterField(fieldType,
+                    uniqueName(lowerCamel(name + kind + "Converter")), initializer)).name;
+        }
+
+        /**
+         * @return marker annotations with runtime retention present on element
+         */
+        private List<TypeElement> markerAnnotations(Element element) {
+            List<TypeElement> markers = new ArrayList<>();
+            for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                TypeElement type = typeElement(mirror.getAnnotationType());
+                AnnotationMirror retention = annotation(type, RETENTION);
+                if (retention == null || !"RUNTIME".equals(String.valueOf(annotationValue(retention, "value")))) {
+                    continue;
+                }
+                if (!ElementFilter.methodsIn(type.getEnclosedElements()).isEmpty()) {
+                    if (!type.getQualifiedName().toString().startsWith("retrofit2.http.")) {
+                        error(element, "Annotation " + type + " with members is not supported by generated client");
+                    }
+                    continue;
+                }
+                markers.add(type);
+            }
+            return markers;
+        }
+
+        private boolean isPlainType(TypeMirror type) {
+            return type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ARRAY;
+        }
+
+        private String simpleName(TypeMirror erasure) {
+            if (erasure.getKind() == TypeKind.ARRAY) {
+                return simpleName(((ArrayType) erasure).getComponentType()) + "Array";
+            }
+            TypeElement element = typeElement(erasure);
+            return element == null ? erasure.toString() : element.getSimpleName().toString();
+        }
+
+        private String urlFieldName(String path) {
+            StringBuilder name = new StringBuilder();
+            for (String part : path.split("[^A-Za-z0-9]+")) {
+                if (!part.isEmpty()) {
+                    name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+                }
+            }
+            return uniqueName(lowerCamel(name + "Url"));
+        }
+
+        private String uniqueName(String name) {
+            String unique = name;
+            for (int i = 2; !usedNames.add(unique); i++) {
+                unique = name + i;
+            }
+            return unique;
+        }
+
+        private String lowerCamel(String name) {
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private void writeHelpers() {
+            line(0, "");
+            line(1, "private static HttpUrl url(Retrofit retrofit, String path) {");
+            line(2, "HttpUrl url = retrofit.baseUrl().resolve(path);");
+            line(2, "if (url == null) {");
+            line(3, "throw new IllegalArgumentException(\"Malformed URL. Base: \" + retrofit.baseUrl()");
+            line(5, "+ \", Relative: \" + path);");
+            line(2, "}");
+            line(2, "return url;");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static <T> void addQuery(HttpUrl.Builder urlBuilder, String name, T value,");
+            line(3, "Converter<T, String> converter, boolean encoded) {");
+            line(2, "if (value == null) {");
+            line(3, "return;");
+            line(2, "}");
+            line(2, "String queryValue;");
+            line(2, "try {");
+            line(3, "queryValue = converter.convert(value);");
+            line(2, "} catch (IOException e) {");
+            line(3, "throw new UncheckedIOException(\"Could not convert query parameter \" + name, e);");
+            line(2, "}");
+            line(2, "if (queryValue == null) {");
+            line(3, "return;");
+            line(2, "}");
+            line(2, "if (encoded) {");
+            line(3, "urlBuilder.addEncodedQueryParameter(name, queryValue);");
+            line(2, "} else {");
+            line(3, "urlBuilder.addQueryParameter(name, queryValue);");
+            line(2, "}");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static <T> void addQueries(HttpUrl.Builder urlBuilder, String name,");
+            line(3, "Iterable<? extends T> values, Converter<T, String> converter, boolean encoded) {");
+            line(2, "if (values == null) {");
+            line(3, "return;");
+            line(2, "}");
+            line(2, "for (T value : values) {");
+            line(3, "addQuery(urlBuilder, name, value, converter, encoded);");
+            line(2, "}");
+            line(1, "}");
+        }
+
+        private String generatedAnnotation() {
+            for (String name : new String[]{"javax.annotation.processing.Generated", "javax.annotation.Generated"}) {
+                if (processingEnv.getElementUtils().getTypeElement(name) != null) {
+                    return name;
+                }
+            }
+            return null;
+        }
+
+        private void line(int indent, String format, Object... args) {
+            for (int i = 0; i < indent; i++) {
+                code.append("    ");
+            }
+            code.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+        }
+
+        private void error(Element element, String message) {
+            valid = false;
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        }
+    }
+
+    private static class ConverterField {
+        private final String type;
+        private final String name;
+        private final String initializer;
+
+        private ConverterField(String type, String name, String initializer) {
+            this.type = type;
+            this.name = name;
+            this.initializer = initializer;
+        }
+    }
+}
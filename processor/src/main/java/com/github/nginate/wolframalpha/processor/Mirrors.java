@@ -0,0 +1,66 @@
+package com.github.nginate.wolframalpha.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Map;
+
+/**
+ * Lookups of annotations and types by their names, so processors do not need annotated libraries on their classpath
+ */
+final class Mirrors {
+    private Mirrors() {
+    }
+
+    /**
+     * @return annotation of given type present on element or null
+     */
+    static AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (typeElement(mirror.getAnnotationType()).getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return explicitly provided annotation value or null if default one is used
+     */
+    static Object annotationValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return element of declared type or null if type is not declared one (primitive, array etc.)
+     */
+    static TypeElement typeElement(TypeMirror type) {
+        if (type == null || type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) type).asElement();
+    }
+
+    static boolean isType(TypeMirror type, String qualifiedName) {
+        TypeElement element = typeElement(type);
+        return element != null && element.getQualifiedName().contentEquals(qualifiedName);
+    }
+
+    /**
+     * @return value escaped to be used as Java string literal content
+     */
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
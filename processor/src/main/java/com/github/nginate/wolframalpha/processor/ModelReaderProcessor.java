@@ -0,0 +1,530 @@
+package com.github.nginate.wolframalpha.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.github.nginate.wolframalpha.processor.Mirrors.annotation;
+import static com.github.nginate.wolframalpha.processor.Mirrors.annotationValue;
+import static com.github.nginate.wolframalpha.processor.Mirrors.escape;
+import static com.github.nginate.wolframalpha.processor.Mirrors.isType;
+import static com.github.nginate.wolframalpha.processor.Mirrors.typeElement;
+
+/**
+ * Generates reflection-free readers of JAXB annotated model classes. For every package with {@code XmlType} classes it
+ * writes {@value #READER_NAME} class with public static {@code read<Type>(XMLStreamReader)} method per class, reading
+ * it from StAX reader positioned on its start element, the same way JAXB driven Jackson mapper does:
+ * <ul>
+ * <li>only fields annotated with {@code XmlAttribute}, {@code XmlElement} or {@code XmlValue} are read, as with
+ * {@code XmlAccessType.NONE}, and are set with their setters</li>
+ * <li>unknown elements and attributes are skipped</li>
+ * <li>list attributes are single element lists with raw attribute value, enums are matched by their {@code
+ * XmlEnumValue}, unknown enum values are read as nulls</li>
+ * <li>maps are read from untyped element content into nested maps the same way as {@code StaxModelReader} does</li>
+ * <li>{@code XmlJavaTypeAdapter} of string fields is applied to raw value</li>
+ * </ul>
+ * Supported field types are strings, boxed primitives, enums, other {@code XmlType} classes of the same package, lists
+ * of them and {@code Map<String, Object>}. Any other field type fails compilation. Processor is only reading
+ * annotation mirrors, so it does not need JAXB or model classes on its own classpath.
+ */
+@SupportedAnnotationTypes(ModelReaderProcessor.XML_TYPE)
+public class ModelReaderProcessor extends AbstractProcessor {
+    static final String XML_TYPE = "javax.xml.bind.annotation.XmlType";
+    static final String READER_NAME = "GeneratedModelReader";
+
+    private static final String XML_ATTRIBUTE = "javax.xml.bind.annotation.XmlAttribute";
+    private static final String XML_ELEMENT = "javax.xml.bind.annotation.XmlElement";
+    private static final String XML_VALUE = "javax.xml.bind.annotation.XmlValue";
+    private static final String XML_ENUM_VALUE = "javax.xml.bind.annotation.XmlEnumValue";
+    private static final String XML_TYPE_ADAPTER = "javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter";
+    private static final String DEFAULT_NAME = "##default";
+    private static final String WOODSTOX_READER = "org.codehaus.stax2.XMLStreamReader2";
+
+    /**
+     * Conversions of raw text values to boxed types, formatted with expression of raw value
+     */
+    private static final Map<String, String> SCALARS = new HashMap<>();
+
+    static {
+        SCALARS.put("java.lang.String", "%s");
+        SCALARS.put("java.lang.Boolean", "toBoolean(%s)");
+        SCALARS.put("java.lang.Integer", "toInteger(reader, %s)");
+        SCALARS.put("java.lang.Long", "toLong(reader, %s)");
+        SCALARS.put("java.lang.Float", "toFloat(reader, %s)");
+        SCALARS.put("java.lang.Double", "toDouble(reader, %s)");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<String, List<TypeElement>> typesByPackage = new TreeMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName()
+                            .toString();
+                    typesByPackage.computeIfAbsent(packageName, name -> new ArrayList<>()).add((TypeElement) element);
+                }
+            }
+        }
+        typesByPackage.forEach((packageName, types) -> new ReaderGenerator(packageName, types).generate());
+        return false;
+    }
+
+    /**
+     * Writes reader of all model classes of a single package
+     */
+    private class ReaderGenerator {
+        private final String packageName;
+        private final List<TypeElement> types;
+        private final Map<TypeElement, String> typeNames = new LinkedHashMap<>();
+        private final Map<TypeElement, String> enumNames = new LinkedHashMap<>();
+        private final Set<String> usedNames = new HashSet<>();
+        private final StringBuilder code = new StringBuilder();
+        private boolean valid = true;
+
+        ReaderGenerator(String packageName, List<TypeElement> types) {
+            this.packageName = packageName;
+            this.types = types;
+            types.sort(Comparator.comparing(type -> type.getQualifiedName().toString()));
+            types.forEach(type -> typeNames.put(type, uniqueName(type)));
+        }
+
+        void generate() {
+            StringBuilder methods = new StringBuilder();
+            for (TypeElement type : types) {
+                code.setLength(0);
+                writeReadMethod(type);
+                methods.append(code);
+            }
+            code.setLength(0);
+            enumNames.forEach(this::writeEnumMethod);
+            methods.append(code);
+            if (!valid) {
+                return;
+            }
+
+            code.setLength(0);
+            line(0, "package %s;", packageName);
+            line(0, "");
+            line(0, "import javax.xml.stream.XMLStreamConstants;");
+            line(0, "import javax.xml.stream.XMLStreamException;");
+            line(0, "import javax.xml.stream.XMLStreamReader;");
+            line(0, "import javax.xml.bind.annotation.adapters.XmlAdapter;");
+            line(0, "import java.util.ArrayList;");
+            line(0, "import java.util.Collections;");
+            line(0, "import java.util.LinkedHashMap;");
+            line(0, "import java.util.List;");
+            line(0, "import java.util.Map;");
+            line(0, "");
+            line(0, "/**");
+            line(0, " * Readers of {@code %s} classes generated from their JAXB annotations.", packageName);
+            line(0, " * Every method reads model from reader positioned on its start element and leaves reader on its");
+            line(0, " * end element.");
+            line(0, " */");
+            String generated = generatedAnnotation();
+            if (generated != null) {
+                line(0, "@%s(\"%s\")", generated, ModelReaderProcessor.class.getName());
+            }
+            line(0, "public final class %s {", READER_NAME);
+            line(1, "private %s() {", READER_NAME);
+            line(1, "}");
+            code.append(methods);
+            writeHelpers();
+            line(0, "}");
+
+            try {
+                JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + READER_NAME,
+                        types.toArray(new Element[0]));
+                try (Writer writer = file.openWriter()) {
+                    writer.write(code.toString());
+                }
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write " + READER_NAME + " of " + packageName + ": " + e);
+            }
+        }
+
+        private void writeReadMethod(TypeElement type) {
+            String typeName = sourceName(type);
+            List<VariableElement> attributes = new ArrayList<>();
+            List<VariableElement> elements = new ArrayList<>();
+            VariableElement value = null;
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (annotation(field, XML_ATTRIBUTE) != null) {
+                    attributes.add(field);
+                } else if (annotation(field, XML_ELEMENT) != null) {
+                    elements.add(field);
+                } else if (annotation(field, XML_VALUE) != null) {
+                    value = field;
+                }
+            }
+            if (value != null && !elements.isEmpty()) {
+                error(value, "XmlValue could not be combined with XmlElement fields");
+            }
+
+            line(0, "");
+            line(1, "public static %s read%s(XMLStreamReader reader) throws XMLStreamException {", typeName,
+                    typeNames.get(type));
+            line(2, "%s result = new %s();", typeName, typeName);
+            if (!attributes.isEmpty()) {
+                line(2, "for (int i = 0; i < reader.getAttributeCount(); i++) {");
+                line(3, "String attribute = reader.getAttributeValue(i);");
+                line(3, "switch (reader.getAttributeLocalName(i)) {");
+                for (VariableElement attribute : attributes) {
+                    line(4, "case \"%s\":", xmlName(attribute, XML_ATTRIBUTE));
+                    line(5, "result.%s(%s);", accessor("set", attribute), textValue(attribute, "attribute", true));
+                    line(5, "break;");
+                }
+                line(4, "default:");
+                line(5, "break;");
+                line(3, "}");
+                line(2, "}");
+            }
+            if (value != null) {
+                line(2, "result.%s(%s);", accessor("set", value), textValue(value, "readText(reader)", false));
+            } else if (!elements.isEmpty()) {
+                line(2, "while (nextChild(reader)) {");
+                line(3, "switch (reader.getLocalName()) {");
+                for (VariableElement element : elements) {
+                    line(4, "case \"%s\":", xmlName(element, XML_ELEMENT));
+                    TypeMirror itemType = listItemType(element.asType());
+                    if (itemType != null) {
+                        line(5, "if (result.%s() == null) {", accessor("get", element));
+                        line(6, "result.%s(new ArrayList<>());", accessor("set", element));
+                        line(5, "}");
+                        line(5, "result.%s().add(%s);", accessor("get", element), elementValue(element, itemType));
+                    } else {
+                        line(5, "result.%s(%s);", accessor("set", element), elementValue(element, element.asType()));
+                    }
+                    line(5, "break;");
+                }
+                line(4, "default:");
+                line(5, "skipElement(reader);");
+                line(5, "break;");
+                line(3, "}");
+                line(2, "}");
+            } else {
+                line(2, "skipElement(reader);");
+            }
+            line(2, "return result;");
+            line(1, "}");
+        }
+
+        private void writeEnumMethod(TypeElement type, String name) {
+            String typeName = sourceName(type);
+            line(0, "");
+            line(1, "private static %s to%s(String value) {", typeName, name);
+            line(2, "if (value == null) {");
+            line(3, "return null;");
+            line(2, "}");
+            line(2, "switch (value) {");
+            for (VariableElement constant : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (constant.getKind() != ElementKind.ENUM_CONSTANT) {
+                    continue;
+                }
+                AnnotationMirror enumValue = annotation(constant, XML_ENUM_VALUE);
+                String xmlValue = enumValue == null
+                        ? constant.getSimpleName().toString()
+                        : String.valueOf(annotationValue(enumValue, "value"));
+                line(3, "case \"%s\":", escape(xmlValue));
+                line(4, "return %s.%s;", typeName, constant.getSimpleName());
+            }
+            line(3, "default:");
+            line(4, "return null;");
+            line(2, "}");
+            line(1, "}");
+        }
+
+        /**
+         * @return expression converting raw text expression to field value
+         */
+        private String textValue(VariableElement field, String raw, boolean isAttribute) {
+            TypeMirror type = field.asType();
+            String adapter = typeAdapter(field);
+            if (adapter != null) {
+                if (!isType(type, "java.lang.String")) {
+                    error(field, "XmlJavaTypeAdapter is only supported for String fields");
+                }
+                return String.format("unmarshal(new %s(), %s)", adapter, raw);
+            }
+            TypeMirror itemType = listItemType(type);
+            if (isAttribute && itemType != null && isType(itemType, "java.lang.String")) {
+                return String.format("toList(%s)", raw);
+            }
+            return scalarValue(field, type, raw);
+        }
+
+        /**
+         * @return expression reading element content as value of given type
+         */
+        private String elementValue(VariableElement field, TypeMirror type) {
+            TypeElement typeElement = typeElement(type);
+            if (typeElement != null && typeNames.containsKey(typeElement)) {
+                return String.format("read%s(reader)", typeNames.get(typeElement));
+            }
+            if (isType(type, "java.util.Map")) {
+                return "readMap(reader)";
+            }
+            if (typeAdapter(field) != null && isType(type, "java.lang.String")) {
+                return String.format("unmarshal(new %s(), readText(reader))", typeAdapter(field));
+            }
+            return scalarValue(field, type, "readText(reader)");
+        }
+
+        private String scalarValue(VariableElement field, TypeMirror type, String raw) {
+            TypeElement typeElement = typeElement(type);
+            if (typeElement != null && typeElement.getKind() == ElementKind.ENUM) {
+                return String.format("to%s(%s)", enumNames.computeIfAbsent(typeElement, this::uniqueName), raw);
+            }
+            String conversion = typeElement == null ? null : SCALARS.get(typeElement.getQualifiedName().toString());
+            if (conversion == null) {
+                error(field, "Field type " + type + " is not supported by generated reader");
+                return "null";
+            }
+            return String.format(conversion, raw);
+        }
+
+        private void writeHelpers() {
+            line(0, "");
+            line(1, "/**");
+            line(1, " * Reads any element as a map of attributes and child elements or as a text if it has neither");
+            line(1, " */");
+            line(1, "@SuppressWarnings(\"unchecked\")");
+            line(1, "private static Map<String, Object> readMap(XMLStreamReader reader) throws XMLStreamException {");
+            line(2, "Object value = readUntyped(reader);");
+            line(2, "return value instanceof Map ? (Map<String, Object>) value : null;");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static Object readUntyped(XMLStreamReader reader) throws XMLStreamException {");
+            line(2, "Map<String, Object> values = null;");
+            line(2, "for (int i = 0; i < reader.getAttributeCount(); i++) {");
+            line(3, "if (values == null) {");
+            line(4, "values = new LinkedHashMap<>();");
+            line(3, "}");
+            line(3, "values.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));");
+            line(2, "}");
+            line(2, "StringBuilder text = null;");
+            line(2, "boolean hasChildren = false;");
+            line(2, "while (true) {");
+            line(3, "int event = reader.next();");
+            line(3, "if (event == XMLStreamConstants.START_ELEMENT) {");
+            line(4, "if (values == null) {");
+            line(5, "values = new LinkedHashMap<>();");
+            line(4, "}");
+            line(4, "hasChildren = true;");
+            line(4, "String name = reader.getLocalName();");
+            line(4, "values.put(name, readUntyped(reader));");
+            line(3, "} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {");
+            line(4, "if (text == null) {");
+            line(5, "text = new StringBuilder();");
+            line(4, "}");
+            line(4, "text.append(reader.getText());");
+            line(3, "} else if (event == XMLStreamConstants.END_ELEMENT) {");
+            line(4, "break;");
+            line(3, "}");
+            line(2, "}");
+            line(2, "if (values == null) {");
+            line(3, "return text == null ? null : text.toString();");
+            line(2, "}");
+            line(2, "if (!hasChildren && text != null) {");
+            line(3, "values.put(\"\", text.toString());");
+            line(2, "}");
+            line(2, "return values;");
+            line(1, "}");
+            line(0, "");
+            line(1, "/**");
+            line(1, " * Reads text content of current element skipping nested elements, null if element is empty");
+            line(1, " */");
+            line(1, "private static String readText(XMLStreamReader reader) throws XMLStreamException {");
+            if (processingEnv.getElementUtils().getTypeElement(WOODSTOX_READER) != null) {
+                line(2, "String text = !(reader instanceof %s) || ((%s) reader).isEmptyElement() ? null : \"\";",
+                        WOODSTOX_READER, WOODSTOX_READER);
+            } else {
+                line(2, "String text = null;");
+            }
+            line(2, "StringBuilder builder = null;");
+            line(2, "int depth = 0;");
+            line(2, "while (true) {");
+            line(3, "int event = reader.next();");
+            line(3, "if (event == XMLStreamConstants.START_ELEMENT) {");
+            line(4, "depth++;");
+            line(3, "} else if (event == XMLStreamConstants.END_ELEMENT) {");
+            line(4, "if (depth-- == 0) {");
+            line(5, "break;");
+            line(4, "}");
+            line(3, "} else if (depth == 0");
+            line(5, "&& (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {");
+            line(4, "if (text == null || text.isEmpty()) {");
+            line(5, "text = reader.getText();");
+            line(4, "} else {");
+            line(5, "if (builder == null) {");
+            line(6, "builder = new StringBuilder(text);");
+            line(5, "}");
+            line(5, "builder.append(reader.getText());");
+            line(4, "}");
+            line(3, "}");
+            line(2, "}");
+            line(2, "return builder == null ? text : builder.toString();");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {");
+            line(2, "while (true) {");
+            line(3, "int event = reader.next();");
+            line(3, "if (event == XMLStreamConstants.START_ELEMENT) {");
+            line(4, "return true;");
+            line(3, "}");
+            line(3, "if (event == XMLStreamConstants.END_ELEMENT) {");
+            line(4, "return false;");
+            line(3, "}");
+            line(2, "}");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static void skipElement(XMLStreamReader reader) throws XMLStreamException {");
+            line(2, "int depth = 0;");
+            line(2, "while (true) {");
+            line(3, "int event = reader.next();");
+            line(3, "if (event == XMLStreamConstants.START_ELEMENT) {");
+            line(4, "depth++;");
+            line(3, "} else if (event == XMLStreamConstants.END_ELEMENT && depth-- == 0) {");
+            line(4, "return;");
+            line(3, "}");
+            line(2, "}");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static String unmarshal(XmlAdapter<String, String> adapter, String value) {");
+            line(2, "if (value == null) {");
+            line(3, "return null;");
+            line(2, "}");
+            line(2, "try {");
+            line(3, "return adapter.unmarshal(value);");
+            line(2, "} catch (Exception e) {");
+            line(3, "return value;");
+            line(2, "}");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static Boolean toBoolean(String value) {");
+            line(2, "return value == null ? null : Boolean.valueOf(value);");
+            line(1, "}");
+            writeNumberHelper("Integer");
+            writeNumberHelper("Long");
+            writeNumberHelper("Float");
+            writeNumberHelper("Double");
+            line(0, "");
+            line(1, "private static List<String> toList(String value) {");
+            line(2, "return new ArrayList<>(Collections.singletonList(value));");
+            line(1, "}");
+        }
+
+        private void writeNumberHelper(String type) {
+            line(0, "");
+            line(1, "private static %s to%s(XMLStreamReader reader, String value) throws XMLStreamException {",
+                    type, type);
+            line(2, "try {");
+            line(3, "return value == null || value.isEmpty() ? null : %s.valueOf(value);", type);
+            line(2, "} catch (NumberFormatException e) {");
+            line(3, "throw new XMLStreamException(\"Malformed %s value: \" + value, reader.getLocation(), e);",
+                    type.toLowerCase(Locale.ROOT));
+            line(2, "}");
+            line(1, "}");
+        }
+
+        /**
+         * Simple name of type if it is not used by any other type yet, otherwise its name with enclosing type names
+         */
+        private String uniqueName(TypeElement type) {
+            String name = type.getSimpleName().toString();
+            if (!usedNames.add(name)) {
+                name = sourceName(type).replace(".", "");
+                usedNames.add(name);
+            }
+            return name;
+        }
+
+        /**
+         * @return name of type in generated source, relative to generated package if type belongs to it
+         */
+        private String sourceName(TypeElement type) {
+            String name = type.getQualifiedName().toString();
+            return name.startsWith(packageName + ".") ? name.substring(packageName.length() + 1) : name;
+        }
+
+        private String xmlName(VariableElement field, String annotationType) {
+            Object name = annotationValue(annotation(field, annotationType), "name");
+            return name == null || DEFAULT_NAME.equals(name) ? field.getSimpleName().toString() : name.toString();
+        }
+
+        private String typeAdapter(VariableElement field) {
+            AnnotationMirror adapter = annotation(field, XML_TYPE_ADAPTER);
+            if (adapter == null) {
+                return null;
+            }
+            TypeElement adapterType = typeElement((TypeMirror) annotationValue(adapter, "value"));
+            return adapterType == null ? null : adapterType.getQualifiedName().toString();
+        }
+
+        private String accessor(String prefix, VariableElement field) {
+            String name = field.getSimpleName().toString();
+            return prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private String generatedAnnotation() {
+            for (String name : new String[]{"javax.annotation.processing.Generated", "javax.annotation.Generated"}) {
+                if (processingEnv.getElementUtils().getTypeElement(name) != null) {
+                    return name;
+                }
+            }
+            return null;
+        }
+
+        private void line(int indent, String format, Object... args) {
+            for (int i = 0; i < indent; i++) {
+                code.append("    ");
+            }
+            code.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+        }
+
+        private void error(Element element, String message) {
+            valid = false;
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        }
+    }
+
+    /**
+     * @return type of list items or null if type is not a list
+     */
+    private static TypeMirror listItemType(TypeMirror type) {
+        if (!isType(type, "java.util.List")) {
+            return null;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        return arguments.size() == 1 ? arguments.get(0) : null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.nginate.wolframalpha.codec;
+
+import com.github.nginate.wolframalpha.cache.BinaryResultSerializer;
+import com.github.nginate.wolframalpha.cache.ResultSerializer;
+import com.github.nginate.wolframalpha.cache.XmlResultSerializer;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.retrofit.converter.ResponseConverter;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query result serialization to XML (as cached results used to be re-serialized) and to compact binary encoding
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryResultCodecBenchmark {
+    @Param({"XML", "BINARY"})
+    private String format;
+
+    private ResultSerializer serializer;
+    private QueryResult result;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        serializer = "XML".equals(format) ? new XmlResultSerializer() : new BinaryResultSerializer();
+        try (InputStream inputStream = getClass().getResourceAsStream("/full_example.xml")) {
+            result = new ResponseConverter<>(QueryResult.class).convert(ResponseBody.create(
+                    MediaType.parse("text/xml"), Okio.buffer(Okio.source(inputStream)).readByteArray()));
+        }
+        serialized = serializer.serialize(result);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return serializer.serialize(result);
+    }
+
+    @Benchmark
+    public QueryResult deserialize() throws IOException {
+        return serializer.deserialize(ByteBuffer.wrap(serialized));
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.nginate.wolframalpha.model.selection;
+
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.retrofit.PayloadAdapter;
+import com.github.nginate.wolframalpha.retrofit.converter.factory.FullApiConverterFactory;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Retrofit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client overhead of a full results request built with {@link Selector}: parameters conversion, url building and
+ * passing request through http client. Network is replaced by interceptor replying with minimal response, so parsing
+ * takes as little as possible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmark {
+    private static final MediaType XML = MediaType.parse("text/xml;charset=utf-8");
+    private static final String RESPONSE = "<queryresult success='true' error='false' numpods='0' version='2.6'/>";
+
+    private FullResultsApi client;
+
+    @Setup
+    public void setUp() {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create(XML, RESPONSE))
+                        .build())
+                .build();
+        client = new Retrofit.Builder()
+                .baseUrl("https://api.wolframalpha.com")
+                .client(httpClient)
+                .addConverterFactory(FullApiConverterFactory.create())
+                .addCallAdapterFactory(new PayloadAdapter())
+                .build()
+                .create(FullResultsApi.class);
+    }
+
+    @Benchmark
+    public QueryResult simpleQuery() {
+        return client.getFullResults("pi", "DEMO", ResultFormat.PLAINTEXT, ResultFormat.IMAGE);
+    }
+
+    @Benchmark
+    public QueryResult customSelection() {
+        return client.withCustomSelection()
+                .withResultFormat(ResultFormat.PLAINTEXT)
+                .withResultFormat(ResultFormat.MATHML)
+                .withAssumption("*C.pi-_*Movie-")
+                .asLocatedIn(40.42, -3.70)
+                .withPodState("Result__More digits")
+                .usingScanTimeout(3f)
+                .usingPodTimeout(4f)
+                .withPodId("Input")
+                .withPodId("Result")
+                .withoutPodId("Plot")
+                .withPodIndex(1)
+                .withPodsUsingScanner("Numeric")
+                .getResults("pi", "DEMO");
+    }
+}
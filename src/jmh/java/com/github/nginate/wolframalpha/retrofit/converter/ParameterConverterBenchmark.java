@@ -0,0 +1,45 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query parameter converters, called for every parameter of every request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterConverterBenchmark {
+    private final CommaJoiningConverter commaJoiningConverter = new CommaJoiningConverter();
+    private final GeoCoordsConverter geoCoordsConverter = new GeoCoordsConverter();
+
+    private final List<ResultFormat> formats = Arrays.asList(ResultFormat.PLAINTEXT, ResultFormat.IMAGE,
+            ResultFormat.MATHML, ResultFormat.CELL);
+    private final List<String> podIds = Arrays.asList("Input", "Result", "Plot", "AlternateForm", "Derivative",
+            "IndefiniteIntegral", "SeriesExpansion", "NumberLine");
+    private final GeoCoordinates coordinates = new GeoCoordinates(40.42, -3.70);
+
+    @Benchmark
+    public String joinFormats() throws IOException {
+        return commaJoiningConverter.convert(formats);
+    }
+
+    @Benchmark
+    public String joinPodIds() throws IOException {
+        return commaJoiningConverter.convert(podIds);
+    }
+
+    @Benchmark
+    public String geoCoordinates() throws IOException {
+        return geoCoordsConverter.convert(coordinates);
+    }
+}
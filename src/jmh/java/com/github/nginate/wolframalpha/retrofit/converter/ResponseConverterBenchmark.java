@@ -0,0 +1,177 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.QueryResult;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full results response parsing with all parsers. Besides real response example, synthetic responses are generated
+ * with given number of pods, where every pod has MathML, image map and cell content, as those are making responses
+ * large. Streaming parser is also measured with projection reading only pod titles and subpod plain texts, which is
+ * what most of callers are using. JSON decoder reads equivalent JSON documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseConverterBenchmark {
+    private static final MediaType XML = MediaType.parse("text/xml;charset=utf-8");
+    private static final MediaType JSON = MediaType.parse("application/json;charset=utf-8");
+
+    @Param({"JACKSON", "STAX", "STAX_PROJECTED", "GENERATED", "JSON"})
+    private String parser;
+
+    private Converter<ResponseBody, QueryResult> converter;
+    private MediaType mediaType;
+    private byte[] example;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (parser) {
+            case "STAX":
+                converter = StaxResponseConverter.queryResult();
+                break;
+            case "STAX_PROJECTED":
+                converter = StaxResponseConverter.queryResult(Projection.of("pods.title", "pods.subpods.plaintext"));
+                break;
+            case "GENERATED":
+                converter = StaxResponseConverter.generatedQueryResult();
+                break;
+            case "JSON":
+                converter = new JsonResponseConverter();
+                break;
+            default:
+                converter = new ResponseConverter<>(QueryResult.class);
+                break;
+        }
+        mediaType = "JSON".equals(parser) ? JSON : XML;
+        try (InputStream inputStream = getClass().getResourceAsStream(mediaType == JSON
+                ? "/full_example.json"
+                : "/full_example.xml")) {
+            example = Okio.buffer(Okio.source(inputStream)).readByteArray();
+        }
+    }
+
+    @Benchmark
+    public QueryResult fullExample() throws IOException {
+        return converter.convert(ResponseBody.create(mediaType, example));
+    }
+
+    @Benchmark
+    public QueryResult syntheticResponse(SyntheticResponse response) throws IOException {
+        byte[] body = mediaType == JSON ? response.json : response.xml;
+        return converter.convert(ResponseBody.create(mediaType, body));
+    }
+
+    @State(Scope.Benchmark)
+    public static class SyntheticResponse {
+        @Param({"10", "100"})
+        private int pods;
+
+        private byte[] xml;
+        private byte[] json;
+
+        @Setup
+        public void setUp() {
+            xml = syntheticResponse(pods);
+            json = syntheticJsonResponse(pods);
+        }
+    }
+
+    private static byte[] syntheticResponse(int pods) {
+        StringBuilder builder = new StringBuilder()
+                .append("<?xml version='1.0' encoding='UTF-8'?>")
+                .append("<queryresult success='true' error='false' numpods='").append(pods)
+                .append("' datatypes='Math' timedout='' timedoutpods='' timing='1.5' parsetiming='0.2'")
+                .append(" parsetimedout='false' id='MSPa1' host='https://www4b.wolframalpha.com' server='13'")
+                .append(" related='https://www4b.wolframalpha.com/api/v2/relatedQueries.jsp?id=MSPa2' version='2.6'>");
+        for (int pod = 0; pod < pods; pod++) {
+            builder.append("<pod title='Pod ").append(pod).append("' scanner='Data' id='Pod").append(pod)
+                    .append("' position='").append(pod * 100).append("' error='false' numsubpods='2'>");
+            for (int subpod = 0; subpod < 2; subpod++) {
+                builder.append("<subpod title='Subpod ").append(subpod).append("'>")
+                        .append("<img src='https://www4b.wolframalpha.com/Calculate/MSP/MSP").append(pod)
+                        .append("?MSPStoreType=image/gif&amp;s=13' alt='x + y' title='x + y' width='280' height='18'/>")
+                        .append("<imagemap>");
+                for (int rect = 0; rect < 5; rect++) {
+                    builder.append("<rect left='").append(rect * 10).append("' top='0' right='")
+                            .append(rect * 10 + 10).append("' bottom='18' query='query").append(rect)
+                            .append("' assumptions='assumption").append(rect).append("' title='rect").append(rect)
+                            .append("'/>");
+                }
+                builder.append("</imagemap>")
+                        .append("<plaintext>integral x^2 + y^2 dx = x^3/3 + x y^2 + constant</plaintext>")
+                        .append("<mathml><math xmlns='http://www.w3.org/1998/Math/MathML'")
+                        .append(" mathematica:form='StandardForm' xmlns:mathematica='http://www.wolfram.com/XML/'>")
+                        .append("<mrow><mrow><mo>&#8747;</mo><mrow><msup><mi>x</mi><mn>2</mn></msup><mo>+</mo>")
+                        .append("<msup><mi>y</mi><mn>2</mn></msup></mrow></mrow><mo>=</mo><mrow><mfrac>")
+                        .append("<msup><mi>x</mi><mn>3</mn></msup><mn>3</mn></mfrac><mo>+</mo><mtext>constant")
+                        .append("</mtext></mrow></mrow></math></mathml>")
+                        .append("<cell compressed='false'><![CDATA[Cell[BoxData[RowBox[{SuperscriptBox[\"x\", \"3\"],")
+                        .append(" \"+\", RowBox[{\"x\", \" \", SuperscriptBox[\"y\", \"2\"]}]}]], \"Output\"]]]></cell>")
+                        .append("</subpod>");
+            }
+            builder.append("<states count='1'><state name='More digits' input='Pod").append(pod)
+                    .append("__More digits'/></states></pod>");
+        }
+        return builder.append("</queryresult>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Same content as {@link #syntheticResponse(int)} in the shape of JSON output
+     */
+    private static byte[] syntheticJsonResponse(int pods) {
+        StringBuilder builder = new StringBuilder()
+                .append("{\"queryresult\":{\"success\":true,\"error\":false,\"numpods\":").append(pods)
+                .append(",\"datatypes\":\"Math\",\"timedout\":\"\",\"timedoutpods\":\"\",\"timing\":1.5,")
+                .append("\"parsetiming\":0.2,\"parsetimedout\":false,\"id\":\"MSPa1\",")
+                .append("\"host\":\"https://www4b.wolframalpha.com\",\"server\":\"13\",")
+                .append("\"related\":\"https://www4b.wolframalpha.com/api/v2/relatedQueries.jsp?id=MSPa2\",")
+                .append("\"version\":\"2.6\",\"pods\":[");
+        for (int pod = 0; pod < pods; pod++) {
+            builder.append(pod == 0 ? "" : ",")
+                    .append("{\"title\":\"Pod ").append(pod).append("\",\"scanner\":\"Data\",\"id\":\"Pod")
+                    .append(pod).append("\",\"position\":").append(pod * 100)
+                    .append(",\"error\":false,\"numsubpods\":2,\"subpods\":[");
+            for (int subpod = 0; subpod < 2; subpod++) {
+                builder.append(subpod == 0 ? "" : ",")
+                        .append("{\"title\":\"Subpod ").append(subpod).append("\",")
+                        .append("\"img\":{\"src\":\"https://www4b.wolframalpha.com/Calculate/MSP/MSP").append(pod)
+                        .append("?MSPStoreType=image/gif&s=13\",\"alt\":\"x + y\",\"title\":\"x + y\",")
+                        .append("\"width\":280,\"height\":18},\"imagemap\":{\"rect\":[");
+                for (int rect = 0; rect < 5; rect++) {
+                    builder.append(rect == 0 ? "" : ",")
+                            .append("{\"left\":").append(rect * 10).append(",\"top\":0,\"right\":")
+                            .append(rect * 10 + 10).append(",\"bottom\":18,\"query\":\"query").append(rect)
+                            .append("\",\"assumptions\":\"assumption").append(rect).append("\",\"title\":\"rect")
+                            .append(rect).append("\"}");
+                }
+                builder.append("]},")
+                        .append("\"plaintext\":\"integral x^2 + y^2 dx = x^3/3 + x y^2 + constant\",")
+                        .append("\"mathml\":\"<math xmlns='http://www.w3.org/1998/Math/MathML'")
+                        .append(" mathematica:form='StandardForm' xmlns:mathematica='http://www.wolfram.com/XML/'>")
+                        .append("<mrow><mrow><mo>\\u222b</mo><mrow><msup><mi>x</mi><mn>2</mn></msup><mo>+</mo>")
+                        .append("<msup><mi>y</mi><mn>2</mn></msup></mrow></mrow><mo>=</mo><mrow><mfrac>")
+                        .append("<msup><mi>x</mi><mn>3</mn></msup><mn>3</mn></mfrac><mo>+</mo><mtext>constant")
+                        .append("</mtext></mrow></mrow></math>\",")
+                        .append("\"cell\":{\"compressed\":false,")
+                        .append("\"data\":\"<![CDATA[Cell[BoxData[RowBox[{SuperscriptBox[\\\"x\\\", \\\"3\\\"],")
+                        .append(" \\\"+\\\", RowBox[{\\\"x\\\", \\\" \\\", SuperscriptBox[\\\"y\\\", \\\"2\\\"]}]}]],")
+                        .append(" \\\"Output\\\"]]]>\"}}");
+            }
+            builder.append("],\"states\":[{\"name\":\"More digits\",\"input\":\"Pod").append(pod)
+                    .append("__More digits\"}]}");
+        }
+        return builder.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
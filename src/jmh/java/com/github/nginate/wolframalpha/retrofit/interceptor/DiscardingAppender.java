@@ -0,0 +1,28 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.OutputStream;
+
+/**
+ * Appender encoding every event with configured encoder and writing result nowhere. Benchmarks are paying for message
+ * formatting and layout, but not for console or file IO.
+ *
+ * @param <E> logging event type
+ */
+public class DiscardingAppender<E> extends OutputStreamAppender<E> {
+
+    @Override
+    public void start() {
+        setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        super.start();
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import okhttp3.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging interceptor overhead on a single request/response exchange. Chain is a stub replying immediately, log
+ * messages are formatted by the encoder and then dropped by {@link DiscardingAppender} (see logback-benchmark.xml), so
+ * results are showing formatting and body buffering costs only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingInterceptorBenchmark {
+    private static final MediaType XML = MediaType.parse("text/xml;charset=utf-8");
+
+    @Param({"64", "65536"})
+    private int responseSize;
+
+    @Param({"BASIC", "HEADERS", "BODY"})
+    private LoggingInterceptor.Level level;
+
+    private LoggingInterceptor interceptor;
+    private final Request request = new Request.Builder()
+            .url("https://api.wolframalpha.com/v2/query?input=pi&appid=DEMO&format=plaintext,image")
+            .header("User-Agent", "benchmark")
+            .build();
+    private byte[] responseBody;
+
+    @Setup
+    public void setUp() {
+        interceptor = new LoggingInterceptor(level, LoggingInterceptor.DEFAULT_MAX_BODY_SIZE);
+        StringBuilder builder = new StringBuilder("<queryresult success='true'>");
+        while (builder.length() < responseSize) {
+            builder.append("<pod title='Result'><subpod><plaintext>3.14159</plaintext></subpod></pod>");
+        }
+        responseBody = builder.append("</queryresult>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Response intercept() throws IOException {
+        return interceptor.intercept(new StubChain(request, responseBody));
+    }
+
+    private static class StubChain implements Interceptor.Chain {
+        private final Request request;
+        private final byte[] responseBody;
+
+        StubChain(Request request, byte[] responseBody) {
+            this.request = request;
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .header("Content-Type", XML.toString())
+                    .body(ResponseBody.create(XML, responseBody))
+                    .build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+        @Override
+        public Call call() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.nginate.wolframalpha;
+
+import com.github.nginate.wolframalpha.appid.AppIdPool;
+import com.github.nginate.wolframalpha.full.AsyncPodLoader;
+import com.github.nginate.wolframalpha.metrics.InMemoryMetrics;
+import com.github.nginate.wolframalpha.metrics.MetricsRecorder;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.ratelimit.RateLimitConfiguration;
+import com.github.nginate.wolframalpha.resilience.CircuitBreakerConfiguration;
+import com.github.nginate.wolframalpha.resilience.RetryConfiguration;
+import com.github.nginate.wolframalpha.retrofit.ClientImplementation;
+import com.github.nginate.wolframalpha.retrofit.converter.ParserType;
+import com.github.nginate.wolframalpha.retrofit.converter.Projection;
+import com.github.nginate.wolframalpha.retrofit.converter.factory.FullApiConverterFactory;
+import com.github.nginate.wolframalpha.retrofit.interceptor.AppIdPoolInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.CircuitBreakerInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.DocumentedErrorsInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.ExceptionTunnelingInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.ImageCacheInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.LoggingInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.RateLimitingInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.ResultTypeInterceptor;
+import com.github.nginate.wolframalpha.retrofit.interceptor.RetryInterceptor;
+import com.github.nginate.wolframalpha.retrofit.listener.ConnectionStatistics;
+import com.github.nginate.wolframalpha.retrofit.listener.MetricsEventListener;
+import com.github.nginate.wolframalpha.simple.DiskImageCache;
+import lombok.Builder;
+import lombok.Getter;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport configuration shared by all API clients built from it. Holds single {@link OkHttpClient} so Simple, Spoken,
+ * Short answers and Full results clients reuse the same connection pool, dispatcher and TLS sessions instead of opening
+ * their own ones.
+ * <pre>
+ *     ClientConfiguration configuration = ClientConfiguration.builder()
+ *             .maxIdleConnections(10)
+ *             .keepAlive(Duration.ofMinutes(2))
+ *             .maxRequestsPerHost(20)
+ *             .build();
+ *     FullResultsApi fullResultsApi = ClientFactory.fullResultsApi(configuration);
+ *     ShortAnswersApi shortAnswersApi = ClientFactory.shortAnswersApi(configuration);
+ * </pre>
+ * Any value not provided to builder is using its default.
+ *
+ * @see ClientFactory
+ */
+@Getter
+public class ClientConfiguration {
+    public static final String DEFAULT_URL = "https://api.wolframalpha.com";
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+    public static final ParserType DEFAULT_PARSER_TYPE = ParserType.JACKSON;
+    public static final ResultType DEFAULT_RESULT_TYPE = ResultType.XML;
+    public static final ClientImplementation DEFAULT_CLIENT_IMPLEMENTATION = ClientImplementation.RETROFIT;
+
+    /**
+     * API url used for all clients built from this configuration
+     */
+    private final String url;
+    /**
+     * Client shared by all API clients built from this configuration
+     */
+    private final OkHttpClient httpClient;
+    /**
+     * Connection reuse counters of shared client
+     */
+    private final ConnectionStatistics connectionStatistics;
+    /**
+     * Parser used by Full results API clients to read responses
+     */
+    private final ParserType parserType;
+    /**
+     * Model paths read by Full results API clients
+     */
+    private final Projection projection;
+    /**
+     * Format of Full results API responses requested without explicit output format
+     */
+    private final ResultType resultType;
+    /**
+     * Recorder of latency, size and parsing time measurements of all API clients
+     */
+    private final MetricsRecorder metricsRecorder;
+    /**
+     * Async pods loader reusing shared client
+     */
+    private final AsyncPodLoader asyncPodLoader;
+    /**
+     * Implementation of API interfaces built from this configuration
+     */
+    private final ClientImplementation clientImplementation;
+
+    /**
+     * @param url                  API url. Default : https://api.wolframalpha.com
+     * @param maxIdleConnections   max number of idle connections to keep in pool. Default : 5
+     * @param keepAlive            time to keep idle connection in pool. Default : 5 minutes
+     * @param maxRequests          max number of concurrently executing async requests. Default : 64
+     * @param maxRequestsPerHost   max number of concurrently executing async requests per host. Default : 5
+     * @param preferHttp2          negotiate HTTP/2 if server supports it, otherwise use HTTP/1.1 only. Default : true
+     * @param parserType           parser used to read Full results API responses. Default : JACKSON
+     * @param projection           model paths to read from Full results API responses, requires STAX parser for XML
+     *                             responses. Default : everything
+     * @param resultType           format of Full results API responses, unless requested explicitly. Default : XML
+     * @param logLevel             details of http exchanges to log. Default : BASIC
+     * @param maxLoggedBodySize    max number of body bytes to log. Default : 4096
+     * @param metricsRecorder      recorder of client measurements. Default : new {@link InMemoryMetrics}
+     * @param rateLimit            request rate limit per app id. Default : not limited
+     * @param appIdPool            app ids to add to requests made without app id. Default : none
+     * @param retry                retries of requests failed with I/O or 502/503/504 errors. Default : not retried
+     * @param circuitBreaker       failing fast while API host keeps failing. Default : none
+     * @param imageCache           disk cache of Simple API images. Default : none
+     * @param clientImplementation implementation of API interfaces. Default : RETROFIT
+     */
+    @Builder
+    private ClientConfiguration(@Nullable String url,
+                                @Nullable Integer maxIdleConnections,
+                                @Nullable Duration keepAlive,
+                                @Nullable Integer maxRequests,
+                                @Nullable Integer maxRequestsPerHost,
+                                @Nullable Boolean preferHttp2,
+                                @Nullable ParserType parserType,
+                                @Nullable Projection projection,
+                                @Nullable ResultType resultType,
+                                @Nullable LoggingInterceptor.Level logLevel,
+                                @Nullable Long maxLoggedBodySize,
+                                @Nullable MetricsRecorder metricsRecorder,
+                                @Nullable RateLimitConfiguration rateLimit,
+                                @Nullable AppIdPool appIdPool,
+                                @Nullable RetryConfiguration retry,
+                                @Nullable CircuitBreakerConfiguration circuitBreaker,
+                                @Nullable DiskImageCache imageCache,
+                                @Nullable ClientImplementation clientImplementation) {
+        this.url = Optional.ofNullable(url).orElse(DEFAULT_URL);
+        this.parserType = Optional.ofNullable(parserType).orElse(DEFAULT_PARSER_TYPE);
+        this.projection = Optional.ofNullable(projection).orElse(Projection.ALL);
+        this.resultType = Optional.ofNullable(resultType).orElse(DEFAULT_RESULT_TYPE);
+        this.metricsRecorder = Optional.ofNullable(metricsRecorder).orElseGet(InMemoryMetrics::new);
+        this.clientImplementation = Optional.ofNullable(clientImplementation).orElse(DEFAULT_CLIENT_IMPLEMENTATION);
+
+        ConnectionPool connectionPool = new ConnectionPool(
+                Optional.ofNullable(maxIdleConnections).orElse(DEFAULT_MAX_IDLE_CONNECTIONS),
+                Optional.ofNullable(keepAlive).orElse(DEFAULT_KEEP_ALIVE).toMillis(), TimeUnit.MILLISECONDS);
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Optional.ofNullable(maxRequests).orElse(DEFAULT_MAX_REQUESTS));
+        dispatcher.setMaxRequestsPerHost(Optional.ofNullable(maxRequestsPerHost)
+                .orElse(DEFAULT_MAX_REQUESTS_PER_HOST));
+
+        this.connectionStatistics = new ConnectionStatistics(connectionPool);
+        OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(Optional.ofNullable(preferHttp2).orElse(true)
+                        ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : Collections.singletonList(Protocol.HTTP_1_1))
+                .eventListenerFactory(MetricsEventListener.factory(connectionStatistics, this.metricsRecorder))
+                .addInterceptor(new ExceptionTunnelingInterceptor());
+        if (this.resultType != DEFAULT_RESULT_TYPE) {
+            httpClientBuilder.addInterceptor(new ResultTypeInterceptor(this.resultType));
+        }
+        if (imageCache != null) {
+            httpClientBuilder.addInterceptor(new ImageCacheInterceptor(imageCache));
+        }
+        if (appIdPool != null) {
+            httpClientBuilder.addInterceptor(new AppIdPoolInterceptor(appIdPool));
+        }
+        if (retry != null) {
+            httpClientBuilder.addInterceptor(new RetryInterceptor(retry));
+        }
+        if (circuitBreaker != null) {
+            httpClientBuilder.addInterceptor(new CircuitBreakerInterceptor(circuitBreaker));
+        }
+        if (rateLimit != null) {
+            httpClientBuilder.addInterceptor(new RateLimitingInterceptor(rateLimit, this.metricsRecorder));
+        }
+        this.httpClient = httpClientBuilder
+                .addInterceptor(new LoggingInterceptor(
+                        Optional.ofNullable(logLevel).orElse(LoggingInterceptor.DEFAULT_LEVEL),
+                        Optional.ofNullable(maxLoggedBodySize).orElse(LoggingInterceptor.DEFAULT_MAX_BODY_SIZE)))
+                .addInterceptor(new DocumentedErrorsInterceptor())
+                .build();
+        this.asyncPodLoader = new AsyncPodLoader(httpClient, getFullApiConverterFactory());
+    }
+
+    /**
+     * @return converter factory for Full results API clients using configured parser, projection and metrics recorder
+     */
+    public FullApiConverterFactory getFullApiConverterFactory() {
+        return FullApiConverterFactory.create(parserType, metricsRecorder, projection);
+    }
+
+    /**
+     * Configuration with all the defaults. Created once and shared by all clients built with {@link ClientFactory}
+     * methods not accepting configuration.
+     *
+     * @return default configuration
+     */
+    public static ClientConfiguration defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+        private static final ClientConfiguration INSTANCE = ClientConfiguration.builder().build();
+    }
+}
@@ -1,13 +1,21 @@
 package com.github.nginate.wolframalpha;
 
+import com.github.nginate.wolframalpha.full.AsyncFullResultsApi;
+import com.github.nginate.wolframalpha.full.AsyncPodLoader;
 import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.full.GeneratedAsyncFullResultsApi;
+import com.github.nginate.wolframalpha.full.GeneratedFullResultsApi;
+import com.github.nginate.wolframalpha.retrofit.ClientImplementation;
+import com.github.nginate.wolframalpha.retrofit.CompletableFutureAdapter;
+import com.github.nginate.wolframalpha.retrofit.ErrorUnwrappingAdapter;
 import com.github.nginate.wolframalpha.retrofit.PayloadAdapter;
 import com.github.nginate.wolframalpha.retrofit.converter.factory.ByteArrayConverterFactory;
 import com.github.nginate.wolframalpha.retrofit.converter.factory.FullApiConverterFactory;
-import com.github.nginate.wolframalpha.retrofit.interceptor.DocumentedErrorsInterceptor;
-import com.github.nginate.wolframalpha.retrofit.interceptor.LoggingInterceptor;
+import com.github.nginate.wolframalpha.shortanswer.GeneratedShortAnswersApi;
 import com.github.nginate.wolframalpha.shortanswer.ShortAnswersApi;
+import com.github.nginate.wolframalpha.simple.GeneratedSimpleApi;
 import com.github.nginate.wolframalpha.simple.SimpleApi;
+import com.github.nginate.wolframalpha.spoken.GeneratedSpokenResultsApi;
 import com.github.nginate.wolframalpha.spoken.SpokenResultsApi;
 import lombok.experimental.UtilityClass;
 import okhttp3.OkHttpClient;
@@ -15,20 +23,20 @@ import retrofit2.Retrofit;
 import retrofit2.converter.scalars.ScalarsConverterFactory;
 
 /**
- * Utility configurations to provide client for particular APIs
+ * Utility configurations to provide client for particular APIs. All clients built with the same {@link
+ * ClientConfiguration} are sharing single http client, so methods without configuration argument are using {@link
+ * ClientConfiguration#defaults() default one}.
  */
 @UtilityClass
 public class ClientFactory {
 
-    private static final String url = "https://api.wolframalpha.com";
-
     /**
-     * Build Simple API client using default API url (https://api.wolframalpha.com) and log level (FULL)
+     * Build Simple API client using default API url (https://api.wolframalpha.com) and log level (BASIC)
      *
      * @return Simple API client
      */
     public static SimpleApi simpleApiClient() {
-        return simpleApiClient(url);
+        return simpleApiClient(ClientConfiguration.defaults());
     }
 
     /**
@@ -38,10 +46,30 @@ public class ClientFactory {
      * @return Simple API client
      */
     public static SimpleApi simpleApiClient(String url) {
-        Retrofit retrofit = getRetrofit(url)
+        return simpleApiClient(url, ClientConfiguration.defaults().getHttpClient(),
+                ClientConfiguration.defaults().getClientImplementation());
+    }
+
+    /**
+     * Build Simple API client sharing http client of provided configuration
+     *
+     * @param configuration client configuration
+     * @return Simple API client
+     */
+    public static SimpleApi simpleApiClient(ClientConfiguration configuration) {
+        return simpleApiClient(configuration.getUrl(), configuration.getHttpClient(),
+                configuration.getClientImplementation());
+    }
+
+    private static SimpleApi simpleApiClient(String url, OkHttpClient client,
+                                             ClientImplementation implementation) {
+        Retrofit retrofit = getRetrofit(url, client)
                 .addConverterFactory(ByteArrayConverterFactory.create())
+                .addCallAdapterFactory(new ErrorUnwrappingAdapter())
                 .build();
-        return retrofit.create(SimpleApi.class);
+        return implementation == ClientImplementation.GENERATED
+                ? new GeneratedSimpleApi(retrofit)
+                : retrofit.create(SimpleApi.class);
     }
 
     /**
@@ -50,7 +78,7 @@ public class ClientFactory {
      * @return Spoken results API client
      */
     public static SpokenResultsApi spokenResultsApi() {
-        return spokenResultsApi(url);
+        return spokenResultsApi(ClientConfiguration.defaults());
     }
 
     /**
@@ -60,10 +88,30 @@ public class ClientFactory {
      * @return Spoken results API client
      */
     public static SpokenResultsApi spokenResultsApi(String url) {
-        Retrofit retrofit = getRetrofit(url)
+        return spokenResultsApi(url, ClientConfiguration.defaults().getHttpClient(),
+                ClientConfiguration.defaults().getClientImplementation());
+    }
+
+    /**
+     * Build Spoken results API client sharing http client of provided configuration
+     *
+     * @param configuration client configuration
+     * @return Spoken results API client
+     */
+    public static SpokenResultsApi spokenResultsApi(ClientConfiguration configuration) {
+        return spokenResultsApi(configuration.getUrl(), configuration.getHttpClient(),
+                configuration.getClientImplementation());
+    }
+
+    private static SpokenResultsApi spokenResultsApi(String url, OkHttpClient client,
+                                                     ClientImplementation implementation) {
+        Retrofit retrofit = getRetrofit(url, client)
                 .addConverterFactory(ScalarsConverterFactory.create())
+                .addCallAdapterFactory(new ErrorUnwrappingAdapter())
                 .build();
-        return retrofit.create(SpokenResultsApi.class);
+        return implementation == ClientImplementation.GENERATED
+                ? new GeneratedSpokenResultsApi(retrofit)
+                : retrofit.create(SpokenResultsApi.class);
     }
 
     /**
@@ -72,7 +120,7 @@ public class ClientFactory {
      * @return Short answers API client
      */
     public static ShortAnswersApi shortAnswersApi() {
-        return shortAnswersApi(url);
+        return shortAnswersApi(ClientConfiguration.defaults());
     }
 
     /**
@@ -82,10 +130,30 @@ public class ClientFactory {
      * @return Short answers API client
      */
     public static ShortAnswersApi shortAnswersApi(String url) {
-        Retrofit retrofit = getRetrofit(url)
+        return shortAnswersApi(url, ClientConfiguration.defaults().getHttpClient(),
+                ClientConfiguration.defaults().getClientImplementation());
+    }
+
+    /**
+     * Build Short answers API client sharing http client of provided configuration
+     *
+     * @param configuration client configuration
+     * @return Short answers API client
+     */
+    public static ShortAnswersApi shortAnswersApi(ClientConfiguration configuration) {
+        return shortAnswersApi(configuration.getUrl(), configuration.getHttpClient(),
+                configuration.getClientImplementation());
+    }
+
+    private static ShortAnswersApi shortAnswersApi(String url, OkHttpClient client,
+                                                   ClientImplementation implementation) {
+        Retrofit retrofit = getRetrofit(url, client)
                 .addConverterFactory(ScalarsConverterFactory.create())
+                .addCallAdapterFactory(new ErrorUnwrappingAdapter())
                 .build();
-        return retrofit.create(ShortAnswersApi.class);
+        return implementation == ClientImplementation.GENERATED
+                ? new GeneratedShortAnswersApi(retrofit)
+                : retrofit.create(ShortAnswersApi.class);
     }
 
     /**
@@ -94,7 +162,7 @@ public class ClientFactory {
      * @return Full results API client
      */
     public static FullResultsApi fullResultsApi() {
-        return fullResultsApi(url);
+        return fullResultsApi(ClientConfiguration.defaults());
     }
 
     /**
@@ -104,19 +172,99 @@ public class ClientFactory {
      * @return Full results API client
      */
     public static FullResultsApi fullResultsApi(String url) {
-        Retrofit retrofit = getRetrofit(url)
-                .addConverterFactory(FullApiConverterFactory.create())
+        return fullResultsApi(url, ClientConfiguration.defaults().getHttpClient(),
+                ClientConfiguration.defaults().getFullApiConverterFactory(),
+                ClientConfiguration.defaults().getClientImplementation());
+    }
+
+    /**
+     * Build Full results API client sharing http client of provided configuration
+     *
+     * @param configuration client configuration
+     * @return Full results API client
+     */
+    public static FullResultsApi fullResultsApi(ClientConfiguration configuration) {
+        return fullResultsApi(configuration.getUrl(), configuration.getHttpClient(),
+                configuration.getFullApiConverterFactory(), configuration.getClientImplementation());
+    }
+
+    private static FullResultsApi fullResultsApi(String url, OkHttpClient client,
+                                                 FullApiConverterFactory converterFactory,
+                                                 ClientImplementation implementation) {
+        Retrofit retrofit = getRetrofit(url, client)
+                .addConverterFactory(converterFactory)
                 .addCallAdapterFactory(new PayloadAdapter())
                 .build();
-        return retrofit.create(FullResultsApi.class);
+        return implementation == ClientImplementation.GENERATED
+                ? new GeneratedFullResultsApi(retrofit)
+                : retrofit.create(FullResultsApi.class);
+    }
+
+    /**
+     * Build non-blocking Full results API client
+     *
+     * @return Full results API client
+     */
+    public static AsyncFullResultsApi asyncFullResultsApi() {
+        return asyncFullResultsApi(ClientConfiguration.defaults());
+    }
+
+    /**
+     * Build non-blocking Full results API client
+     *
+     * @param url API url
+     * @return Full results API client
+     */
+    public static AsyncFullResultsApi asyncFullResultsApi(String url) {
+        return asyncFullResultsApi(url, ClientConfiguration.defaults().getHttpClient(),
+                ClientConfiguration.defaults().getFullApiConverterFactory(),
+                ClientConfiguration.defaults().getClientImplementation());
     }
 
-    private static Retrofit.Builder getRetrofit(String url) {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(new LoggingInterceptor())
-                .addInterceptor(new DocumentedErrorsInterceptor())
+    /**
+     * Build non-blocking Full results API client sharing http client of provided configuration
+     *
+     * @param configuration client configuration
+     * @return Full results API client
+     */
+    public static AsyncFullResultsApi asyncFullResultsApi(ClientConfiguration configuration) {
+        return asyncFullResultsApi(configuration.getUrl(), configuration.getHttpClient(),
+                configuration.getFullApiConverterFactory(), configuration.getClientImplementation());
+    }
+
+    private static AsyncFullResultsApi asyncFullResultsApi(String url, OkHttpClient client,
+                                                           FullApiConverterFactory converterFactory,
+                                                           ClientImplementation implementation) {
+        Retrofit retrofit = getRetrofit(url, client)
+                .addConverterFactory(converterFactory)
+                .addCallAdapterFactory(new CompletableFutureAdapter())
                 .build();
+        return implementation == ClientImplementation.GENERATED
+                ? new GeneratedAsyncFullResultsApi(retrofit)
+                : retrofit.create(AsyncFullResultsApi.class);
+    }
+
+    /**
+     * Get async pods loader for {@link FullResultsApi} clients built with default configuration
+     *
+     * @return async pods loader
+     */
+    public static AsyncPodLoader asyncPodLoader() {
+        return asyncPodLoader(ClientConfiguration.defaults());
+    }
+
+    /**
+     * Get async pods loader for {@link FullResultsApi} clients built with provided configuration. Loader is sharing
+     * http client of configuration
+     *
+     * @param configuration client configuration
+     * @return async pods loader
+     */
+    public static AsyncPodLoader asyncPodLoader(ClientConfiguration configuration) {
+        return configuration.getAsyncPodLoader();
+    }
 
+    private static Retrofit.Builder getRetrofit(String url, OkHttpClient client) {
         return new Retrofit.Builder()
                 .baseUrl(url)
                 .client(client);
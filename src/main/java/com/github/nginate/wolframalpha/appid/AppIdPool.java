@@ -0,0 +1,162 @@
+package com.github.nginate.wolframalpha.appid;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Set of app ids requests are spread across. Every request gets an app id with the least number of requests in
+ * flight; app ids rejected by API are taken out of rotation for a while:
+ * <pre>
+ *     AppIdPool pool = AppIdPool.builder()
+ *             .appId("XXXXXX-1111111111")
+ *             .appId("XXXXXX-2222222222")
+ *             .build();
+ *     ClientConfiguration configuration = ClientConfiguration.builder()
+ *             .appIdPool(pool)
+ *             .build();
+ *     ClientFactory.fullResultsApi(configuration).getFullResults("pi", null);
+ * </pre>
+ * Any value not provided to builder is using its default.
+ *
+ * @see com.github.nginate.wolframalpha.retrofit.interceptor.AppIdPoolInterceptor
+ */
+public class AppIdPool {
+    public static final Duration DEFAULT_INVALID_COOLDOWN = Duration.ofMinutes(10);
+    public static final Duration DEFAULT_RATE_LIMITED_COOLDOWN = Duration.ofSeconds(10);
+
+    private final List<Key> keys;
+    private final AtomicInteger rotation = new AtomicInteger();
+    /**
+     * Time app id is out of rotation after API reported it as invalid
+     */
+    @Getter
+    private final Duration invalidCooldown;
+    /**
+     * Time app id is out of rotation after its rate limit was exceeded
+     */
+    @Getter
+    private final Duration rateLimitedCooldown;
+
+    /**
+     * @param appIds              app ids to use, at least one
+     * @param invalidCooldown     time app id is out of rotation after it was reported as invalid. Default : 10 minutes
+     * @param rateLimitedCooldown time app id is out of rotation after its rate limit was exceeded. Default : 10 seconds
+     */
+    @Builder
+    private AppIdPool(@Singular List<String> appIds, @Nullable Duration invalidCooldown,
+                      @Nullable Duration rateLimitedCooldown) {
+        if (appIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one app id is required");
+        }
+        this.keys = appIds.stream().distinct().map(Key::new).collect(Collectors.toList());
+        this.invalidCooldown = Optional.ofNullable(invalidCooldown).orElse(DEFAULT_INVALID_COOLDOWN);
+        this.rateLimitedCooldown = Optional.ofNullable(rateLimitedCooldown).orElse(DEFAULT_RATE_LIMITED_COOLDOWN);
+    }
+
+    /**
+     * Take app id for a request. Available app id with the least requests in flight is chosen, app ids with equal load
+     * are taken in turns; if all the app ids are out of rotation the one returning back first is used. Taken app id
+     * should be {@link #release(Key) released} once request is completed.
+     *
+     * @param excluded app ids that should not be taken, e.g. already failed for the same request
+     * @return app id or null if all of them are excluded
+     */
+    @Nullable
+    public Key acquire(Set<String> excluded) {
+        long now = System.nanoTime();
+        List<Key> leastLoaded = new ArrayList<>(keys.size());
+        int minInFlight = Integer.MAX_VALUE;
+        Key coolingDown = null;
+        for (Key key : keys) {
+            if (excluded.contains(key.appId)) {
+                continue;
+            }
+            if (key.isAvailable(now)) {
+                int inFlight = key.inFlight.get();
+                if (inFlight < minInFlight) {
+                    minInFlight = inFlight;
+                    leastLoaded.clear();
+                }
+                if (inFlight == minInFlight) {
+                    leastLoaded.add(key);
+                }
+            } else if (coolingDown == null || key.availableAt - coolingDown.availableAt < 0) {
+                coolingDown = key;
+            }
+        }
+        Key chosen = leastLoaded.isEmpty()
+                ? coolingDown
+                : leastLoaded.get(Math.floorMod(rotation.getAndIncrement(), leastLoaded.size()));
+        if (chosen != null) {
+            chosen.inFlight.incrementAndGet();
+        }
+        return chosen;
+    }
+
+    /**
+     * @param excluded app ids to skip
+     * @return true if any of not excluded app ids is in rotation
+     */
+    public boolean hasAvailable(Set<String> excluded) {
+        long now = System.nanoTime();
+        return keys.stream().anyMatch(key -> !excluded.contains(key.appId) && key.isAvailable(now));
+    }
+
+    /**
+     * @param key app id taken with {@link #acquire(Set)}
+     */
+    public void release(Key key) {
+        key.inFlight.decrementAndGet();
+    }
+
+    /**
+     * Take app id out of rotation
+     *
+     * @param key      app id
+     * @param cooldown time to keep app id out of rotation
+     */
+    public void coolDown(Key key, Duration cooldown) {
+        key.availableAt = System.nanoTime() + cooldown.toNanos();
+    }
+
+    /**
+     * @return app ids that are currently in rotation
+     */
+    public List<String> getAvailableAppIds() {
+        long now = System.nanoTime();
+        return keys.stream().filter(key -> key.isAvailable(now)).map(Key::getAppId).collect(Collectors.toList());
+    }
+
+    public static class Key {
+        @Getter
+        private final String appId;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long availableAt;
+
+        private Key(String appId) {
+            this.appId = appId;
+            this.availableAt = System.nanoTime();
+        }
+
+        private boolean isAvailable(long now) {
+            return now - availableAt >= 0;
+        }
+
+        /**
+         * @return number of requests using this app id at the moment
+         */
+        public int getInFlight() {
+            return inFlight.get();
+        }
+    }
+}
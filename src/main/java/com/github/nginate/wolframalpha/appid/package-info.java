@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.appid;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,166 @@
+package com.github.nginate.wolframalpha.batch;
+
+import com.github.nginate.wolframalpha.full.AsyncFullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.retrofit.CompletableFutureAdapter;
+import com.github.nginate.wolframalpha.shortanswer.ShortAnswersApi;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs large number of queries with bounded concurrency. Inputs are pulled from iterator only when there is a free
+ * slot, so batches of any size are processed in constant memory:
+ * <pre>
+ *     BatchExecutor&lt;String, QueryResult&gt; executor = BatchExecutor.fullResults(
+ *             ClientFactory.asyncFullResultsApi(configuration), appId, 16);
+ *     executor.execute(inputs.iterator(), BatchExecutor.Order.COMPLETION, result -&gt; store(result));
+ * </pre>
+ * Queries are defined by a function starting non-blocking request for input, so any {@link
+ * com.github.nginate.wolframalpha.model.selection.Selector} template could be used:
+ * <pre>
+ *     new BatchExecutor&lt;&gt;(input -&gt; asyncApi.withCustomSelection()
+ *             .withPodId("Result")
+ *             .getResultsAsync(input, appId), 16);
+ * </pre>
+ * Failed queries are reported as {@link BatchResult} with error and are not stopping the batch. Note that requests
+ * are executed by shared http client dispatcher, so parallelism above {@link
+ * com.github.nginate.wolframalpha.ClientConfiguration#getHttpClient() configured} max requests per host has no
+ * effect.
+ *
+ * @param <I> input type
+ * @param <O> result type
+ */
+public class BatchExecutor<I, O> {
+    /**
+     * Max number of results waiting for slower preceding ones in {@link Order#INPUT input order}, per parallelism
+     * level
+     */
+    private static final int REORDER_WINDOW_FACTOR = 4;
+
+    private final Function<I, CompletableFuture<O>> query;
+    private final int parallelism;
+
+    /**
+     * @param query       function starting non-blocking query for input
+     * @param parallelism max number of queries executed at once
+     */
+    public BatchExecutor(Function<I, CompletableFuture<O>> query, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive : " + parallelism);
+        }
+        this.query = query;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param api         full results API client
+     * @param appId       application id
+     * @param parallelism max number of queries executed at once
+     * @return executor querying full results for inputs with default parameters
+     */
+    public static BatchExecutor<String, QueryResult> fullResults(AsyncFullResultsApi api, String appId,
+                                                                 int parallelism) {
+        return new BatchExecutor<>(input -> api.getFullResults(input, appId), parallelism);
+    }
+
+    /**
+     * @param api         short answers API client
+     * @param appId       application id
+     * @param parallelism max number of queries executed at once
+     * @return executor querying short answers for inputs with default parameters
+     */
+    public static BatchExecutor<String, String> shortAnswers(ShortAnswersApi api, String appId, int parallelism) {
+        return new BatchExecutor<>(input -> CompletableFutureAdapter.toFuture(api.getShortAnswer(input, appId, null)),
+                parallelism);
+    }
+
+    /**
+     * Execute all the queries and collect results
+     *
+     * @param inputs batch inputs
+     * @return results in input order
+     * @throws InterruptedException if caller thread was interrupted, all running queries are cancelled in this case
+     */
+    public List<BatchResult<I, O>> executeAll(Collection<I> inputs) throws InterruptedException {
+        List<BatchResult<I, O>> results = new ArrayList<>(inputs.size());
+        execute(inputs.iterator(), Order.INPUT, results::add);
+        return results;
+    }
+
+    /**
+     * Execute all the queries, passing results to consumer as soon as they are available in requested order.
+     * Consumer is called from caller thread, so it could be slow or blocking without affecting http client; while
+     * it is running no new queries are started.
+     *
+     * @param inputs   batch inputs, pulled lazily
+     * @param order    order of results passed to consumer
+     * @param consumer results consumer
+     * @throws InterruptedException if caller thread was interrupted, all running queries are cancelled in this case
+     */
+    public void execute(Iterator<I> inputs, Order order, Consumer<BatchResult<I, O>> consumer)
+            throws InterruptedException {
+        BlockingQueue<BatchResult<I, O>> completed = new LinkedBlockingQueue<>();
+        Map<Long, CompletableFuture<O>> running = new HashMap<>();
+        SortedMap<Long, BatchResult<I, O>> reordered = new TreeMap<>();
+        long started = 0;
+        long delivered = 0;
+        try {
+            while (true) {
+                while (running.size() < parallelism && inputs.hasNext()
+                        && (order == Order.COMPLETION || started - delivered < parallelism * REORDER_WINDOW_FACTOR)) {
+                    long index = started++;
+                    running.put(index, start(index, inputs.next(), completed));
+                }
+                if (running.isEmpty()) {
+                    return;
+                }
+                BatchResult<I, O> result = completed.take();
+                running.remove(result.getIndex());
+                if (order == Order.COMPLETION) {
+                    delivered++;
+                    consumer.accept(result);
+                } else {
+                    reordered.put(result.getIndex(), result);
+                    while (!reordered.isEmpty() && reordered.firstKey() == delivered) {
+                        delivered++;
+                        consumer.accept(reordered.remove(reordered.firstKey()));
+                    }
+                }
+            }
+        } finally {
+            running.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    private CompletableFuture<O> start(long index, I input, BlockingQueue<BatchResult<I, O>> completed) {
+        CompletableFuture<O> future;
+        try {
+            future = query.apply(input);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            completed.add(new BatchResult<>(index, input, cause == null ? result : null, cause));
+        });
+        return future;
+    }
+
+    public enum Order {
+        /**
+         * Results are delivered in the same order inputs were provided
+         */
+        INPUT,
+        /**
+         * Results are delivered as soon as they are available
+         */
+        COMPLETION
+    }
+}
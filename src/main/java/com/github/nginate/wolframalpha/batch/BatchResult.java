@@ -0,0 +1,34 @@
+package com.github.nginate.wolframalpha.batch;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Outcome of single batch item
+ *
+ * @param <I> input type
+ * @param <O> result type
+ */
+@Value
+public class BatchResult<I, O> {
+    /**
+     * Position of input in batch
+     */
+    long index;
+    I input;
+    /**
+     * Query result, null if query failed
+     */
+    @Nullable
+    O result;
+    /**
+     * Query error, null if query succeeded
+     */
+    @Nullable
+    Throwable error;
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
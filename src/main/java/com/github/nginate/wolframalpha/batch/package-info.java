@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.batch;
+
+import javax.annotation.ParametersAreNonnullByDefault;
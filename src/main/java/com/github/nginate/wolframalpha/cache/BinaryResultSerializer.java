@@ -0,0 +1,26 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.codec.QueryResultCodec;
+import com.github.nginate.wolframalpha.model.QueryResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes query results with compact {@link QueryResultCodec binary encoding}
+ */
+public class BinaryResultSerializer implements ResultSerializer {
+    @Override
+    public byte[] serialize(QueryResult result) throws IOException {
+        try {
+            return QueryResultCodec.encode(result);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public QueryResult deserialize(ByteBuffer buffer) throws IOException {
+        return QueryResultCodec.decode(buffer);
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Full results API client keeping received results in memory, so repeated queries are served without going to the
+ * network and parsing response again. Results are keyed by {@link QueryKey normalized query parameters}, so the same
+ * query built with {@link #withCustomSelection() selector} or with any of short-hand methods is hitting the same entry.
+ * <p>
+ * Results are expiring after configured time to live. When total estimated size of results exceeds max weight,
+ * results are evicted with W-TinyLFU policy (recently and frequently used ones are kept). Results with error flag are
+ * not cached.
+ * <p>
+ * Cached results are returned as is and are shared between callers, so they should be treated as read-only.
+ * <pre>
+ *     FullResultsApi client = new CachingFullResultsApi(ClientFactory.fullResultsApi(),
+ *             QueryCacheConfiguration.builder().timeToLive(Duration.ofHours(1)).build());
+ * </pre>
+ * Requires caffeine library on classpath.
+ */
+public class CachingFullResultsApi implements FullResultsApi {
+    private final FullResultsApi delegate;
+    private final Cache<QueryKey, QueryResult> cache;
+
+    public CachingFullResultsApi(FullResultsApi delegate) {
+        this(delegate, QueryCacheConfiguration.defaults());
+    }
+
+    public CachingFullResultsApi(FullResultsApi delegate, QueryCacheConfiguration configuration) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(configuration.getTimeToLive().toNanos(), TimeUnit.NANOSECONDS)
+                .maximumWeight(configuration.getMaximumWeight())
+                .weigher(new ResponseWeigher())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public QueryResult getFullResults(String input,
+                                      String appId,
+                                      List<ResultFormat> formats,
+                                      List<String> assumptions,
+                                      String location,
+                                      GeoCoordinates latlong,
+                                      String ip,
+                                      List<String> podStates,
+                                      Float async,
+                                      Float scantimeout,
+                                      Float podtimeout,
+                                      Float formattimeout,
+                                      Float parsetimeout,
+                                      Float totaltimeout,
+                                      List<String> includedPodIds,
+                                      List<String> excludedPodIds,
+                                      List<String> podTitles,
+                                      List<Integer> podIndexes,
+                                      List<String> scanners,
+                                      ResultType output) {
+        QueryKey key = QueryKey.of(input, appId, formats, assumptions, location, latlong, ip, podStates, async,
+                scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout, includedPodIds, excludedPodIds,
+                podTitles, podIndexes, scanners);
+        return getFullResults(key, () -> delegate.getFullResults(input, appId, formats, assumptions, location,
+                latlong, ip, podStates, async, scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout,
+                includedPodIds, excludedPodIds, podTitles, podIndexes, scanners, output));
+    }
+
+    /**
+     * Results of both output formats are sharing cache entries, as they are read into the same model
+     */
+    private QueryResult getFullResults(QueryKey key, Supplier<QueryResult> request) {
+        QueryResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        QueryResult result = request.get();
+        if (result != null && !Boolean.TRUE.equals(result.getError())) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return hit, miss and eviction counters
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return approximate number of cached results
+     */
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Drop all cached results
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.nginate.wolframalpha.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Off-heap query results cache settings. Any value not provided to builder is using its default.
+ *
+ * @see OffHeapResultCache
+ */
+@Getter
+public class OffHeapCacheConfiguration {
+    public static final long DEFAULT_CAPACITY = 256 * 1024 * 1024;
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+    public static final Duration DEFAULT_TIME_TO_LIVE = QueryCacheConfiguration.DEFAULT_TIME_TO_LIVE;
+
+    /**
+     * Total size of memory allocated for results in bytes
+     */
+    private final long capacity;
+    /**
+     * Size of memory chunk allocated and evicted at once, results larger than slab are not cached
+     */
+    private final int slabSize;
+    /**
+     * Time result is kept in cache after it was received
+     */
+    private final Duration timeToLive;
+    /**
+     * Format results are stored in
+     */
+    private final ResultSerializer serializer;
+
+    /**
+     * @param capacity   total size of memory allocated for results in bytes. Default : 256 MB
+     * @param slabSize   size of memory chunk allocated and evicted at once. Default : 1 MB
+     * @param timeToLive time result is kept in cache after it was received. Default : 10 minutes
+     * @param serializer format results are stored in. Default : {@link BinaryResultSerializer binary}
+     */
+    @Builder
+    private OffHeapCacheConfiguration(@Nullable Long capacity,
+                                      @Nullable Integer slabSize,
+                                      @Nullable Duration timeToLive,
+                                      @Nullable ResultSerializer serializer) {
+        this.capacity = Optional.ofNullable(capacity).orElse(DEFAULT_CAPACITY);
+        this.slabSize = Optional.ofNullable(slabSize).orElse(DEFAULT_SLAB_SIZE);
+        this.timeToLive = Optional.ofNullable(timeToLive).orElse(DEFAULT_TIME_TO_LIVE);
+        this.serializer = Optional.ofNullable(serializer).orElseGet(BinaryResultSerializer::new);
+    }
+
+    /**
+     * @return configuration with all the defaults
+     */
+    public static OffHeapCacheConfiguration defaults() {
+        return OffHeapCacheConfiguration.builder().build();
+    }
+}
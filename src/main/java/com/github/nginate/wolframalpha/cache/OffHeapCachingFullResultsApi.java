@@ -0,0 +1,87 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Full results API client keeping received results serialized in {@link OffHeapResultCache off-heap memory}. Results
+ * are keyed by {@link QueryKey normalized query parameters} same way as in {@link CachingFullResultsApi}; results with
+ * error flag are not cached.
+ * <p>
+ * Could be used as a second tier behind small on-heap cache holding the hottest results:
+ * <pre>
+ *     FullResultsApi client = new CachingFullResultsApi(
+ *             new OffHeapCachingFullResultsApi(ClientFactory.fullResultsApi(), OffHeapCacheConfiguration.defaults()),
+ *             QueryCacheConfiguration.builder().maximumWeight(16L * 1024 * 1024).build());
+ * </pre>
+ */
+public class OffHeapCachingFullResultsApi implements FullResultsApi {
+    private final FullResultsApi delegate;
+    private final OffHeapResultCache cache;
+
+    public OffHeapCachingFullResultsApi(FullResultsApi delegate) {
+        this(delegate, OffHeapCacheConfiguration.defaults());
+    }
+
+    public OffHeapCachingFullResultsApi(FullResultsApi delegate, OffHeapCacheConfiguration configuration) {
+        this.delegate = delegate;
+        this.cache = new OffHeapResultCache(configuration);
+    }
+
+    @Override
+    public QueryResult getFullResults(String input,
+                                      String appId,
+                                      List<ResultFormat> formats,
+                                      List<String> assumptions,
+                                      String location,
+                                      GeoCoordinates latlong,
+                                      String ip,
+                                      List<String> podStates,
+                                      Float async,
+                                      Float scantimeout,
+                                      Float podtimeout,
+                                      Float formattimeout,
+                                      Float parsetimeout,
+                                      Float totaltimeout,
+                                      List<String> includedPodIds,
+                                      List<String> excludedPodIds,
+                                      List<String> podTitles,
+                                      List<Integer> podIndexes,
+                                      List<String> scanners,
+                                      ResultType output) {
+        QueryKey key = QueryKey.of(input, appId, formats, assumptions, location, latlong, ip, podStates, async,
+                scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout, includedPodIds, excludedPodIds,
+                podTitles, podIndexes, scanners);
+        return getFullResults(key, () -> delegate.getFullResults(input, appId, formats, assumptions, location,
+                latlong, ip, podStates, async, scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout,
+                includedPodIds, excludedPodIds, podTitles, podIndexes, scanners, output));
+    }
+
+    /**
+     * Results of both output formats are sharing cache entries, as they are read into the same model
+     */
+    private QueryResult getFullResults(QueryKey key, Supplier<QueryResult> request) {
+        QueryResult cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        QueryResult result = request.get();
+        if (result != null && !Boolean.TRUE.equals(result.getError())) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return off-heap cache with its counters
+     */
+    public OffHeapResultCache getCache() {
+        return cache;
+    }
+}
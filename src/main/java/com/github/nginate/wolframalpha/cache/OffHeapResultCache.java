@@ -0,0 +1,236 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.model.QueryResult;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Query results cache keeping serialized results in direct memory, so large number of cached results is not adding to
+ * heap size and garbage collection pauses. Only index of results is kept on heap.
+ * <p>
+ * Memory is split into fixed size slabs allocated on first use. Results are appended to the current slab; when all
+ * slabs are used, the oldest one is cleared with all results in it and reused. Replaced and expired results are taking
+ * space until their slab is reused. If direct memory runs out while allocating a slab, cache keeps working with slabs
+ * already allocated, or stops caching if there are none.
+ * <p>
+ * Every hit is deserializing new result instance, so results could be modified by caller.
+ */
+@Slf4j
+public class OffHeapResultCache {
+    private final int slabSize;
+    private final long timeToLive;
+    private final ResultSerializer serializer;
+    private final Slab[] slabs;
+    /**
+     * Number of slabs in use, reduced to the allocated ones if direct memory runs out
+     */
+    private int slabCount;
+
+    private final Map<QueryKey, Entry> index = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int current;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public OffHeapResultCache(OffHeapCacheConfiguration configuration) {
+        this.slabSize = configuration.getSlabSize();
+        this.timeToLive = configuration.getTimeToLive().toNanos();
+        this.serializer = configuration.getSerializer();
+        this.slabs = new Slab[(int) Math.max(2, configuration.getCapacity() / slabSize)];
+        for (int i = 0; i < slabs.length; i++) {
+            slabs[i] = new Slab();
+        }
+        this.slabCount = slabs.length;
+    }
+
+    /**
+     * @param key query key
+     * @return deserialized result or null if there is no valid result for the key
+     */
+    @Nullable
+    public QueryResult get(QueryKey key) {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null || entry.expiresAt - System.nanoTime() < 0) {
+                misses.increment();
+                return null;
+            }
+            ByteBuffer buffer = entry.slab.buffer.duplicate();
+            buffer.limit(entry.offset + entry.length).position(entry.offset);
+            QueryResult result = serializer.deserialize(buffer);
+            hits.increment();
+            return result;
+        } catch (IOException e) {
+            log.warn("Could not deserialize cached result of {}", key.getInput(), e);
+            misses.increment();
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Store result replacing previous one with the same key. Results that could not be serialized or larger than slab
+     * are not stored, neither are any results once no slab could be allocated.
+     *
+     * @param key    query key
+     * @param result query result
+     */
+    public void put(QueryKey key, QueryResult result) {
+        byte[] bytes;
+        try {
+            bytes = serializer.serialize(result);
+        } catch (IOException e) {
+            log.warn("Could not serialize result of {}", key.getInput(), e);
+            return;
+        }
+        if (bytes.length > slabSize) {
+            log.debug("Result of {} is too large to cache : {} bytes", key.getInput(), bytes.length);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (slabCount == 0) {
+                return;
+            }
+            Slab slab = slabs[current];
+            if (slab.buffer != null && slabSize - slab.used < bytes.length) {
+                current = (current + 1) % slabCount;
+                slab = slabs[current];
+                recycle(slab);
+            }
+            if (slab.buffer == null && !allocate(slab)) {
+                if (slabCount == 0) {
+                    return;
+                }
+                current = 0;
+                slab = slabs[current];
+                recycle(slab);
+            }
+            ByteBuffer buffer = slab.buffer.duplicate();
+            buffer.position(slab.used);
+            buffer.put(bytes);
+            index.put(key, new Entry(slab, slab.used, bytes.length, System.nanoTime() + timeToLive));
+            slab.keys.add(key);
+            slab.used += bytes.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all cached results, allocated memory is kept
+     */
+    public void invalidateAll() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            for (Slab slab : slabs) {
+                slab.keys.clear();
+                slab.used = 0;
+            }
+            current = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of cached results, including expired ones not evicted yet
+     */
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of results found in cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of results not found in cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of results evicted from cache to make space for new ones
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return true if slab memory was allocated, false if direct memory is exhausted and slab count was reduced to
+     * the slabs allocated so far
+     */
+    private boolean allocate(Slab slab) {
+        try {
+            slab.buffer = allocateSlab();
+            return true;
+        } catch (OutOfMemoryError e) {
+            log.warn("Could not allocate {} bytes of direct memory, cache is limited to {} slabs : {}", slabSize,
+                    current, e.getMessage());
+            slabCount = current;
+            return false;
+        }
+    }
+
+    /**
+     * Overridden in tests to simulate exhausted direct memory
+     */
+    ByteBuffer allocateSlab() {
+        return ByteBuffer.allocateDirect(slabSize);
+    }
+
+    private void recycle(Slab slab) {
+        if (slab.buffer == null) {
+            return;
+        }
+        for (QueryKey key : slab.keys) {
+            Entry entry = index.get(key);
+            if (entry != null && entry.slab == slab) {
+                index.remove(key);
+                evictions.increment();
+            }
+        }
+        slab.keys.clear();
+        slab.used = 0;
+    }
+
+    private static class Slab {
+        private final List<QueryKey> keys = new ArrayList<>();
+        private ByteBuffer buffer;
+        private int used;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final Slab slab;
+        private final int offset;
+        private final int length;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.nginate.wolframalpha.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Query results cache settings. Any value not provided to builder is using its default.
+ *
+ * @see CachingFullResultsApi
+ */
+@Getter
+public class QueryCacheConfiguration {
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64 * 1024 * 1024;
+
+    /**
+     * Time result is kept in cache after it was received
+     */
+    private final Duration timeToLive;
+    /**
+     * Max total estimated size of cached results in bytes
+     */
+    private final long maximumWeight;
+
+    /**
+     * @param timeToLive    time result is kept in cache after it was received. Default : 10 minutes
+     * @param maximumWeight max total estimated size of cached results in bytes. Default : 64 MB
+     */
+    @Builder
+    private QueryCacheConfiguration(@Nullable Duration timeToLive, @Nullable Long maximumWeight) {
+        this.timeToLive = Optional.ofNullable(timeToLive).orElse(DEFAULT_TIME_TO_LIVE);
+        this.maximumWeight = Optional.ofNullable(maximumWeight).orElse(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * @return configuration with all the defaults
+     */
+    public static QueryCacheConfiguration defaults() {
+        return QueryCacheConfiguration.builder().build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized full results query parameters. Queries different only in a way parameters are written are producing equal
+ * keys:
+ * <ul>
+ * <li>input, location and ip are trimmed and input whitespaces are collapsed</li>
+ * <li>null and empty lists are the same</li>
+ * <li>formats, pod ids, titles, indexes and scanners are order independent and duplicates are ignored</li>
+ * <li>assumptions and pod states are kept in order, as the order they are applied in matters</li>
+ * </ul>
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class QueryKey {
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private final String input;
+    private final String appId;
+    private final Set<ResultFormat> formats;
+    private final List<String> assumptions;
+    private final String location;
+    private final GeoCoordinates coordinates;
+    private final String ip;
+    private final List<String> podStates;
+    private final Float async;
+    private final Float scanTimeout;
+    private final Float podTimeout;
+    private final Float formatTimeout;
+    private final Float parseTimeout;
+    private final Float totalTimeout;
+    private final Set<String> includedPodIds;
+    private final Set<String> excludedPodIds;
+    private final Set<String> podTitles;
+    private final Set<Integer> podIndexes;
+    private final Set<String> scanners;
+
+    /**
+     * Build key for parameters of {@link com.github.nginate.wolframalpha.full.FullResultsApi#getFullResults(String,
+     * String, List, List, String, GeoCoordinates, String, List, Float, Float, Float, Float, Float, Float, List, List,
+     * List, List, List)}
+     *
+     * @return normalized query key
+     */
+    public static QueryKey of(String input,
+                              String appId,
+                              @Nullable List<ResultFormat> formats,
+                              @Nullable List<String> assumptions,
+                              @Nullable String location,
+                              @Nullable GeoCoordinates latlong,
+                              @Nullable String ip,
+                              @Nullable List<String> podStates,
+                              @Nullable Float async,
+                              @Nullable Float scantimeout,
+                              @Nullable Float podtimeout,
+                              @Nullable Float formattimeout,
+                              @Nullable Float parsetimeout,
+                              @Nullable Float totaltimeout,
+                              @Nullable List<String> includedPodIds,
+                              @Nullable List<String> excludedPodIds,
+                              @Nullable List<String> podTitles,
+                              @Nullable List<Integer> podIndexes,
+                              @Nullable List<String> scanners) {
+        return new QueryKey(normalizeInput(input), appId, formats(formats), list(assumptions), trim(location), latlong,
+                trim(ip), list(podStates), async, scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout,
+                set(includedPodIds), set(excludedPodIds), set(podTitles), set(podIndexes), set(scanners));
+    }
+
+    private static String normalizeInput(String input) {
+        return WHITESPACES.matcher(input.trim()).replaceAll(" ");
+    }
+
+    @Nullable
+    private static String trim(@Nullable String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static Set<ResultFormat> formats(@Nullable List<ResultFormat> formats) {
+        if (formats == null || formats.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(EnumSet.copyOf(formats));
+    }
+
+    private static <T> List<T> list(@Nullable List<T> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    private static <T> Set<T> set(@Nullable List<T> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(values));
+    }
+}
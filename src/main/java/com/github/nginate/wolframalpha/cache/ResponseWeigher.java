@@ -0,0 +1,129 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.nginate.wolframalpha.model.*;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionValue;
+import com.github.nginate.wolframalpha.model.States.State;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Rough estimate of a heap taken by query result: every model object is counted as header with reference fields,
+ * strings as header with 2 bytes per char. Only relative size of results matters for eviction, so it doesn't have to
+ * be exact.
+ */
+class ResponseWeigher implements Weigher<QueryKey, QueryResult> {
+    private static final int OBJECT = 16;
+    private static final int FIELD = 8;
+    private static final int STRING = 40;
+
+    @Override
+    public int weigh(QueryKey key, QueryResult value) {
+        long weight = OBJECT + 16 * FIELD + weigh(key.getInput()) + strings(value.getDatatypes())
+                + strings(value.getTimedout()) + strings(value.getTimedoutpods()) + weigh(value.getVersion())
+                + weigh(value.getId()) + weigh(value.getHost()) + weigh(value.getServer())
+                + weigh(value.getRelated()) + weigh(value.getRecalculate())
+                + list(value.getPods(), this::weigh) + weigh(value.getAssumptions());
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private int weigh(Pod pod) {
+        return OBJECT + 11 * FIELD + weigh(pod.getTitle()) + weigh(pod.getScanner()) + weigh(pod.getId())
+                + weigh(pod.getAsync()) + list(pod.getSubpods(), this::weigh) + weigh(pod.getStates())
+                + (pod.getSounds() == null ? 0 : OBJECT + list(pod.getSounds().getSounds(),
+                sound -> OBJECT + 2 * FIELD + weigh(sound.getUrl())));
+    }
+
+    private int weigh(Subpod subpod) {
+        int weight = OBJECT + 10 * FIELD + weigh(subpod.getTitle()) + weigh(subpod.getPlaintext())
+                + weigh(subpod.getMinput()) + weigh(subpod.getMoutput()) + untyped(subpod.getMathMl())
+                + weigh(subpod.getStates());
+        Image img = subpod.getImg();
+        if (img != null) {
+            weight += OBJECT + 5 * FIELD + weigh(img.getSrc()) + weigh(img.getAlt()) + weigh(img.getTitle());
+        }
+        ImageMap imageMap = subpod.getImageMap();
+        if (imageMap != null) {
+            weight += OBJECT + list(imageMap.getRectangles(), rect -> OBJECT + 8 * FIELD + weigh(rect.getQuery())
+                    + weigh(rect.getAssumptions()) + weigh(rect.getAssumptions2()) + weigh(rect.getTitle()));
+        }
+        Cell cell = subpod.getCell();
+        if (cell != null) {
+            weight += OBJECT + 2 * FIELD + weigh(cell.getData());
+        }
+        return weight;
+    }
+
+    private int weigh(@Nullable States states) {
+        if (states == null) {
+            return 0;
+        }
+        int weight = OBJECT + 3 * FIELD + list(states.getStates(), this::weigh);
+        if (states.getStateList() != null) {
+            weight += OBJECT + 4 * FIELD + weigh(states.getStateList().getValue())
+                    + list(states.getStateList().getStates(), this::weigh);
+        }
+        return weight;
+    }
+
+    private int weigh(State state) {
+        return OBJECT + 2 * FIELD + weigh(state.getName()) + weigh(state.getInput());
+    }
+
+    private int weigh(@Nullable Assumptions assumptions) {
+        if (assumptions == null) {
+            return 0;
+        }
+        return OBJECT + 2 * FIELD + list(assumptions.getAssumptions(), this::weigh);
+    }
+
+    private int weigh(Assumption assumption) {
+        return OBJECT + 5 * FIELD + weigh(assumption.getWord()) + weigh(assumption.getTemplate())
+                + list(assumption.getValues(), this::weigh);
+    }
+
+    private int weigh(AssumptionValue value) {
+        return OBJECT + 3 * FIELD + weigh(value.getName()) + weigh(value.getDescription()) + weigh(value.getInput());
+    }
+
+    private int untyped(@Nullable Object value) {
+        if (value instanceof String) {
+            return weigh((String) value);
+        }
+        if (value instanceof Map) {
+            int weight = OBJECT + FIELD;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                weight += OBJECT + 4 * FIELD + untyped(entry.getKey()) + untyped(entry.getValue());
+            }
+            return weight;
+        }
+        if (value instanceof Collection) {
+            return list((Collection<?>) value, this::untyped);
+        }
+        return value == null ? 0 : OBJECT;
+    }
+
+    private int strings(@Nullable List<String> values) {
+        return list(values, this::weigh);
+    }
+
+    private <T> int list(@Nullable Collection<T> values, ToIntFunction<T> weigher) {
+        if (values == null) {
+            return 0;
+        }
+        int weight = OBJECT + FIELD * values.size();
+        for (T value : values) {
+            weight += weigher.applyAsInt(value);
+        }
+        return weight;
+    }
+
+    private int weigh(@Nullable String value) {
+        return value == null ? 0 : STRING + 2 * value.length();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.model.QueryResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts query results to bytes and back for caches keeping them outside of heap
+ *
+ * @see OffHeapResultCache
+ */
+public interface ResultSerializer {
+    /**
+     * @param result query result
+     * @return serialized result
+     * @throws IOException if result could not be serialized
+     */
+    byte[] serialize(QueryResult result) throws IOException;
+
+    /**
+     * @param buffer serialized result from buffer position to its limit, buffer position is not restored
+     * @return new query result instance
+     * @throws IOException if result could not be deserialized
+     */
+    QueryResult deserialize(ByteBuffer buffer) throws IOException;
+}
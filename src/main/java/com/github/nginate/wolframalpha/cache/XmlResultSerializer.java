@@ -0,0 +1,38 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
+import com.github.nginate.wolframalpha.model.QueryResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes query results to the same XML API responds with, using mapper configured as the one reading responses.
+ * Null values are omitted, as empty elements would be read back as empty objects.
+ */
+public class XmlResultSerializer implements ResultSerializer {
+    private static final ObjectMapper mapper = new XmlMapper();
+
+    static {
+        mapper.setAnnotationIntrospector(new JaxbAnnotationIntrospector(TypeFactory.defaultInstance()));
+        mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Override
+    public byte[] serialize(QueryResult result) throws IOException {
+        return mapper.writeValueAsBytes(result);
+    }
+
+    @Override
+    public QueryResult deserialize(ByteBuffer buffer) throws IOException {
+        return mapper.readValue(new ByteBufferBackedInputStream(buffer), QueryResult.class);
+    }
+}
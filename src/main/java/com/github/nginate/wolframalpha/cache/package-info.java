@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.cache;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,112 @@
+package com.github.nginate.wolframalpha.coalescing;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Call sharing http exchange with all the calls for the same url executed at the same time. Only the first of such
+ * calls goes to the network, the rest are getting its response. Cancelling a call detaches it from shared exchange
+ * (its callback is notified with failure), exchange itself continues for other calls.
+ *
+ * @param <T> response body type
+ */
+class CoalescingCall<T> implements Call<T> {
+    private final Call<T> delegate;
+    private final SingleFlight<HttpUrl, Response<T>> flights;
+
+    private volatile boolean executed;
+    private volatile boolean canceled;
+    private volatile CompletableFuture<Response<T>> pending;
+
+    CoalescingCall(Call<T> delegate, SingleFlight<HttpUrl, Response<T>> flights) {
+        this.delegate = delegate;
+        this.flights = flights;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+        Response<T> response = flights.execute(key(), delegate::execute);
+        if (canceled) {
+            throw new IOException("Canceled");
+        }
+        return response;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+        pending = flights.executeAsync(key(), this::enqueueDelegate);
+        pending.whenComplete((response, e) -> {
+            if (e == null) {
+                callback.onResponse(this, response);
+            } else {
+                callback.onFailure(this, e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+    }
+
+    private CompletableFuture<Response<T>> enqueueDelegate() {
+        CompletableFuture<Response<T>> future = new CompletableFuture<>();
+        delegate.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private synchronized void markExecuted() {
+        if (executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        executed = true;
+    }
+
+    private HttpUrl key() {
+        return delegate.request().url();
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        CompletableFuture<Response<T>> future = pending;
+        if (future != null) {
+            future.completeExceptionally(new IOException("Canceled"));
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<T> clone() {
+        return new CoalescingCall<>(delegate.clone(), flights);
+    }
+
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+}
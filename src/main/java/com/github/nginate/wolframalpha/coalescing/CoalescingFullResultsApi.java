@@ -0,0 +1,65 @@
+package com.github.nginate.wolframalpha.coalescing;
+
+import com.github.nginate.wolframalpha.cache.QueryKey;
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+
+import java.util.List;
+
+/**
+ * Full results API client sharing one request and one parsed result between concurrent identical queries. Queries
+ * are compared by {@link QueryKey normalized parameters}. Can be combined with {@link
+ * com.github.nginate.wolframalpha.cache.CachingFullResultsApi cache}, so cache misses for the same query are loaded
+ * once:
+ * <pre>
+ *     FullResultsApi client = new CachingFullResultsApi(new CoalescingFullResultsApi(ClientFactory.fullResultsApi()));
+ * </pre>
+ * Shared result is returned to all waiting callers, so it should be treated as read-only.
+ */
+public class CoalescingFullResultsApi implements FullResultsApi {
+    private final FullResultsApi delegate;
+    private final SingleFlight<QueryKey, QueryResult> flights = new SingleFlight<>();
+
+    public CoalescingFullResultsApi(FullResultsApi delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public QueryResult getFullResults(String input,
+                                      String appId,
+                                      List<ResultFormat> formats,
+                                      List<String> assumptions,
+                                      String location,
+                                      GeoCoordinates latlong,
+                                      String ip,
+                                      List<String> podStates,
+                                      Float async,
+                                      Float scantimeout,
+                                      Float podtimeout,
+                                      Float formattimeout,
+                                      Float parsetimeout,
+                                      Float totaltimeout,
+                                      List<String> includedPodIds,
+                                      List<String> excludedPodIds,
+                                      List<String> podTitles,
+                                      List<Integer> podIndexes,
+                                      List<String> scanners,
+                                      ResultType output) {
+        QueryKey key = QueryKey.of(input, appId, formats, assumptions, location, latlong, ip, podStates, async,
+                scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout, includedPodIds, excludedPodIds,
+                podTitles, podIndexes, scanners);
+        return flights.execute(key, () -> delegate.getFullResults(input, appId, formats, assumptions, location,
+                latlong, ip, podStates, async, scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout,
+                includedPodIds, excludedPodIds, podTitles, podIndexes, scanners, output));
+    }
+
+    /**
+     * @return requests statistics
+     */
+    public SingleFlight<QueryKey, QueryResult> getFlights() {
+        return flights;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.nginate.wolframalpha.coalescing;
+
+import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.shortanswer.ShortAnswersApi;
+import okhttp3.HttpUrl;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Short answers API client sharing one http call between concurrent identical requests (same url), so spikes of the
+ * same query are sent upstream only once
+ */
+public class CoalescingShortAnswersApi implements ShortAnswersApi {
+    private final ShortAnswersApi delegate;
+    private final SingleFlight<HttpUrl, Response<String>> flights = new SingleFlight<>();
+
+    public CoalescingShortAnswersApi(ShortAnswersApi delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Call<String> getShortAnswer(String literal, String appId, Units units, int timeout) {
+        return new CoalescingCall<>(delegate.getShortAnswer(literal, appId, units, timeout), flights);
+    }
+
+    /**
+     * @return requests statistics
+     */
+    public SingleFlight<HttpUrl, Response<String>> getFlights() {
+        return flights;
+    }
+}
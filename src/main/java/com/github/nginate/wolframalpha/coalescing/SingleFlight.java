@@ -0,0 +1,115 @@
+package com.github.nginate.wolframalpha.coalescing;
+
+import lombok.SneakyThrows;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Executes only one operation per key at a time. Callers coming with the same key while operation is in flight are
+ * not starting their own one but are waiting for the result of the first caller, so they all share one result or
+ * one exception. Once operation completes key is released, so the next caller starts a new operation: this is not a
+ * cache.
+ *
+ * @param <K> operation key
+ * @param <V> operation result
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Execute operation in caller thread or wait for the same operation started by another caller
+     *
+     * @param key       operation key
+     * @param operation operation to execute if there is no one in flight for the key
+     * @return operation result
+     */
+    @SneakyThrows
+    public V execute(K key, Callable<V> operation) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        executions.increment();
+        try {
+            V value = operation.call();
+            inFlight.remove(key, flight);
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start async operation or join the same operation started by another caller. Every caller is getting its own
+     * future, so cancelling it does not affect other callers.
+     *
+     * @param key       operation key
+     * @param operation operation to start if there is no one in flight for the key
+     * @return future operation result
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> operation) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.thenApply(Function.identity());
+        }
+        executions.increment();
+        CompletableFuture<V> started;
+        try {
+            started = operation.get();
+        } catch (RuntimeException e) {
+            started = new CompletableFuture<>();
+            started.completeExceptionally(e);
+        }
+        started.whenComplete((value, e) -> {
+            inFlight.remove(key, flight);
+            if (e != null) {
+                flight.completeExceptionally(e);
+            } else {
+                flight.complete(value);
+            }
+        });
+        return flight.thenApply(Function.identity());
+    }
+
+    /**
+     * @return number of operations actually executed
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return number of callers served by operation started by another caller
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return number of operations currently in flight
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
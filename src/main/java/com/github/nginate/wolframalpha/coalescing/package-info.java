@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.coalescing;
+
+import javax.annotation.ParametersAreNonnullByDefault;
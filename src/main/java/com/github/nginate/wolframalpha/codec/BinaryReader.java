@@ -0,0 +1,168 @@
+package com.github.nginate.wolframalpha.codec;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads values written by {@link BinaryWriter} from buffer, advancing its position. Malformed input is reported with
+ * {@link IOException}.
+ */
+class BinaryReader {
+    private final List<String> strings = new ArrayList<>();
+    private final ByteBuffer buffer;
+    private byte[] scratch = new byte[256];
+
+    BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            throw new EOFException("Unexpected end of encoded result");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length number");
+    }
+
+    @Nullable
+    Boolean readBoolean() throws IOException {
+        int value = readByte();
+        switch (value) {
+            case 0:
+                return null;
+            case 1:
+                return false;
+            case 2:
+                return true;
+            default:
+                throw new IOException("Malformed boolean " + value);
+        }
+    }
+
+    @Nullable
+    Integer readInteger() throws IOException {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        int zigZag = (int) (value - 1);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    @Nullable
+    Float readFloat() throws IOException {
+        if (!readPresence()) {
+            return null;
+        }
+        if (buffer.remaining() < 4) {
+            throw new EOFException("Unexpected end of encoded result");
+        }
+        return Float.intBitsToFloat(buffer.getInt());
+    }
+
+    @Nullable
+    String readString() throws IOException {
+        long reference = readVarLong();
+        if (reference == 0) {
+            return null;
+        }
+        if (reference == 1) {
+            long length = readVarLong();
+            if (length > buffer.remaining()) {
+                throw new EOFException("Unexpected end of encoded result");
+            }
+            String value = decode((int) length);
+            strings.add(value);
+            return value;
+        }
+        if (reference - 2 >= strings.size()) {
+            throw new IOException("Unknown string reference " + reference);
+        }
+        return strings.get((int) (reference - 2));
+    }
+
+    @Nullable
+    <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown " + type.getSimpleName() + " " + name, e);
+        }
+    }
+
+    boolean readPresence() throws IOException {
+        int value = readByte();
+        if (value > 1) {
+            throw new IOException("Malformed presence flag " + value);
+        }
+        return value == 1;
+    }
+
+    @Nullable
+    <T> List<T> readList(ElementReader<T> elementReader) throws IOException {
+        long size = readVarLong() - 1;
+        if (size < 0) {
+            return null;
+        }
+        if (size > buffer.remaining()) {
+            throw new EOFException("Unexpected end of encoded result");
+        }
+        List<T> values = new ArrayList<>((int) size);
+        for (int i = 0; i < size; i++) {
+            values.add(elementReader.read());
+        }
+        return values;
+    }
+
+    /**
+     * ASCII strings are copied directly, bypassing charset decoder
+     */
+    @SuppressWarnings("deprecation")
+    private String decode(int length) {
+        byte[] bytes;
+        int offset;
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            bytes = scratch;
+            offset = 0;
+            buffer.duplicate().get(bytes, 0, length);
+        }
+        buffer.position(buffer.position() + length);
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, 0, offset, length);
+    }
+
+    @FunctionalInterface
+    interface ElementReader<T> {
+        T read() throws IOException;
+    }
+}
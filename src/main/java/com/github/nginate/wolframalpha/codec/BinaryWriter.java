@@ -0,0 +1,144 @@
+package com.github.nginate.wolframalpha.codec;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Growable byte array writing values in {@link QueryResultCodec} format. Every distinct string is written once, repeats
+ * are written as index in the table of strings written so far.
+ */
+class BinaryWriter {
+    private final Map<String, Integer> strings = new HashMap<>(512);
+    private byte[] bytes = new byte[8192];
+    private char[] chars = new char[256];
+    private int size;
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    void writeBoolean(@Nullable Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    /**
+     * Zig-zag encoded shifted by one, so null and small values of any sign take one byte
+     */
+    void writeInteger(@Nullable Integer value) {
+        writeVarLong(value == null ? 0 : (((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL) + 1);
+    }
+
+    void writeFloat(@Nullable Float value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        int bits = Float.floatToIntBits(value);
+        ensureCapacity(5);
+        bytes[size++] = 1;
+        bytes[size++] = (byte) (bits >>> 24);
+        bytes[size++] = (byte) (bits >>> 16);
+        bytes[size++] = (byte) (bits >>> 8);
+        bytes[size++] = (byte) bits;
+    }
+
+    /**
+     * 0 for null, 1 followed by length and UTF-8 bytes for a new string, table index + 2 for a repeated one
+     */
+    void writeString(@Nullable String value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        Integer index = strings.putIfAbsent(value, strings.size());
+        if (index != null) {
+            writeVarLong(index + 2L);
+            return;
+        }
+        writeByte(1);
+        if (!writeAscii(value)) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+    }
+
+    void writeEnum(@Nullable Enum<?> value) {
+        writeString(value == null ? null : value.name());
+    }
+
+    /**
+     * @return true if value is present and should be written next
+     */
+    boolean writePresence(@Nullable Object value) {
+        writeByte(value == null ? 0 : 1);
+        return value != null;
+    }
+
+    <T> void writeList(@Nullable Collection<T> values, Consumer<T> elementWriter) {
+        if (values == null) {
+            writeByte(0);
+            return;
+        }
+        writeVarLong(values.size() + 1L);
+        for (T value : values) {
+            elementWriter.accept(value);
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * ASCII strings are the most of API responses, so they are copied directly bypassing charset encoder
+     *
+     * @return false if string is not ASCII and nothing was written
+     */
+    private boolean writeAscii(String value) {
+        int length = value.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        char[] source = chars;
+        value.getChars(0, length, source, 0);
+        ensureCapacity(length + 5);
+        int start = size;
+        writeVarLong(length);
+        byte[] target = bytes;
+        int offset = size;
+        for (int i = 0; i < length; i++) {
+            char c = source[i];
+            if (c >= 0x80) {
+                size = start;
+                return false;
+            }
+            target[offset + i] = (byte) c;
+        }
+        size = offset + length;
+        return true;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+    }
+}
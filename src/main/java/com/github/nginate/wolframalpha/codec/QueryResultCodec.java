@@ -0,0 +1,386 @@
+package com.github.nginate.wolframalpha.codec;
+
+import com.github.nginate.wolframalpha.model.*;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionType;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionValue;
+import com.github.nginate.wolframalpha.model.Sounds.Sound;
+import com.github.nginate.wolframalpha.model.Sounds.Sound.AudioType;
+import com.github.nginate.wolframalpha.model.States.State;
+import com.github.nginate.wolframalpha.model.States.StateList;
+import lombok.experimental.UtilityClass;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link QueryResult} with all its model objects, to store or transfer results without
+ * going through XML. Encoded result starts with magic bytes and format version, followed by fields of model objects
+ * in declaration order:
+ * <ul>
+ * <li>booleans are single byte, integers are zig-zag variable length numbers, floats are 4 bytes after presence
+ * flag; null is encoded as 0 in all of them</li>
+ * <li>strings are written once, repeated ids, titles, scanners etc. are referencing the first occurrence in string
+ * table; enums are written as strings by name</li>
+ * <li>lists are prefixed with size, nested objects with presence flag</li>
+ * <li>untyped MathML content is written as tagged tree of maps, lists and strings</li>
+ * </ul>
+ * Format is versioned: any change of model fields should bump {@link #VERSION}, results encoded with other version
+ * are rejected on decoding.
+ */
+@UtilityClass
+public class QueryResultCodec {
+    public static final int VERSION = 1;
+
+    private static final int MAGIC_W = 'W';
+    private static final int MAGIC_A = 'A';
+
+    private static final int UNTYPED_NULL = 0;
+    private static final int UNTYPED_STRING = 1;
+    private static final int UNTYPED_MAP = 2;
+    private static final int UNTYPED_LIST = 3;
+
+    /**
+     * @param result query result
+     * @return encoded result
+     * @throws IllegalArgumentException if MathML content contains values other than maps, lists and strings
+     */
+    public static byte[] encode(QueryResult result) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(MAGIC_W);
+        writer.writeByte(MAGIC_A);
+        writer.writeByte(VERSION);
+        write(writer, result);
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param bytes encoded result
+     * @return decoded result
+     * @throws IOException if bytes are not encoded result of supported version
+     */
+    public static QueryResult decode(byte[] bytes) throws IOException {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * @param buffer encoded result starting at buffer position, position is moved past the result
+     * @return decoded result
+     * @throws IOException if buffer does not contain encoded result of supported version
+     */
+    public static QueryResult decode(ByteBuffer buffer) throws IOException {
+        BinaryReader reader = new BinaryReader(buffer);
+        if (reader.readByte() != MAGIC_W || reader.readByte() != MAGIC_A) {
+            throw new IOException("Not an encoded query result");
+        }
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported encoded query result version " + version);
+        }
+        return readQueryResult(reader);
+    }
+
+    private static void write(BinaryWriter writer, QueryResult result) {
+        writer.writeBoolean(result.getSuccess());
+        writer.writeBoolean(result.getError());
+        writer.writeInteger(result.getNumpods());
+        writer.writeString(result.getVersion());
+        writer.writeList(result.getDatatypes(), writer::writeString);
+        writer.writeFloat(result.getTiming());
+        writer.writeList(result.getTimedout(), writer::writeString);
+        writer.writeList(result.getTimedoutpods(), writer::writeString);
+        writer.writeString(result.getId());
+        writer.writeString(result.getHost());
+        writer.writeString(result.getServer());
+        writer.writeString(result.getRelated());
+        writer.writeFloat(result.getParsetiming());
+        writer.writeBoolean(result.getParsetimedout());
+        writer.writeString(result.getRecalculate());
+        writer.writeList(result.getPods(), pod -> write(writer, pod));
+        if (writer.writePresence(result.getAssumptions())) {
+            write(writer, result.getAssumptions());
+        }
+    }
+
+    private static QueryResult readQueryResult(BinaryReader reader) throws IOException {
+        QueryResult result = new QueryResult();
+        result.setSuccess(reader.readBoolean());
+        result.setError(reader.readBoolean());
+        result.setNumpods(reader.readInteger());
+        result.setVersion(reader.readString());
+        result.setDatatypes(reader.readList(reader::readString));
+        result.setTiming(reader.readFloat());
+        result.setTimedout(reader.readList(reader::readString));
+        result.setTimedoutpods(reader.readList(reader::readString));
+        result.setId(reader.readString());
+        result.setHost(reader.readString());
+        result.setServer(reader.readString());
+        result.setRelated(reader.readString());
+        result.setParsetiming(reader.readFloat());
+        result.setParsetimedout(reader.readBoolean());
+        result.setRecalculate(reader.readString());
+        result.setPods(reader.readList(() -> readPod(reader)));
+        result.setAssumptions(reader.readPresence() ? readAssumptions(reader) : null);
+        return result;
+    }
+
+    private static void write(BinaryWriter writer, Pod pod) {
+        writer.writeString(pod.getTitle());
+        writer.writeBoolean(pod.getError());
+        writer.writeInteger(pod.getPosition());
+        writer.writeString(pod.getScanner());
+        writer.writeString(pod.getId());
+        writer.writeInteger(pod.getNumsubpods());
+        writer.writeBoolean(pod.getPrimary());
+        writer.writeList(pod.getSubpods(), subpod -> write(writer, subpod));
+        if (writer.writePresence(pod.getSounds())) {
+            writer.writeInteger(pod.getSounds().getCount());
+            writer.writeList(pod.getSounds().getSounds(), sound -> {
+                writer.writeString(sound.getUrl());
+                writer.writeEnum(sound.getType());
+            });
+        }
+        writeStates(writer, pod.getStates());
+        writer.writeString(pod.getAsync());
+    }
+
+    private static Pod readPod(BinaryReader reader) throws IOException {
+        Pod pod = new Pod();
+        pod.setTitle(reader.readString());
+        pod.setError(reader.readBoolean());
+        pod.setPosition(reader.readInteger());
+        pod.setScanner(reader.readString());
+        pod.setId(reader.readString());
+        pod.setNumsubpods(reader.readInteger());
+        pod.setPrimary(reader.readBoolean());
+        pod.setSubpods(reader.readList(() -> readSubpod(reader)));
+        if (reader.readPresence()) {
+            Sounds sounds = new Sounds();
+            sounds.setCount(reader.readInteger());
+            sounds.setSounds(reader.readList(() -> {
+                Sound sound = new Sound();
+                sound.setUrl(reader.readString());
+                sound.setType(reader.readEnum(AudioType.class));
+                return sound;
+            }));
+            pod.setSounds(sounds);
+        } else {
+            pod.setSounds(null);
+        }
+        pod.setStates(readStates(reader));
+        pod.setAsync(reader.readString());
+        return pod;
+    }
+
+    private static void write(BinaryWriter writer, Subpod subpod) {
+        writer.writeString(subpod.getTitle());
+        writer.writeBoolean(subpod.getPrimary());
+        Image img = subpod.getImg();
+        if (writer.writePresence(img)) {
+            writer.writeString(img.getSrc());
+            writer.writeString(img.getAlt());
+            writer.writeString(img.getTitle());
+            writer.writeInteger(img.getWidth());
+            writer.writeInteger(img.getHeight());
+        }
+        if (writer.writePresence(subpod.getImageMap())) {
+            writer.writeList(subpod.getImageMap().getRectangles(), rectangle -> {
+                writer.writeInteger(rectangle.getLeft());
+                writer.writeInteger(rectangle.getRight());
+                writer.writeInteger(rectangle.getTop());
+                writer.writeInteger(rectangle.getBottom());
+                writer.writeString(rectangle.getQuery());
+                writer.writeString(rectangle.getAssumptions());
+                writer.writeString(rectangle.getAssumptions2());
+                writer.writeString(rectangle.getTitle());
+            });
+        }
+        writer.writeString(subpod.getPlaintext());
+        writeUntyped(writer, subpod.getMathMl());
+        writer.writeString(subpod.getMinput());
+        writer.writeString(subpod.getMoutput());
+        if (writer.writePresence(subpod.getCell())) {
+            writer.writeBoolean(subpod.getCell().getCompressed());
+            writer.writeString(subpod.getCell().getData());
+        }
+        writeStates(writer, subpod.getStates());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Subpod readSubpod(BinaryReader reader) throws IOException {
+        Subpod subpod = new Subpod();
+        subpod.setTitle(reader.readString());
+        subpod.setPrimary(reader.readBoolean());
+        if (reader.readPresence()) {
+            Image img = new Image();
+            img.setSrc(reader.readString());
+            img.setAlt(reader.readString());
+            img.setTitle(reader.readString());
+            img.setWidth(reader.readInteger());
+            img.setHeight(reader.readInteger());
+            subpod.setImg(img);
+        }
+        if (reader.readPresence()) {
+            ImageMap imageMap = new ImageMap();
+            imageMap.setRectangles(reader.readList(() -> {
+                ImageRectangle rectangle = new ImageRectangle();
+                rectangle.setLeft(reader.readInteger());
+                rectangle.setRight(reader.readInteger());
+                rectangle.setTop(reader.readInteger());
+                rectangle.setBottom(reader.readInteger());
+                rectangle.setQuery(reader.readString());
+                rectangle.setAssumptions(reader.readString());
+                rectangle.setAssumptions2(reader.readString());
+                rectangle.setTitle(reader.readString());
+                return rectangle;
+            }));
+            subpod.setImageMap(imageMap);
+        }
+        subpod.setPlaintext(reader.readString());
+        Object mathMl = readUntyped(reader);
+        if (mathMl != null && !(mathMl instanceof Map)) {
+            throw new IOException("Malformed MathML content");
+        }
+        subpod.setMathMl((Map<String, Object>) mathMl);
+        subpod.setMinput(reader.readString());
+        subpod.setMoutput(reader.readString());
+        if (reader.readPresence()) {
+            Cell cell = new Cell();
+            cell.setCompressed(reader.readBoolean());
+            cell.setData(reader.readString());
+            subpod.setCell(cell);
+        }
+        subpod.setStates(readStates(reader));
+        return subpod;
+    }
+
+    private static void writeStates(BinaryWriter writer, @Nullable States states) {
+        if (!writer.writePresence(states)) {
+            return;
+        }
+        writer.writeInteger(states.getCount());
+        writer.writeList(states.getStates(), state -> write(writer, state));
+        StateList stateList = states.getStateList();
+        if (writer.writePresence(stateList)) {
+            writer.writeInteger(stateList.getCount());
+            writer.writeString(stateList.getValue());
+            writer.writeString(stateList.getDelimiters());
+            writer.writeList(stateList.getStates(), state -> write(writer, state));
+        }
+    }
+
+    @Nullable
+    private static States readStates(BinaryReader reader) throws IOException {
+        if (!reader.readPresence()) {
+            return null;
+        }
+        States states = new States();
+        states.setCount(reader.readInteger());
+        states.setStates(reader.readList(() -> readState(reader)));
+        if (reader.readPresence()) {
+            StateList stateList = new StateList();
+            stateList.setCount(reader.readInteger());
+            stateList.setValue(reader.readString());
+            stateList.setDelimiters(reader.readString());
+            stateList.setStates(reader.readList(() -> readState(reader)));
+            states.setStateList(stateList);
+        }
+        return states;
+    }
+
+    private static void write(BinaryWriter writer, State state) {
+        writer.writeString(state.getName());
+        writer.writeString(state.getInput());
+    }
+
+    private static State readState(BinaryReader reader) throws IOException {
+        State state = new State();
+        state.setName(reader.readString());
+        state.setInput(reader.readString());
+        return state;
+    }
+
+    private static void write(BinaryWriter writer, Assumptions assumptions) {
+        writer.writeInteger(assumptions.getCount());
+        writer.writeList(assumptions.getAssumptions(), assumption -> {
+            writer.writeEnum(assumption.getType());
+            writer.writeString(assumption.getWord());
+            writer.writeString(assumption.getTemplate());
+            writer.writeInteger(assumption.getCount());
+            writer.writeList(assumption.getValues(), value -> {
+                writer.writeString(value.getName());
+                writer.writeString(value.getDescription());
+                writer.writeString(value.getInput());
+            });
+        });
+    }
+
+    private static Assumptions readAssumptions(BinaryReader reader) throws IOException {
+        Assumptions assumptions = new Assumptions();
+        assumptions.setCount(reader.readInteger());
+        assumptions.setAssumptions(reader.readList(() -> {
+            Assumption assumption = new Assumption();
+            assumption.setType(reader.readEnum(AssumptionType.class));
+            assumption.setWord(reader.readString());
+            assumption.setTemplate(reader.readString());
+            assumption.setCount(reader.readInteger());
+            assumption.setValues(reader.readList(() -> {
+                AssumptionValue value = new AssumptionValue();
+                value.setName(reader.readString());
+                value.setDescription(reader.readString());
+                value.setInput(reader.readString());
+                return value;
+            }));
+            return assumption;
+        }));
+        return assumptions;
+    }
+
+    private static void writeUntyped(BinaryWriter writer, @Nullable Object value) {
+        if (value == null) {
+            writer.writeByte(UNTYPED_NULL);
+        } else if (value instanceof String) {
+            writer.writeByte(UNTYPED_STRING);
+            writer.writeString((String) value);
+        } else if (value instanceof Map) {
+            writer.writeByte(UNTYPED_MAP);
+            Map<?, ?> map = (Map<?, ?>) value;
+            writer.writeVarLong(map.size());
+            map.forEach((key, entry) -> {
+                writer.writeString(String.valueOf(key));
+                writeUntyped(writer, entry);
+            });
+        } else if (value instanceof Collection) {
+            writer.writeByte(UNTYPED_LIST);
+            writer.writeList((Collection<?>) value, element -> writeUntyped(writer, element));
+        } else {
+            throw new IllegalArgumentException("Unsupported MathML value type " + value.getClass().getName());
+        }
+    }
+
+    @Nullable
+    private static Object readUntyped(BinaryReader reader) throws IOException {
+        int tag = reader.readByte();
+        switch (tag) {
+            case UNTYPED_NULL:
+                return null;
+            case UNTYPED_STRING:
+                return reader.readString();
+            case UNTYPED_MAP:
+                long size = reader.readVarLong();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (long i = 0; i < size; i++) {
+                    map.put(reader.readString(), readUntyped(reader));
+                }
+                return map;
+            case UNTYPED_LIST:
+                return reader.readList(() -> readUntyped(reader));
+            default:
+                throw new IOException("Malformed MathML value tag " + tag);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.codec;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,10 @@
+package com.github.nginate.wolframalpha.exceptions;
+
+/**
+ * Request was not sent as too many recent requests to the same host failed
+ */
+public class CircuitBreakerOpenException extends WolframClientException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.nginate.wolframalpha.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Rate limit of app id was exceeded: either request was not sent because of client side limit or API responded with
+ * 429 Too Many Requests
+ */
+public class RateLimitExceededException extends WolframClientException {
+    /**
+     * True if API responded with 429 Too Many Requests, false if request was stopped by client side limit
+     */
+    @Getter
+    private final boolean rejectedByApi;
+
+    public RateLimitExceededException(String message) {
+        this(message, false);
+    }
+
+    public RateLimitExceededException(String message, boolean rejectedByApi) {
+        super(message);
+        this.rejectedByApi = rejectedByApi;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.nginate.wolframalpha.exceptions;
+
+import lombok.Getter;
+
+/**
+ * API responded with 502 Bad Gateway, 503 Service Unavailable or 504 Gateway Timeout
+ */
+public class ServiceUnavailableException extends WolframClientException {
+    @Getter
+    private final int statusCode;
+
+    public ServiceUnavailableException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+}
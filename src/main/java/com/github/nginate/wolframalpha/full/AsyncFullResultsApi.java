@@ -0,0 +1,122 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+import com.github.nginate.wolframalpha.model.selection.Selector;
+import com.github.nginate.wolframalpha.retrofit.BooleanTimeout;
+import com.github.nginate.wolframalpha.retrofit.GenerateClient;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking flavour of {@link FullResultsApi}. Requests are executed by shared http client dispatcher and results
+ * are delivered through {@link CompletableFuture}, so caller thread is released right after request is enqueued.
+ * <p>
+ * Cancelling returned future cancels underlying http call. Note that futures derived from returned one (e.g. with
+ * {@link CompletableFuture#thenApply(java.util.function.Function)}) are not propagating cancellation back.
+ *
+ * @see FullResultsApi
+ */
+@GenerateClient
+public interface AsyncFullResultsApi {
+
+    /**
+     * Make simple API call for requested {@link ResultFormat response payload types}. All the arguments present in
+     * {@link AsyncFullResultsApi#getFullResults(String, String, List, List, String, GeoCoordinates, String, List, Float,
+     * Float, Float, Float, Float, Float, List, List, List, List, List)} but not listed here are using their defaults.
+     *
+     * @param input   URL-encoded text specifying the input string. Queries without an input value will fail
+     * @param appId   An ID provided by Wolfram Research that identifies the application or organization making the
+     *                request
+     * @param formats optional array of desired format for individual result pods. Default : Return basic text and image
+     *                formats ("plaintext,image").
+     * @return future {@link QueryResult response} with requested formats or with defaults if formats were not provided
+     * @see FullResultsApi#getFullResults(String, String, ResultFormat...)
+     */
+    default CompletableFuture<QueryResult> getFullResults(String input, String appId, ResultFormat... formats) {
+        return getFullResults(input, appId, Arrays.asList(formats), null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Build request for an API by providing complex conditions of included/excluded pod within special {@link Selector
+     * builder}. Selector should be terminated with {@link Selector#getResultsAsync(String, String)}
+     *
+     * @return {@link Selector request builder} instance
+     * @see Selector
+     */
+    default Selector withCustomSelection() {
+        return new Selector(this);
+    }
+
+    /**
+     * Non-blocking version of full results request. See {@link FullResultsApi#getFullResults(String, String, List,
+     * List, String, GeoCoordinates, String, List, Float, Float, Float, Float, Float, Float, List, List, List, List,
+     * List)} for parameters description. Delegates to {@link #getFullResults(String, String, List, List, String,
+     * GeoCoordinates, String, List, Float, Float, Float, Float, Float, Float, List, List, List, List, List,
+     * ResultType)} with no output, so implementations only need to override that one.
+     *
+     * @return future query result
+     * @see FullResultsApi#getFullResults(String, String, List, List, String, GeoCoordinates, String, List, Float,
+     * Float, Float, Float, Float, Float, List, List, List, List, List)
+     */
+    default CompletableFuture<QueryResult> getFullResults(String input,
+                                                          String appId,
+                                                          List<ResultFormat> formats,
+                                                          List<String> assumptions,
+                                                          String location,
+                                                          GeoCoordinates latlong,
+                                                          String ip,
+                                                          List<String> podStates,
+                                                          Float async,
+                                                          Float scantimeout,
+                                                          Float podtimeout,
+                                                          Float formattimeout,
+                                                          Float parsetimeout,
+                                                          Float totaltimeout,
+                                                          List<String> includedPodIds,
+                                                          List<String> excludedPodIds,
+                                                          List<String> podTitles,
+                                                          List<Integer> podIndexes,
+                                                          List<String> scanners) {
+        return getFullResults(input, appId, formats, assumptions, location, latlong, ip, podStates, async,
+                scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout, includedPodIds, excludedPodIds,
+                podTitles, podIndexes, scanners, null);
+    }
+
+    /**
+     * Non-blocking version of full results request with explicit response format. See {@link
+     * FullResultsApi#getFullResults(String, String, List, List, String, GeoCoordinates, String, List, Float, Float,
+     * Float, Float, Float, Float, List, List, List, List, List, ResultType)} for parameters description.
+     *
+     * @return future query result
+     */
+    @GET("/v2/query")
+    CompletableFuture<QueryResult> getFullResults(@Query("input") String input,
+                                                  @Query("appid") String appId,
+                                                  @Query(value = "format", encoded = true, rawProcessing = true)
+                                                          List<ResultFormat> formats,
+                                                  @Query("assumption") List<String> assumptions,
+                                                  @Query("location") String location,
+                                                  @Query(value = "latlong", encoded = true) GeoCoordinates latlong,
+                                                  @Query("ip") String ip,
+                                                  @Query("podstate") List<String> podStates,
+                                                  @Query("async") @BooleanTimeout Float async,
+                                                  @Query("scantimeout") Float scantimeout,
+                                                  @Query("podtimeout") Float podtimeout,
+                                                  @Query("formattimeout") Float formattimeout,
+                                                  @Query("parsetimeout") Float parsetimeout,
+                                                  @Query("totaltimeout") Float totaltimeout,
+                                                  @Query("includepodid") List<String> includedPodIds,
+                                                  @Query("excludepodid") List<String> excludedPodIds,
+                                                  @Query("podtitle") List<String> podTitles,
+                                                  @Query("podindex") List<Integer> podIndexes,
+                                                  @Query("scanner") List<String> scanners,
+                                                  @Query("output") ResultType output);
+}
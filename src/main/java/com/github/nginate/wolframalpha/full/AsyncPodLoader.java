@@ -0,0 +1,113 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.full.FullResultsApi.AsyncPodApi;
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.retrofit.CompletableFutureAdapter;
+import com.github.nginate.wolframalpha.retrofit.PayloadAdapter;
+import com.github.nginate.wolframalpha.retrofit.converter.ParserType;
+import com.github.nginate.wolframalpha.retrofit.converter.factory.FullApiConverterFactory;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads pods returned as async links (see {@link FullResultsApi#getFullResults(String, String, java.util.List,
+ * java.util.List, String, com.github.nginate.wolframalpha.model.params.GeoCoordinates, String, java.util.List, Float,
+ * Float, Float, Float, Float, Float, java.util.List, java.util.List, java.util.List, java.util.List, java.util.List)
+ * async parameter}). Async links are pointing to particular Wolfram servers, so API binding is built once per server
+ * and then reused. All bindings are using the same http client, so pods from the same server are loaded through
+ * already opened connections.
+ */
+public class AsyncPodLoader {
+    private static final String ID_PARAMETER = "id";
+
+    private final OkHttpClient client;
+    private final FullApiConverterFactory converterFactory;
+    private final Map<HttpUrl, AsyncPodApi> apis = new ConcurrentHashMap<>();
+
+    public AsyncPodLoader(OkHttpClient client) {
+        this(client, ParserType.JACKSON);
+    }
+
+    public AsyncPodLoader(OkHttpClient client, ParserType parserType) {
+        this(client, FullApiConverterFactory.create(parserType));
+    }
+
+    public AsyncPodLoader(OkHttpClient client, FullApiConverterFactory converterFactory) {
+        this.client = client;
+        this.converterFactory = converterFactory;
+    }
+
+    /**
+     * Load single pod by async link from query result
+     *
+     * @param asyncPodUri URL for async resource loading
+     * @return single POD, loaded by provided url
+     * @throws IllegalArgumentException if provided uri is not a valid async pod link
+     */
+    public Pod loadPod(String asyncPodUri) {
+        HttpUrl httpUrl = Optional.ofNullable(HttpUrl.parse(asyncPodUri))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid async pod url : " + asyncPodUri));
+        return getApi(httpUrl).getAsyncPod(getParameters(httpUrl));
+    }
+
+    /**
+     * Load single pod by async link from query result without blocking caller thread
+     *
+     * @param asyncPodUri URL for async resource loading
+     * @return future POD, loaded by provided url. Cancelling it cancels http call
+     * @throws IllegalArgumentException if provided uri is not a valid async pod link
+     */
+    public CompletableFuture<Pod> loadPodFuture(String asyncPodUri) {
+        HttpUrl httpUrl = Optional.ofNullable(HttpUrl.parse(asyncPodUri))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid async pod url : " + asyncPodUri));
+        return getApi(httpUrl).getAsyncPodFuture(getParameters(httpUrl));
+    }
+
+    /**
+     * @param asyncPodUri URL for async resource loading
+     * @return API binding for the server async pod should be loaded from
+     */
+    private AsyncPodApi getApi(HttpUrl asyncPodUri) {
+        HttpUrl serverUrl = new HttpUrl.Builder()
+                .scheme(asyncPodUri.scheme())
+                .host(asyncPodUri.host())
+                .port(asyncPodUri.port())
+                .build();
+        return apis.computeIfAbsent(serverUrl, this::createApi);
+    }
+
+    /**
+     * Async links are containing pod id and server specific parameters, that should be passed back as is
+     *
+     * @param asyncPodUri URL for async resource loading
+     * @return all query parameters of async link
+     */
+    private Map<String, String> getParameters(HttpUrl asyncPodUri) {
+        if (asyncPodUri.queryParameter(ID_PARAMETER) == null) {
+            throw new IllegalArgumentException("Async pod url has no id : " + asyncPodUri);
+        }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < asyncPodUri.querySize(); i++) {
+            parameters.put(asyncPodUri.queryParameterName(i), asyncPodUri.queryParameterValue(i));
+        }
+        return parameters;
+    }
+
+    private AsyncPodApi createApi(HttpUrl serverUrl) {
+        return new Retrofit.Builder()
+                .baseUrl(serverUrl)
+                .client(client)
+                .addConverterFactory(converterFactory)
+                .addCallAdapterFactory(new CompletableFutureAdapter())
+                .addCallAdapterFactory(new PayloadAdapter())
+                .build()
+                .create(AsyncPodApi.class);
+    }
+}
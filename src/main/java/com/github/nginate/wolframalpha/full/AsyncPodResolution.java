@@ -0,0 +1,45 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link AsyncPodResolver resolving} async pods of a query result
+ */
+@Value
+public class AsyncPodResolution {
+    /**
+     * Query result with every successfully loaded async pod spliced back in place of its async link
+     */
+    QueryResult queryResult;
+    /**
+     * Async pods that were not loaded. Such pods are left in query result as is, with their async links
+     */
+    List<PodFailure> failures;
+
+    /**
+     * @return true if all async pods were loaded
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    @Value
+    public static class PodFailure {
+        /**
+         * Index of pod in {@link QueryResult#getPods() query result pods}
+         */
+        int index;
+        /**
+         * Pod with async link that failed to load
+         */
+        Pod pod;
+        /**
+         * Loading error, {@link java.util.concurrent.TimeoutException} if pod was not loaded before deadline
+         */
+        Throwable cause;
+    }
+}
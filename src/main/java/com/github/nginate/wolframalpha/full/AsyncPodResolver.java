@@ -0,0 +1,232 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.ClientConfiguration;
+import com.github.nginate.wolframalpha.full.AsyncPodResolution.PodFailure;
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Loads all async pods of a query result concurrently and splices them back into {@link QueryResult#getPods() pods}
+ * by position:
+ * <pre>
+ *     QueryResult result = fullResultsApi.withCustomSelection()
+ *             .usingAsyncTimeout(1f)
+ *             .getResults("weather", appId);
+ *     AsyncPodResolution resolution = new AsyncPodResolver(ClientFactory.asyncPodLoader()).resolve(result);
+ * </pre>
+ * At most {@code parallelism} pods are loaded at once and all of them share a single deadline. Pods that failed or
+ * were not loaded in time are reported as {@link PodFailure failures} and are left in result with their async links,
+ * so the rest of result is still usable.
+ */
+@Slf4j
+public class AsyncPodResolver {
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+
+    private final AsyncPodLoader loader;
+    private final int parallelism;
+    private final Duration deadline;
+
+    /**
+     * Create resolver with default parallelism (4) and deadline (10 seconds)
+     *
+     * @param loader async pods loader
+     */
+    public AsyncPodResolver(AsyncPodLoader loader) {
+        this(loader, DEFAULT_PARALLELISM, DEFAULT_DEADLINE);
+    }
+
+    /**
+     * @param loader      async pods loader
+     * @param parallelism max number of pods loaded at once
+     * @param deadline    time to load all the pods of single result
+     */
+    public AsyncPodResolver(AsyncPodLoader loader, int parallelism, Duration deadline) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive : " + parallelism);
+        }
+        this.loader = loader;
+        this.parallelism = parallelism;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Create resolver for {@link FullResultsApi} clients built with default configuration
+     *
+     * @return async pods resolver
+     */
+    public static AsyncPodResolver defaults() {
+        return new AsyncPodResolver(ClientConfiguration.defaults().getAsyncPodLoader());
+    }
+
+    /**
+     * Load async pods of query result, blocking until all of them are loaded or deadline expires
+     *
+     * @param queryResult query result to update
+     * @return resolution with updated query result and pods that failed to load
+     */
+    public AsyncPodResolution resolve(QueryResult queryResult) {
+        return resolveAsync(queryResult).join();
+    }
+
+    /**
+     * Load async pods of query result without blocking caller thread. Cancelling returned future cancels all the
+     * pending pod requests; query result is left unchanged in this case.
+     *
+     * @param queryResult query result to update
+     * @return future resolution, completed when all the pods are loaded or deadline expires
+     */
+    public CompletableFuture<AsyncPodResolution> resolveAsync(QueryResult queryResult) {
+        return resolveAsync(queryResult, PodListener.NONE);
+    }
+
+    /**
+     * Load async pods of query result without blocking caller thread, notifying listener about every pod as soon as it
+     * is loaded or failed. Only {@link PodListener#onPod(int, Pod)} and {@link PodListener#onPodFailed(int, Pod,
+     * Throwable)} are called.
+     *
+     * @param queryResult query result to update
+     * @param listener    async pods listener
+     * @return future resolution, completed when all the pods are loaded or deadline expires
+     */
+    public CompletableFuture<AsyncPodResolution> resolveAsync(QueryResult queryResult, PodListener listener) {
+        Resolution resolution = new Resolution(queryResult, listener);
+        resolution.start();
+        return resolution.result;
+    }
+
+    /**
+     * Listener errors should not break delivery of remaining pods, so they are only logged
+     *
+     * @param notification listener call
+     */
+    static void notifyListener(Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException e) {
+            log.warn("Pod listener failed", e);
+        }
+    }
+
+    /**
+     * State of single query result resolution. Guarded by its own monitor, as pods are completed by http client
+     * threads and deadline by scheduler thread.
+     */
+    private class Resolution {
+        private final QueryResult queryResult;
+        private final PodListener listener;
+        private final List<Pod> pods;
+        private final Queue<Integer> pending = new ArrayDeque<>();
+        private final Map<Integer, CompletableFuture<Pod>> running = new HashMap<>();
+        private final List<PodFailure> failures = new ArrayList<>();
+        private final CompletableFuture<AsyncPodResolution> result = new CompletableFuture<>();
+        private ScheduledFuture<?> deadlineTask;
+
+        private Resolution(QueryResult queryResult, PodListener listener) {
+            this.queryResult = queryResult;
+            this.listener = listener;
+            this.pods = new ArrayList<>(Optional.ofNullable(queryResult.getPods()).orElse(Collections.emptyList()));
+        }
+
+        private synchronized void start() {
+            for (int i = 0; i < pods.size(); i++) {
+                if (pods.get(i).getAsync() != null) {
+                    pending.add(i);
+                }
+            }
+            if (pending.isEmpty()) {
+                complete();
+                return;
+            }
+            result.whenComplete((resolution, e) -> {
+                if (result.isCancelled()) {
+                    abort();
+                }
+            });
+            deadlineTask = DeadlineScheduler.INSTANCE.schedule(this::expire, deadline.toNanos(),
+                    TimeUnit.NANOSECONDS);
+            launchPending();
+        }
+
+        private void launchPending() {
+            while (running.size() < parallelism && !pending.isEmpty()) {
+                int index = pending.poll();
+                CompletableFuture<Pod> future;
+                try {
+                    future = loader.loadPodFuture(pods.get(index).getAsync());
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                running.put(index, future);
+                future.whenComplete((pod, e) -> onPodLoaded(index, pod, e));
+            }
+        }
+
+        private synchronized void onPodLoaded(int index, Pod pod, Throwable error) {
+            if (running.remove(index) == null) {
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                failures.add(new PodFailure(index, pods.get(index), cause));
+                notifyListener(() -> listener.onPodFailed(index, pods.get(index), cause));
+            } else {
+                pods.set(index, pod);
+                notifyListener(() -> listener.onPod(index, pod));
+            }
+            launchPending();
+            if (running.isEmpty() && pending.isEmpty()) {
+                complete();
+            }
+        }
+
+        private synchronized void expire() {
+            if (result.isDone()) {
+                return;
+            }
+            TimeoutException timeout = new TimeoutException("Async pods were not loaded in " + deadline);
+            pending.addAll(running.keySet());
+            pending.forEach(index -> {
+                failures.add(new PodFailure(index, pods.get(index), timeout));
+                notifyListener(() -> listener.onPodFailed(index, pods.get(index), timeout));
+            });
+            abort();
+            complete();
+        }
+
+        private synchronized void abort() {
+            List<CompletableFuture<Pod>> calls = new ArrayList<>(running.values());
+            running.clear();
+            pending.clear();
+            calls.forEach(call -> call.cancel(true));
+            if (deadlineTask != null) {
+                deadlineTask.cancel(false);
+            }
+        }
+
+        private void complete() {
+            if (deadlineTask != null) {
+                deadlineTask.cancel(false);
+            }
+            failures.sort(Comparator.comparingInt(PodFailure::getIndex));
+            if (queryResult.getPods() != null) {
+                queryResult.setPods(pods);
+            }
+            result.complete(new AsyncPodResolution(queryResult, failures));
+        }
+    }
+
+    private static class DeadlineScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "async-pod-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,27 +1,22 @@
 package com.github.nginate.wolframalpha.full;
 
+import com.github.nginate.wolframalpha.ClientConfiguration;
 import com.github.nginate.wolframalpha.model.Pod;
 import com.github.nginate.wolframalpha.model.QueryResult;
 import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
 import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
 import com.github.nginate.wolframalpha.model.selection.Selector;
 import com.github.nginate.wolframalpha.retrofit.BooleanTimeout;
-import com.github.nginate.wolframalpha.retrofit.PayloadAdapter;
-import com.github.nginate.wolframalpha.retrofit.interceptor.DocumentedErrorsInterceptor;
-import com.github.nginate.wolframalpha.retrofit.interceptor.LoggingInterceptor;
-import lombok.SneakyThrows;
-import okhttp3.HttpUrl;
-import okhttp3.OkHttpClient;
-import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
+import com.github.nginate.wolframalpha.retrofit.GenerateClient;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
 
-import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
-
-import static java.lang.String.format;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The API allows clients to submit free-form queries similar to the queries one might enter at the Wolfram|Alpha
@@ -38,6 +33,7 @@ import static java.lang.String.format;
  * location string, you might also want to include a default latitude/longitude location in case the given string is
  * invalid.
  */
+@GenerateClient
 public interface FullResultsApi {
 
     /**
@@ -49,24 +45,12 @@ public interface FullResultsApi {
      *
      * @param asyncPodUri URL for async resource loading
      * @return single POD, loaded by provided url
+     * @deprecated loads pod with {@link ClientConfiguration#defaults() default} http client no matter which
+     * configuration this client was built with. Use {@link AsyncPodLoader#loadPod(String)} instead
      */
-    @SneakyThrows
     @Deprecated
     default Pod loadPodAsync(String asyncPodUri) {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(new LoggingInterceptor())
-                .addInterceptor(new DocumentedErrorsInterceptor())
-                .build();
-
-        HttpUrl httpUrl = HttpUrl.parse(asyncPodUri);
-        return new Retrofit.Builder()
-                .baseUrl(format("%s://%s/", httpUrl.scheme(), httpUrl.host()))
-                .client(client)
-                .addConverterFactory(JacksonConverterFactory.create())
-                .addCallAdapterFactory(new PayloadAdapter())
-                .build()
-                .create(AsyncPodApi.class)
-                .getAsyncPod(new URL(asyncPodUri).getQuery().substring(3));
+        return ClientConfiguration.defaults().getAsyncPodLoader().loadPod(asyncPodUri);
     }
 
     /**
@@ -221,6 +205,10 @@ public interface FullResultsApi {
      * website, and for the computed results to be returned in a variety of formats. It is implemented in a standard
      * REST protocol using HTTP GET requests. Each result is returned as a descriptive XML structure wrapping the
      * requested content format.
+     * <p>
+     * Response is requested in client default format: this method delegates to {@link #getFullResults(String, String,
+     * List, List, String, GeoCoordinates, String, List, Float, Float, Float, Float, Float, Float, List, List, List,
+     * List, List, ResultType)} with no output, so implementations only need to override that one.
      *
      * @param input          URL-encoded text specifying the input string. Queries without an input value will fail
      * @param appId          An ID provided by Wolfram Research that identifies the application or organization making
@@ -292,6 +280,38 @@ public interface FullResultsApi {
      * @return query result
      * @see QueryResult
      */
+    default QueryResult getFullResults(String input,
+                                       String appId,
+                                       List<ResultFormat> formats,
+                                       List<String> assumptions,
+                                       String location,
+                                       GeoCoordinates latlong,
+                                       String ip,
+                                       List<String> podStates,
+                                       Float async,
+                                       Float scantimeout,
+                                       Float podtimeout,
+                                       Float formattimeout,
+                                       Float parsetimeout,
+                                       Float totaltimeout,
+                                       List<String> includedPodIds,
+                                       List<String> excludedPodIds,
+                                       List<String> podTitles,
+                                       List<Integer> podIndexes,
+                                       List<String> scanners) {
+        return getFullResults(input, appId, formats, assumptions, location, latlong, ip, podStates, async,
+                scantimeout, podtimeout, formattimeout, parsetimeout, totaltimeout, includedPodIds, excludedPodIds,
+                podTitles, podIndexes, scanners, null);
+    }
+
+    /**
+     * Full results request with explicit response format. See {@link #getFullResults(String, String, List, List,
+     * String, GeoCoordinates, String, List, Float, Float, Float, Float, Float, Float, List, List, List, List, List)}
+     * for other parameters description. Both formats are read into the same model.
+     *
+     * @param output response format, null to use client default (see {@link ClientConfiguration#getResultType()})
+     * @return query result
+     */
     @GET("/v2/query")
     QueryResult getFullResults(@Query("input") String input,
                                @Query("appid") String appId,
@@ -312,14 +332,36 @@ public interface FullResultsApi {
                                @Query("excludepodid") List<String> excludedPodIds,
                                @Query("podtitle") List<String> podTitles,
                                @Query("podindex") List<Integer> podIndexes,
-                               @Query("scanner") List<String> scanners);
-
+                               @Query("scanner") List<String> scanners,
+                               @Query("output") ResultType output);
 
     /**
-     * Helper API to wrap dynamic pod retrieval by parsing async url and building special client per each unique URL
+     * Helper API to wrap dynamic pod retrieval by parsing async url. Bound to particular server by {@link
+     * AsyncPodLoader}
      */
     interface AsyncPodApi {
+        /**
+         * @param id encoded value of async link id parameter
+         * @return single POD, loaded by provided id
+         * @deprecated loses server specific parameters of async link. Use {@link #getAsyncPod(Map)} with all of them,
+         * e.g. through {@link AsyncPodLoader#loadPod(String)}
+         */
+        @Deprecated
         @GET("api/v2/asyncPod.jsp")
         Pod getAsyncPod(@Query(value = "id", encoded = true) String id);
+
+        /**
+         * @param parameters all query parameters of async link, including pod id and server specific ones
+         * @return single POD, loaded by provided parameters
+         */
+        @GET("api/v2/asyncPod.jsp")
+        Pod getAsyncPod(@QueryMap Map<String, String> parameters);
+
+        /**
+         * @param parameters all query parameters of async link, including pod id and server specific ones
+         * @return future POD, loaded by provided parameters without blocking caller thread
+         */
+        @GET("api/v2/asyncPod.jsp")
+        CompletableFuture<Pod> getAsyncPodFuture(@QueryMap Map<String, String> parameters);
     }
 }
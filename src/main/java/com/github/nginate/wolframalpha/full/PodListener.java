@@ -0,0 +1,58 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+
+import java.time.Duration;
+
+/**
+ * Receives pods of a single query as soon as they are available. Methods are called from http client threads, one at
+ * a time, in the following order:
+ * <ol>
+ * <li>{@link #onQueryResult(QueryResult)} followed by {@link #onPod(int, Pod)} for every synchronous pod</li>
+ * <li>{@link #onPod(int, Pod)} or {@link #onPodFailed(int, Pod, Throwable)} for every async pod as it is loaded</li>
+ * <li>{@link #onComplete(AsyncPodResolution, Duration, Duration)}</li>
+ * </ol>
+ * If query itself fails, only {@link #onError(Throwable)} is called. All methods do nothing by default.
+ *
+ * @see ProgressivePodPublisher
+ */
+public interface PodListener {
+    PodListener NONE = new PodListener() {
+    };
+
+    /**
+     * @param queryResult query result as it was received, with async pods still being links
+     */
+    default void onQueryResult(QueryResult queryResult) {
+    }
+
+    /**
+     * @param index index of pod in {@link QueryResult#getPods() query result pods}
+     * @param pod   loaded pod
+     */
+    default void onPod(int index, Pod pod) {
+    }
+
+    /**
+     * @param index index of pod in {@link QueryResult#getPods() query result pods}
+     * @param pod   pod with async link that failed to load
+     * @param cause loading error, {@link java.util.concurrent.TimeoutException} if pod was not loaded before deadline
+     */
+    default void onPodFailed(int index, Pod pod, Throwable cause) {
+    }
+
+    /**
+     * @param resolution     query result with all loaded pods and pods that failed to load
+     * @param initialLatency time until query result with synchronous pods was received
+     * @param totalLatency   time until all async pods were loaded or failed
+     */
+    default void onComplete(AsyncPodResolution resolution, Duration initialLatency, Duration totalLatency) {
+    }
+
+    /**
+     * @param cause query error
+     */
+    default void onError(Throwable cause) {
+    }
+}
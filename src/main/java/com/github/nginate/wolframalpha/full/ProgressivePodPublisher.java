@@ -0,0 +1,80 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.github.nginate.wolframalpha.full.AsyncPodResolver.notifyListener;
+
+/**
+ * Delivers pods of a query to {@link PodListener} as soon as they are available, so the first pods could be shown
+ * while slower async pods are still being computed:
+ * <pre>
+ *     ProgressivePodPublisher publisher = new ProgressivePodPublisher(AsyncPodResolver.defaults());
+ *     publisher.publish(ClientFactory.asyncFullResultsApi().withCustomSelection()
+ *             .usingAsyncTimeout(0.5f)
+ *             .getResultsAsync("weather in London", appId), listener);
+ * </pre>
+ * Synchronous pods are delivered right after query result is parsed, async ones as their loading completes. Listener
+ * exceptions are logged and do not stop delivery of remaining pods.
+ */
+public class ProgressivePodPublisher {
+    private final AsyncPodResolver resolver;
+
+    /**
+     * @param resolver resolver used to load async pods
+     */
+    public ProgressivePodPublisher(AsyncPodResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Deliver pods of query result to listener. Query should be already started, e.g. with {@link
+     * AsyncFullResultsApi}; latencies reported to listener are measured from this method call.
+     *
+     * @param query    future query result
+     * @param listener pods listener
+     * @return future resolution, completed after {@link PodListener#onComplete(AsyncPodResolution, Duration,
+     * Duration)} is called
+     */
+    public CompletableFuture<AsyncPodResolution> publish(CompletableFuture<QueryResult> query,
+                                                         PodListener listener) {
+        long start = System.nanoTime();
+        return query
+                .whenComplete((queryResult, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        notifyListener(() -> listener.onError(cause));
+                    }
+                })
+                .thenCompose(queryResult -> {
+                    Duration initialLatency = Duration.ofNanos(System.nanoTime() - start);
+                    publishInitialPods(queryResult, listener);
+                    return resolver.resolveAsync(queryResult, listener)
+                            .thenApply(resolution -> {
+                                Duration totalLatency = Duration.ofNanos(System.nanoTime() - start);
+                                notifyListener(() -> listener.onComplete(resolution, initialLatency, totalLatency));
+                                return resolution;
+                            });
+                });
+    }
+
+    private static void publishInitialPods(QueryResult queryResult, PodListener listener) {
+        notifyListener(() -> listener.onQueryResult(queryResult));
+        List<Pod> pods = queryResult.getPods();
+        if (pods == null) {
+            return;
+        }
+        for (int i = 0; i < pods.size(); i++) {
+            Pod pod = pods.get(i);
+            if (pod.getAsync() == null) {
+                int index = i;
+                notifyListener(() -> listener.onPod(index, pod));
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.nginate.wolframalpha.hedging;
+
+import lombok.SneakyThrows;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call sending a duplicate (hedge) of original request if there is no response after {@link HedgingPolicy#getDelay()
+ * delay}. The first successful response wins and the other call is cancelled. Failure is reported only when both
+ * calls failed, or original one failed before hedge was sent.
+ *
+ * @param <T> response body type
+ */
+class HedgedCall<T> implements Call<T> {
+    private final Call<T> primary;
+    private final HedgingPolicy policy;
+    private final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+
+    private boolean executed;
+    private volatile boolean canceled;
+    private long start;
+    private Call<T> hedge;
+    private ScheduledFuture<?> hedgeTask;
+    private int running;
+    private boolean completed;
+
+    HedgedCall(Call<T> primary, HedgingPolicy policy) {
+        this.primary = primary;
+        this.policy = policy;
+    }
+
+    @Override
+    @SneakyThrows
+    public Response<T> execute() throws IOException {
+        start();
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        start();
+        result.whenComplete((response, e) -> {
+            if (e == null) {
+                callback.onResponse(this, response);
+            } else {
+                callback.onFailure(this, e);
+            }
+        });
+    }
+
+    private synchronized void start() {
+        if (executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        executed = true;
+        start = System.nanoTime();
+        policy.onRequest();
+        running = 1;
+        primary.enqueue(new AttemptCallback(false));
+        hedgeTask = HedgeScheduler.INSTANCE.schedule(this::sendHedge, policy.getDelay().toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void sendHedge() {
+        if (completed || canceled || !policy.tryHedge()) {
+            return;
+        }
+        hedge = primary.clone();
+        running++;
+        hedge.enqueue(new AttemptCallback(true));
+    }
+
+    private void onResponse(Response<T> response, boolean fromHedge) {
+        Call<T> loser;
+        synchronized (this) {
+            running--;
+            if (completed || !response.isSuccessful() && running > 0) {
+                return;
+            }
+            completed = true;
+            hedgeTask.cancel(false);
+            loser = fromHedge ? primary : hedge;
+        }
+        if (loser != null) {
+            loser.cancel();
+        }
+        if (response.isSuccessful()) {
+            policy.onResponse(System.nanoTime() - start, fromHedge);
+        }
+        result.complete(response);
+    }
+
+    private void onFailure(Throwable error) {
+        synchronized (this) {
+            running--;
+            if (completed || running > 0) {
+                return;
+            }
+            completed = true;
+            hedgeTask.cancel(false);
+        }
+        result.completeExceptionally(error);
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        Call<T> sentHedge;
+        synchronized (this) {
+            if (hedgeTask != null) {
+                hedgeTask.cancel(false);
+            }
+            sentHedge = hedge;
+        }
+        primary.cancel();
+        if (sentHedge != null) {
+            sentHedge.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<T> clone() {
+        return new HedgedCall<>(primary.clone(), policy);
+    }
+
+    @Override
+    public Request request() {
+        return primary.request();
+    }
+
+    private class AttemptCallback implements Callback<T> {
+        private final boolean hedge;
+
+        private AttemptCallback(boolean hedge) {
+            this.hedge = hedge;
+        }
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            HedgedCall.this.onResponse(response, hedge);
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            HedgedCall.this.onFailure(t);
+        }
+    }
+
+    private static class HedgeScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "hedge-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.nginate.wolframalpha.hedging;
+
+import com.github.nginate.wolframalpha.metrics.Histogram;
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when and how often requests are hedged. Hedge delay follows observed latency percentile (p95 by default),
+ * so only the slowest requests get a duplicate; number of hedges is capped with a budget earned by regular requests,
+ * e.g. 5% of traffic. Any value not provided to builder is using its default.
+ * <p>
+ * One policy should be shared by all clients of the same API, as it accumulates latencies and budget.
+ *
+ * @see HedgingShortAnswersApi
+ * @see HedgingSpokenResultsApi
+ */
+public class HedgingPolicy {
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(1);
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+    public static final int DEFAULT_MAX_BURST = 10;
+    private static final int SAMPLES_PER_UPDATE = 100;
+
+    /**
+     * Latency percentile used as hedge delay
+     */
+    @Getter
+    private final double percentile;
+    /**
+     * Max fraction of requests that could be hedged
+     */
+    @Getter
+    private final double maxHedgeRatio;
+    private final double maxBudget;
+    private final boolean fixedDelay;
+
+    private final Histogram latencies = new Histogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private volatile long delayNanos;
+    private double budget;
+
+    /**
+     * @param delay         fixed hedge delay. Default : observed latency percentile
+     * @param initialDelay  hedge delay until enough latencies are observed. Default : 1 second
+     * @param percentile    latency percentile used as hedge delay. Default : 95
+     * @param maxHedgeRatio max fraction of requests that could be hedged. Default : 0.05
+     * @param maxBurst      max number of hedges that could be made at once after a period without them. Default : 10
+     */
+    @Builder
+    private HedgingPolicy(@Nullable Duration delay,
+                          @Nullable Duration initialDelay,
+                          @Nullable Double percentile,
+                          @Nullable Double maxHedgeRatio,
+                          @Nullable Integer maxBurst) {
+        this.fixedDelay = delay != null;
+        this.delayNanos = Optional.ofNullable(delay).orElse(Optional.ofNullable(initialDelay)
+                .orElse(DEFAULT_INITIAL_DELAY)).toNanos();
+        this.percentile = Optional.ofNullable(percentile).orElse(DEFAULT_PERCENTILE);
+        this.maxHedgeRatio = Optional.ofNullable(maxHedgeRatio).orElse(DEFAULT_MAX_HEDGE_RATIO);
+        this.maxBudget = Optional.ofNullable(maxBurst).orElse(DEFAULT_MAX_BURST);
+    }
+
+    /**
+     * @return policy with all the defaults
+     */
+    public static HedgingPolicy defaults() {
+        return HedgingPolicy.builder().build();
+    }
+
+    /**
+     * @return time to wait for response before sending a hedge
+     */
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * Account a new request, earning budget for hedges
+     */
+    void onRequest() {
+        requests.increment();
+        synchronized (this) {
+            budget = Math.min(maxBudget, budget + maxHedgeRatio);
+        }
+    }
+
+    /**
+     * @return true if hedge could be sent, budget is spent in this case
+     */
+    boolean tryHedge() {
+        synchronized (this) {
+            if (budget < 1) {
+                return false;
+            }
+            budget -= 1;
+        }
+        hedges.increment();
+        return true;
+    }
+
+    /**
+     * @param latencyNanos time until successful response
+     * @param hedgeWon     true if response was received by hedge
+     */
+    void onResponse(long latencyNanos, boolean hedgeWon) {
+        if (hedgeWon) {
+            hedgeWins.increment();
+        }
+        if (fixedDelay) {
+            return;
+        }
+        latencies.record(latencyNanos);
+        if (latencies.getCount() >= SAMPLES_PER_UPDATE) {
+            synchronized (latencies) {
+                if (latencies.getCount() >= SAMPLES_PER_UPDATE) {
+                    delayNanos = latencies.snapshot().getValueAtPercentile(percentile);
+                    latencies.reset();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of requests made
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return number of hedges sent
+     */
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return number of requests completed by hedge rather than by original request
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.nginate.wolframalpha.hedging;
+
+import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.shortanswer.ShortAnswersApi;
+import retrofit2.Call;
+
+/**
+ * Short answers API client hedging slow requests according to {@link HedgingPolicy policy}:
+ * <pre>
+ *     ShortAnswersApi client = new HedgingShortAnswersApi(ClientFactory.shortAnswersApi(), HedgingPolicy.defaults());
+ * </pre>
+ */
+public class HedgingShortAnswersApi implements ShortAnswersApi {
+    private final ShortAnswersApi delegate;
+    private final HedgingPolicy policy;
+
+    public HedgingShortAnswersApi(ShortAnswersApi delegate, HedgingPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    @Override
+    public Call<String> getShortAnswer(String literal, String appId, Units units, int timeout) {
+        return new HedgedCall<>(delegate.getShortAnswer(literal, appId, units, timeout), policy);
+    }
+
+    /**
+     * @return hedging policy with requests statistics
+     */
+    public HedgingPolicy getPolicy() {
+        return policy;
+    }
+}
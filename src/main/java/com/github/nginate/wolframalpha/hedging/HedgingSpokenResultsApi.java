@@ -0,0 +1,34 @@
+package com.github.nginate.wolframalpha.hedging;
+
+import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.spoken.SpokenResultsApi;
+import retrofit2.Call;
+
+/**
+ * Spoken results API client hedging slow requests according to {@link HedgingPolicy policy}:
+ * <pre>
+ *     SpokenResultsApi client = new HedgingSpokenResultsApi(ClientFactory.spokenResultsApi(),
+ *             HedgingPolicy.defaults());
+ * </pre>
+ */
+public class HedgingSpokenResultsApi implements SpokenResultsApi {
+    private final SpokenResultsApi delegate;
+    private final HedgingPolicy policy;
+
+    public HedgingSpokenResultsApi(SpokenResultsApi delegate, HedgingPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    @Override
+    public Call<String> getSpokenResults(String literal, String appId, Units units, int timeout) {
+        return new HedgedCall<>(delegate.getSpokenResults(literal, appId, units, timeout), policy);
+    }
+
+    /**
+     * @return hedging policy with requests statistics
+     */
+    public HedgingPolicy getPolicy() {
+        return policy;
+    }
+}
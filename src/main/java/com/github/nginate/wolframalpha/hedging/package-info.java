@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.hedging;
+
+import javax.annotation.ParametersAreNonnullByDefault;
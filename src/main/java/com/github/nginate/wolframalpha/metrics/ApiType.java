@@ -0,0 +1,34 @@
+package com.github.nginate.wolframalpha.metrics;
+
+import okhttp3.HttpUrl;
+
+/**
+ * API the request was made to, detected by url path
+ */
+public enum ApiType {
+    SIMPLE, SPOKEN, SHORT, FULL, ASYNC_POD, OTHER;
+
+    /**
+     * @param url request url
+     * @return API type
+     */
+    public static ApiType of(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.endsWith("/v2/query")) {
+            return FULL;
+        }
+        if (path.endsWith("/v1/result")) {
+            return SHORT;
+        }
+        if (path.endsWith("/v1/spoken")) {
+            return SPOKEN;
+        }
+        if (path.endsWith("/v1/simple")) {
+            return SIMPLE;
+        }
+        if (path.endsWith("/asyncPod.jsp")) {
+            return ASYNC_POD;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.nginate.wolframalpha.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with log-linear buckets: values below 16 are counted exactly, larger
+ * ones in 8 buckets per power of two, so reported percentiles are at most 12.5% above the real value. Memory footprint
+ * is fixed (under 4 KB) no matter how many values are recorded.
+ */
+public class Histogram {
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BITS = 4;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucket(recorded));
+        count.increment();
+        sum.add(recorded);
+        max.accumulate(recorded);
+    }
+
+    /**
+     * @return point in time copy of recorded values
+     */
+    public HistogramSnapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = counts.get(i);
+            total += buckets[i];
+        }
+        return new HistogramSnapshot(buckets, total, sum.sum(), max.get());
+    }
+
+    /**
+     * Reset all the counters. Values recorded concurrently with reset could be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    static int bucket(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_BITS;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
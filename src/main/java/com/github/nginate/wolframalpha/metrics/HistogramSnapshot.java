@@ -0,0 +1,61 @@
+package com.github.nginate.wolframalpha.metrics;
+
+/**
+ * Immutable copy of {@link Histogram} state
+ */
+public class HistogramSnapshot {
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] buckets, long count, long sum, long max) {
+        this.buckets = buckets;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @param percentile percentile in range [0, 100], e.g. 99.9
+     * @return value that given percent of recorded values are not exceeding, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be in range [0, 100] : " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(Histogram.upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return mean of recorded values, 0 if nothing was recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1f, p50=%d, p90=%d, p99=%d, max=%d", count, getMean(),
+                getValueAtPercentile(50), getValueAtPercentile(90), getValueAtPercentile(99), max);
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.nginate.wolframalpha.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps a {@link Histogram} for every metric and API, so percentiles could be read directly or periodically exported
+ * with {@link #forEach(Visitor)}:
+ * <pre>
+ *     InMemoryMetrics metrics = (InMemoryMetrics) configuration.getMetricsRecorder();
+ *     metrics.forEach((metric, api, snapshot) -&gt;
+ *             log.info("{} [{}] : {}", metric.getName(), api, snapshot));
+ * </pre>
+ * All the histograms are allocated upfront, so recording is lock and allocation free.
+ */
+public class InMemoryMetrics implements MetricsRecorder {
+    private final Map<Metric, Map<ApiType, Histogram>> histograms = new EnumMap<>(Metric.class);
+
+    public InMemoryMetrics() {
+        for (Metric metric : Metric.values()) {
+            Map<ApiType, Histogram> byApi = new EnumMap<>(ApiType.class);
+            for (ApiType api : ApiType.values()) {
+                byApi.put(api, new Histogram());
+            }
+            histograms.put(metric, byApi);
+        }
+    }
+
+    @Override
+    public void record(Metric metric, ApiType api, long value) {
+        getHistogram(metric, api).record(value);
+    }
+
+    /**
+     * @param metric measured value type
+     * @param api    API
+     * @return histogram of measurements for API
+     */
+    public Histogram getHistogram(Metric metric, ApiType api) {
+        return histograms.get(metric).get(api);
+    }
+
+    /**
+     * Visit snapshots of all non-empty histograms
+     *
+     * @param visitor snapshot consumer, e.g. exporter
+     */
+    public void forEach(Visitor visitor) {
+        histograms.forEach((metric, byApi) -> byApi.forEach((api, histogram) -> {
+            if (histogram.getCount() > 0) {
+                visitor.visit(metric, api, histogram.snapshot());
+            }
+        }));
+    }
+
+    /**
+     * Reset all histograms, e.g. after export to report measurements per export interval
+     */
+    public void reset() {
+        histograms.values().forEach(byApi -> byApi.values().forEach(Histogram::reset));
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(Metric metric, ApiType api, HistogramSnapshot snapshot);
+    }
+}
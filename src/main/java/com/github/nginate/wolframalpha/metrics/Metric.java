@@ -0,0 +1,66 @@
+package com.github.nginate.wolframalpha.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Recorded measurements. Durations are recorded in nanoseconds, sizes in bytes.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Metric {
+    /**
+     * Host name resolution, recorded only when connection is opened
+     */
+    DNS("wolframalpha.client.dns", Unit.NANOSECONDS),
+    /**
+     * TCP connection including TLS handshake, recorded only when connection is opened
+     */
+    CONNECT("wolframalpha.client.connect", Unit.NANOSECONDS),
+    /**
+     * TLS handshake, recorded only when connection is opened
+     */
+    TLS("wolframalpha.client.tls", Unit.NANOSECONDS),
+    /**
+     * Time from request sent to response headers received
+     */
+    TIME_TO_FIRST_BYTE("wolframalpha.client.ttfb", Unit.NANOSECONDS),
+    /**
+     * Time from response headers received to response body fully read
+     */
+    BODY("wolframalpha.client.body", Unit.NANOSECONDS),
+    /**
+     * Whole call from start to the end of response body
+     */
+    LATENCY("wolframalpha.client.latency", Unit.NANOSECONDS),
+    /**
+     * Response body size
+     */
+    RESPONSE_SIZE("wolframalpha.client.response.size", Unit.BYTES),
+    /**
+     * Response conversion to model, including reading of not yet received body
+     */
+    PARSE("wolframalpha.client.parse", Unit.NANOSECONDS),
+    /**
+     * Server side query processing time reported in query result 'timing' attribute
+     */
+    SERVER_TIMING("wolframalpha.server.timing", Unit.NANOSECONDS),
+    /**
+     * Server side input parsing time reported in query result 'parsetiming' attribute
+     */
+    SERVER_PARSE_TIMING("wolframalpha.server.parsetiming", Unit.NANOSECONDS),
+    /**
+     * Time request was waiting for client side rate limit permit
+     */
+    RATE_LIMIT_WAIT("wolframalpha.client.ratelimit.wait", Unit.NANOSECONDS);
+
+    /**
+     * Name to use when exporting to metrics registries
+     */
+    private final String name;
+    private final Unit unit;
+
+    public enum Unit {
+        NANOSECONDS, BYTES
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.nginate.wolframalpha.metrics;
+
+/**
+ * Receives every measurement made by client. Implement it to export measurements to metrics library of choice, e.g.
+ * for Micrometer:
+ * <pre>
+ *     MetricsRecorder recorder = (metric, api, value) -&gt; DistributionSummary.builder(metric.getName())
+ *             .tag("api", api.name().toLowerCase())
+ *             .register(registry)
+ *             .record(value);
+ * </pre>
+ * Called from http client threads, so implementations should be thread safe and fast.
+ *
+ * @see InMemoryMetrics
+ */
+@FunctionalInterface
+public interface MetricsRecorder {
+    MetricsRecorder NONE = (metric, api, value) -> {
+    };
+
+    /**
+     * @param metric measured value type
+     * @param api    API measurement belongs to
+     * @param value  measured value in metric units
+     */
+    void record(Metric metric, ApiType api, long value);
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.metrics;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -1,5 +1,8 @@
 package com.github.nginate.wolframalpha.model;
 
+/**
+ * Format of Full results API response. Both formats are read into the same model.
+ */
 public enum ResultType {
     XML, JSON
 }
@@ -1,24 +1,29 @@
 package com.github.nginate.wolframalpha.model.selection;
 
+import com.github.nginate.wolframalpha.full.AsyncFullResultsApi;
 import com.github.nginate.wolframalpha.full.FullResultsApi;
 import com.github.nginate.wolframalpha.model.QueryResult;
 import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
 import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
-import lombok.RequiredArgsConstructor;
 import lombok.Synchronized;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Request builder, allowing any combination of non-default values for API request parameters. Any request build process
- * should be terminated by calling {@link Selector#getResults(String, String)}
+ * should be terminated by calling {@link Selector#getResults(String, String)} for selectors built by {@link
+ * FullResultsApi} or {@link Selector#getResultsAsync(String, String)} for selectors built by {@link
+ * AsyncFullResultsApi}
  *
  * @see FullResultsApi
+ * @see AsyncFullResultsApi
  */
-@RequiredArgsConstructor
 public class Selector {
     private final FullResultsApi client;
+    private final AsyncFullResultsApi asyncClient;
     private List<ResultFormat> formats;
     private List<String> assumptions;
     private String location;
@@ -36,6 +41,17 @@ public class Selector {
     private List<String> podTitles;
     private List<Integer> indexes;
     private List<String> scanners;
+    private ResultType resultType;
+
+    public Selector(FullResultsApi client) {
+        this.client = client;
+        this.asyncClient = null;
+    }
+
+    public Selector(AsyncFullResultsApi asyncClient) {
+        this.client = null;
+        this.asyncClient = asyncClient;
+    }
 
     /**
      * Include result format for API response. Default : Return basic text and image formats ("plaintext,image").
@@ -289,6 +305,17 @@ public class Selector {
         return this;
     }
 
+    /**
+     * Request response in given format instead of client default one. Both formats are read into the same model.
+     *
+     * @param resultType response format
+     * @return same selector instance
+     */
+    public Selector withResultType(ResultType resultType) {
+        this.resultType = resultType;
+        return this;
+    }
+
     /**
      * Terminal operation that is calling API with all provided request parameters.
      *
@@ -300,8 +327,40 @@ public class Selector {
      * Float, Float, Float, Float, Float, List, List, List, List, List)
      */
     public QueryResult getResults(String input, String appId) {
+        if (client == null) {
+            throw new IllegalStateException("Selector is built by async client, use getResultsAsync instead");
+        }
+        if (resultType != null) {
+            return client.getFullResults(input, appId, formats, assumptions, location, coordinates, ip, podStates,
+                    asyncTimeout, scanTimeout, podTimeout, formatTimeout, parseTimeout, totalTimeout, includedPods,
+                    excludedPods, podTitles, indexes, scanners, resultType);
+        }
         return client.getFullResults(input, appId, formats, assumptions, location, coordinates, ip, podStates,
                 asyncTimeout, scanTimeout, podTimeout, formatTimeout, parseTimeout, totalTimeout, includedPods,
                 excludedPods, podTitles, indexes, scanners);
     }
+
+    /**
+     * Non-blocking terminal operation that is calling API with all provided request parameters.
+     *
+     * @param input URL-encoded text specifying the input string. Queries without an input value will fail
+     * @param appId An ID provided by Wolfram Research that identifies the application or organization making the
+     *              request
+     * @return future {@link QueryResult response}, cancelling it cancels http call
+     * @see AsyncFullResultsApi#getFullResults(String, String, List, List, String, GeoCoordinates, String, List, Float,
+     * Float, Float, Float, Float, Float, List, List, List, List, List)
+     */
+    public CompletableFuture<QueryResult> getResultsAsync(String input, String appId) {
+        if (asyncClient == null) {
+            throw new IllegalStateException("Selector is built by blocking client, use getResults instead");
+        }
+        if (resultType != null) {
+            return asyncClient.getFullResults(input, appId, formats, assumptions, location, coordinates, ip,
+                    podStates, asyncTimeout, scanTimeout, podTimeout, formatTimeout, parseTimeout, totalTimeout,
+                    includedPods, excludedPods, podTitles, indexes, scanners, resultType);
+        }
+        return asyncClient.getFullResults(input, appId, formats, assumptions, location, coordinates, ip, podStates,
+                asyncTimeout, scanTimeout, podTimeout, formatTimeout, parseTimeout, totalTimeout, includedPods,
+                excludedPods, podTitles, indexes, scanners);
+    }
 }
@@ -0,0 +1,65 @@
+package com.github.nginate.wolframalpha.ratelimit;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Client side rate limit applied to every app id separately. Any value not provided to builder is using its default.
+ * <pre>
+ *     RateLimitConfiguration rateLimit = RateLimitConfiguration.builder()
+ *             .permitsPerSecond(5.0)
+ *             .burst(20)
+ *             .maxWait(Duration.ZERO) // fail fast
+ *             .build();
+ * </pre>
+ *
+ * @see com.github.nginate.wolframalpha.retrofit.interceptor.RateLimitingInterceptor
+ */
+@Getter
+public class RateLimitConfiguration {
+    public static final double DEFAULT_PERMITS_PER_SECOND = 10;
+    public static final int DEFAULT_BURST = 10;
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    /**
+     * Sustained number of requests per second per app id
+     */
+    private final double permitsPerSecond;
+    /**
+     * Number of requests per app id that could be made at once after a period of inactivity
+     */
+    private final int burst;
+    /**
+     * Max time request could wait for a permit before it fails. Zero means fail fast
+     */
+    private final Duration maxWait;
+
+    /**
+     * @param permitsPerSecond sustained number of requests per second per app id. Default : 10
+     * @param burst            number of requests per app id that could be made at once. Default : 10
+     * @param maxWait          max time to wait for a permit, zero to fail immediately. Default : 30 seconds
+     * @throws IllegalArgumentException if rate is not positive, burst is less than 1 or max wait is negative
+     */
+    @Builder
+    private RateLimitConfiguration(@Nullable Double permitsPerSecond, @Nullable Integer burst,
+                                   @Nullable Duration maxWait) {
+        this.permitsPerSecond = Optional.ofNullable(permitsPerSecond).orElse(DEFAULT_PERMITS_PER_SECOND);
+        this.burst = Optional.ofNullable(burst).orElse(DEFAULT_BURST);
+        this.maxWait = Optional.ofNullable(maxWait).orElse(DEFAULT_MAX_WAIT);
+        if (this.permitsPerSecond <= 0 || this.burst < 1 || this.maxWait.isNegative()) {
+            throw new IllegalArgumentException(String.format("Invalid rate %s, burst %d or max wait %s",
+                    this.permitsPerSecond, this.burst, this.maxWait));
+        }
+    }
+
+    /**
+     * @return configuration with all the defaults
+     */
+    public static RateLimitConfiguration defaults() {
+        return RateLimitConfiguration.builder().build();
+    }
+}
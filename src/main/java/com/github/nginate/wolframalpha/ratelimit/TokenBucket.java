@@ -0,0 +1,58 @@
+package com.github.nginate.wolframalpha.ratelimit;
+
+/**
+ * Token bucket refilled at constant rate up to its capacity. Tokens are reserved ahead of time: caller that has to
+ * wait takes its token immediately and is told how long to wait, so concurrent callers are served in the order they
+ * came and waiting happens outside of the lock.
+ */
+public class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param tokensPerSecond sustained rate
+     * @param capacity        max number of tokens, i.e. max burst
+     * @param now             current {@link System#nanoTime() time}
+     */
+    public TokenBucket(double tokensPerSecond, int capacity, long now) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException(String.format("Invalid rate %s or capacity %d", tokensPerSecond,
+                    capacity));
+        }
+        this.tokensPerNano = tokensPerSecond / 1e9;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Take single token if it will be available within max wait time
+     *
+     * @param now     current {@link System#nanoTime() time}
+     * @param maxWait max time in nanoseconds caller agrees to wait
+     * @return time in nanoseconds to wait before using taken token, or -1 if no token was taken as wait time would
+     * exceed max wait
+     */
+    public synchronized long reserve(long now, long maxWait) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+        long wait = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (wait > maxWait) {
+            return -1;
+        }
+        tokens -= 1;
+        return wait;
+    }
+
+    /**
+     * Give back token taken by {@link #reserve(long, long)} but not used, e.g. when caller stopped waiting for it
+     */
+    public synchronized void release() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.ratelimit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,125 @@
+package com.github.nginate.wolframalpha.resilience;
+
+/**
+ * Count based circuit breaker. While closed, outcomes of the most recent calls are kept and breaker opens once their
+ * failure rate reaches threshold. Open breaker rejects all calls until open duration passes, then lets a single probe
+ * call through (half-open): its success closes the breaker, failure opens it again.
+ */
+public class CircuitBreaker {
+    private final CircuitBreakerConfiguration configuration;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int position;
+    private int failures;
+    private long openedAt;
+    private boolean probing;
+
+    public CircuitBreaker(CircuitBreakerConfiguration configuration) {
+        this.configuration = configuration;
+        this.outcomes = new boolean[configuration.getWindow()];
+    }
+
+    /**
+     * @param now current {@link System#nanoTime() time}
+     * @return true if call is permitted, every permitted call should be followed by {@link #onSuccess()} or {@link
+     * #onFailure(long)}
+     */
+    public synchronized boolean tryAcquire(long now) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - openedAt < configuration.getOpenDuration().toNanos()) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probing = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (probing) {
+                    return false;
+                }
+                probing = true;
+                return true;
+        }
+    }
+
+    /**
+     * Record successful call
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * Record failed call
+     *
+     * @param now current {@link System#nanoTime() time}
+     */
+    public synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        record(true);
+        if (recorded >= configuration.getMinCalls()
+                && failures >= configuration.getFailureRateThreshold() * recorded) {
+            open(now);
+        }
+    }
+
+    /**
+     * Release permit of a call that neither succeeded nor failed, e.g. cancelled
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+    }
+
+    private void open(long now) {
+        reset(State.OPEN);
+        openedAt = now;
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        probing = false;
+        recorded = 0;
+        position = 0;
+        failures = 0;
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.nginate.wolframalpha.resilience;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Circuit breaker settings. Any value not provided to builder is using its default.
+ *
+ * @see CircuitBreaker
+ */
+@Getter
+public class CircuitBreakerConfiguration {
+    public static final int DEFAULT_WINDOW = 20;
+    public static final int DEFAULT_MIN_CALLS = 10;
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * Number of the most recent calls failure rate is computed from
+     */
+    private final int window;
+    /**
+     * Min number of calls in window before breaker could open
+     */
+    private final int minCalls;
+    /**
+     * Failure rate opening the breaker
+     */
+    private final double failureRateThreshold;
+    /**
+     * Time breaker stays open before letting a probe call through
+     */
+    private final Duration openDuration;
+
+    /**
+     * @param window               number of the most recent calls failure rate is computed from. Default : 20
+     * @param minCalls             min number of calls before breaker could open. Default : 10
+     * @param failureRateThreshold failure rate opening the breaker. Default : 0.5
+     * @param openDuration         time breaker stays open before probing. Default : 30 seconds
+     */
+    @Builder
+    private CircuitBreakerConfiguration(@Nullable Integer window,
+                                        @Nullable Integer minCalls,
+                                        @Nullable Double failureRateThreshold,
+                                        @Nullable Duration openDuration) {
+        this.window = Optional.ofNullable(window).orElse(DEFAULT_WINDOW);
+        this.minCalls = Optional.ofNullable(minCalls).orElse(DEFAULT_MIN_CALLS);
+        this.failureRateThreshold = Optional.ofNullable(failureRateThreshold).orElse(DEFAULT_FAILURE_RATE_THRESHOLD);
+        this.openDuration = Optional.ofNullable(openDuration).orElse(DEFAULT_OPEN_DURATION);
+    }
+
+    /**
+     * @return configuration with all the defaults
+     */
+    public static CircuitBreakerConfiguration defaults() {
+        return CircuitBreakerConfiguration.builder().build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.nginate.wolframalpha.resilience;
+
+/**
+ * Caps number of retries with a fraction of requests. Every request earns {@code ratio} of retry credit, every retry
+ * spends one, so under sustained failures retries are not multiplying load on already struggling server. Credit is
+ * capped with {@code maxBurst}.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final int maxBurst;
+
+    private double credit;
+
+    public RetryBudget(double ratio, int maxBurst) {
+        this.ratio = ratio;
+        this.maxBurst = maxBurst;
+        this.credit = maxBurst;
+    }
+
+    /**
+     * Earn retry credit for a request
+     */
+    public synchronized void onRequest() {
+        credit = Math.min(maxBurst, credit + ratio);
+    }
+
+    /**
+     * @return true if there is credit for one more retry, credit is spent then
+     */
+    public synchronized boolean tryRetry() {
+        if (credit < 1) {
+            return false;
+        }
+        credit--;
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.nginate.wolframalpha.resilience;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Retry settings. Any value not provided to builder is using its default.
+ *
+ * @see com.github.nginate.wolframalpha.retrofit.interceptor.RetryInterceptor
+ */
+@Getter
+public class RetryConfiguration {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(200);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+    public static final double DEFAULT_BUDGET_RATIO = 0.2;
+    public static final int DEFAULT_MAX_BURST = 10;
+
+    /**
+     * Max number of attempts per request, including the first one
+     */
+    private final int maxAttempts;
+    /**
+     * Backoff before the first retry, doubled for every next one
+     */
+    private final Duration baseBackoff;
+    /**
+     * Backoff upper bound
+     */
+    private final Duration maxBackoff;
+    /**
+     * Max number of retries relative to number of requests
+     */
+    private final double budgetRatio;
+    /**
+     * Max number of retries that could be made at once after a period without them
+     */
+    private final int maxBurst;
+
+    /**
+     * @param maxAttempts max number of attempts per request, including the first one. Default : 3
+     * @param baseBackoff backoff before the first retry, doubled for every next one. Default : 200 milliseconds
+     * @param maxBackoff  backoff upper bound. Default : 5 seconds
+     * @param budgetRatio max number of retries relative to number of requests. Default : 0.2
+     * @param maxBurst    max number of retries that could be made at once. Default : 10
+     */
+    @Builder
+    private RetryConfiguration(@Nullable Integer maxAttempts,
+                               @Nullable Duration baseBackoff,
+                               @Nullable Duration maxBackoff,
+                               @Nullable Double budgetRatio,
+                               @Nullable Integer maxBurst) {
+        this.maxAttempts = Optional.ofNullable(maxAttempts).orElse(DEFAULT_MAX_ATTEMPTS);
+        this.baseBackoff = Optional.ofNullable(baseBackoff).orElse(DEFAULT_BASE_BACKOFF);
+        this.maxBackoff = Optional.ofNullable(maxBackoff).orElse(DEFAULT_MAX_BACKOFF);
+        this.budgetRatio = Optional.ofNullable(budgetRatio).orElse(DEFAULT_BUDGET_RATIO);
+        this.maxBurst = Optional.ofNullable(maxBurst).orElse(DEFAULT_MAX_BURST);
+    }
+
+    /**
+     * @return configuration with all the defaults
+     */
+    public static RetryConfiguration defaults() {
+        return RetryConfiguration.builder().build();
+    }
+}
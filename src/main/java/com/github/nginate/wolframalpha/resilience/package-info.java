@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.resilience;
+
+import javax.annotation.ParametersAreNonnullByDefault;
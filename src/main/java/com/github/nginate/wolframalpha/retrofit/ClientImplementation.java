@@ -0,0 +1,18 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+/**
+ * Implementation of API client interfaces built by {@link com.github.nginate.wolframalpha.ClientFactory}
+ */
+public enum ClientImplementation {
+    /**
+     * Dynamic proxy created by {@link retrofit2.Retrofit#create(Class)}, looking up service method of every call by
+     * reflection and building request with its parameter handlers
+     */
+    RETROFIT,
+    /**
+     * Implementation generated at compile time from API annotations, see {@link GenerateClient}. Builds request urls
+     * directly with converters resolved once per client, so first calls are not paying for annotations parsing and
+     * calls are allocating less.
+     */
+    GENERATED
+}
@@ -0,0 +1,90 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.nginate.wolframalpha.util.RetrofitUtil.getRawType;
+
+/**
+ * Adapter for APIs returning {@link CompletableFuture} of response payload. Requests are executed by http client
+ * dispatcher, so caller thread is not blocked while waiting for response. Cancelling returned future cancels http
+ * call.
+ */
+public class CompletableFutureAdapter extends CallAdapter.Factory {
+    @Nullable
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != CompletableFuture.class) {
+            return null;
+        }
+        if (!(returnType instanceof ParameterizedType)) {
+            throw new IllegalStateException("CompletableFuture return type must be parameterized");
+        }
+        Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        return new CallAdapter<Object, CompletableFuture<Object>>() {
+            @Override
+            public Type responseType() {
+                return responseType;
+            }
+
+            @Override
+            public CompletableFuture<Object> adapt(Call<Object> call) {
+                return toFuture(call);
+            }
+        };
+    }
+
+    /**
+     * Enqueue call and provide its result as future
+     *
+     * @param call call to execute
+     * @param <T>  response payload type
+     * @return future completed with response payload or failed with original exception
+     */
+    public static <T> CompletableFuture<T> toFuture(Call<T> call) {
+        CallFuture<T> future = new CallFuture<>(call);
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (response.isSuccessful()) {
+                    future.complete(response.body());
+                } else {
+                    future.completeExceptionally(new IllegalStateException(
+                            String.format("Unexpected response : %d %s", response.code(), response.message())));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                future.completeExceptionally(TunneledException.unwrap(t));
+            }
+        });
+        return future;
+    }
+
+    private static class CallFuture<T> extends CompletableFuture<T> {
+        private final Call<T> call;
+
+        private CallFuture(Call<T> call) {
+            this.call = call;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                call.cancel();
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+import lombok.SneakyThrows;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Response;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Call made by API clients generated at compile time (see {@link GenerateClient}) with prepared request and response
+ * converter. Responses are read the same way as Retrofit calls are doing it: error responses are buffered and have no
+ * payload, 204 and 205 responses have null payload, others are converted. Both {@link #execute()} and {@link
+ * #enqueue(Callback)} are reporting original exceptions instead of {@link TunneledException}.
+ *
+ * @param <T> response payload type
+ */
+public class DirectCall<T> implements Call<T> {
+    private final okhttp3.Call.Factory callFactory;
+    private final Request request;
+    private final Converter<ResponseBody, T> responseConverter;
+    private final okhttp3.Call rawCall;
+
+    private DirectCall(okhttp3.Call.Factory callFactory, Request request,
+                       Converter<ResponseBody, T> responseConverter) {
+        this.callFactory = callFactory;
+        this.request = request;
+        this.responseConverter = responseConverter;
+        this.rawCall = callFactory.newCall(request);
+    }
+
+    /**
+     * @param callFactory       http client
+     * @param url               request url
+     * @param responseConverter response payload converter
+     * @param <T>               response payload type
+     * @return GET call of provided url, not executed yet
+     */
+    public static <T> DirectCall<T> get(okhttp3.Call.Factory callFactory, HttpUrl url,
+                                        Converter<ResponseBody, T> responseConverter) {
+        return new DirectCall<>(callFactory, new Request.Builder().url(url).build(), responseConverter);
+    }
+
+    /**
+     * Execute GET call and return its payload, same as {@link PayloadAdapter}
+     *
+     * @param callFactory       http client
+     * @param url               request url
+     * @param responseConverter response payload converter
+     * @param <T>               response payload type
+     * @return response payload or null if response is not successful
+     */
+    @Nullable
+    @SneakyThrows
+    public static <T> T payload(okhttp3.Call.Factory callFactory, HttpUrl url,
+                                Converter<ResponseBody, T> responseConverter) {
+        return get(callFactory, url, responseConverter).execute().body();
+    }
+
+    /**
+     * Enqueue GET call and provide its payload as future, same as {@link CompletableFutureAdapter}
+     *
+     * @param callFactory       http client
+     * @param url               request url
+     * @param responseConverter response payload converter
+     * @param <T>               response payload type
+     * @return future completed with response payload or failed with original exception
+     */
+    public static <T> CompletableFuture<T> future(okhttp3.Call.Factory callFactory, HttpUrl url,
+                                                  Converter<ResponseBody, T> responseConverter) {
+        return CompletableFutureAdapter.toFuture(get(callFactory, url, responseConverter));
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        try {
+            return parseResponse(rawCall.execute());
+        } catch (TunneledException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        rawCall.enqueue(new okhttp3.Callback() {
+            @Override
+            public void onResponse(okhttp3.Call call, okhttp3.Response rawResponse) {
+                Response<T> response;
+                try {
+                    response = parseResponse(rawResponse);
+                } catch (Throwable e) {
+                    callback.onFailure(DirectCall.this, TunneledException.unwrap(e));
+                    return;
+                }
+                callback.onResponse(DirectCall.this, response);
+            }
+
+            @Override
+            public void onFailure(okhttp3.Call call, IOException e) {
+                callback.onFailure(DirectCall.this, TunneledException.unwrap(e));
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return rawCall.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        rawCall.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return rawCall.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<T> clone() {
+        return new DirectCall<>(callFactory, request, responseConverter);
+    }
+
+    @Override
+    public Request request() {
+        return request;
+    }
+
+    private Response<T> parseResponse(okhttp3.Response rawResponse) throws IOException {
+        ResponseBody rawBody = rawResponse.body();
+        if (rawBody == null) {
+            return Response.success(null, rawResponse);
+        }
+        // converted body replaces raw one, so it could only be read through payload
+        okhttp3.Response response = rawResponse.newBuilder()
+                .body(new NoContentResponseBody(rawBody.contentType(), rawBody.contentLength()))
+                .build();
+        if (!response.isSuccessful()) {
+            try (ResponseBody body = rawBody) {
+                Buffer buffer = new Buffer();
+                body.source().readAll(buffer);
+                return Response.error(ResponseBody.create(body.contentType(), body.contentLength(), buffer), response);
+            }
+        }
+        if (response.code() == 204 || response.code() == 205) {
+            rawBody.close();
+            return Response.success(null, response);
+        }
+        return Response.success(responseConverter.convert(rawBody), response);
+    }
+
+    private static class NoContentResponseBody extends ResponseBody {
+        @Nullable
+        private final MediaType contentType;
+        private final long contentLength;
+
+        private NoContentResponseBody(@Nullable MediaType contentType, long contentLength) {
+            this.contentType = contentType;
+            this.contentLength = contentLength;
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public BufferedSource source() {
+            throw new IllegalStateException("Cannot read raw response body of a converted body.");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import static com.github.nginate.wolframalpha.util.RetrofitUtil.getRawType;
+
+/**
+ * Adapter for APIs returning {@link Call}, so both {@link Call#execute()} and {@link Call#enqueue(Callback)} are
+ * reporting original exceptions instead of {@link TunneledException}
+ */
+public class ErrorUnwrappingAdapter extends CallAdapter.Factory {
+    @Nullable
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> delegate =
+                (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new UnwrappingCall<>(delegate.adapt(call));
+            }
+        };
+    }
+
+    @RequiredArgsConstructor
+    private static class UnwrappingCall<T> implements Call<T> {
+        private final Call<T> delegate;
+
+        @Override
+        @SneakyThrows
+        public Response<T> execute() throws IOException {
+            try {
+                return delegate.execute();
+            } catch (TunneledException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            delegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    callback.onResponse(UnwrappingCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    callback.onFailure(UnwrappingCall.this, TunneledException.unwrap(t));
+                }
+            });
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return delegate.isExecuted();
+        }
+
+        @Override
+        public void cancel() {
+            delegate.cancel();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return delegate.isCanceled();
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<T> clone() {
+            return new UnwrappingCall<>(delegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+    }
+}
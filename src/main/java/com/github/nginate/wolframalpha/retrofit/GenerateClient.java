@@ -0,0 +1,27 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * Marks Retrofit API interface to get its implementation generated at compile time as {@code Generated<Interface>}
+ * class of the same package. Generated implementation is built from {@link retrofit2.Retrofit} instance and builds
+ * request urls directly from its {@code GET} and {@code Query} annotations, without dynamic proxy and per call service
+ * method lookups. Converters are resolved from the same Retrofit instance once, when client is created.
+ * <p>
+ * Only {@code GET} methods with {@code Query} parameters are supported. Methods could return {@link retrofit2.Call},
+ * {@link java.util.concurrent.CompletableFuture} or response payload, which are adapted the same way as {@link
+ * ErrorUnwrappingAdapter}, {@link CompletableFutureAdapter} and {@link PayloadAdapter} are doing it.
+ *
+ * @see DirectCall
+ * @see ClientImplementation
+ */
+@Documented
+@Target(TYPE)
+@Retention(SOURCE)
+public @interface GenerateClient {
+}
@@ -22,7 +22,11 @@ public class PayloadAdapter extends CallAdapter.Factory {
             @Override
             @SneakyThrows
             public Object adapt(Call<Object> call) {
-                return call.execute().body();
+                try {
+                    return call.execute().body();
+                } catch (TunneledException e) {
+                    throw e.getCause();
+                }
             }
         };
     }
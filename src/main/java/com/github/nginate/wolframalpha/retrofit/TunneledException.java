@@ -0,0 +1,33 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+import java.io.IOException;
+
+/**
+ * OkHttp is only reporting {@link IOException} to async callbacks, any runtime exception thrown by interceptor (e.g.
+ * {@link com.github.nginate.wolframalpha.exceptions.WolframClientException}) is killing dispatcher thread and callback
+ * is never called. Runtime exceptions are wrapped into this one while passing http client and are unwrapped back by
+ * call adapters.
+ *
+ * @see com.github.nginate.wolframalpha.retrofit.interceptor.ExceptionTunnelingInterceptor
+ */
+public class TunneledException extends IOException {
+    public TunneledException(RuntimeException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+        return (RuntimeException) super.getCause();
+    }
+
+    /**
+     * @param throwable any exception received from http client
+     * @return original runtime exception if provided one was tunneled, provided one otherwise
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof TunneledException) {
+            return ((TunneledException) throwable).getCause();
+        }
+        return throwable;
+    }
+}
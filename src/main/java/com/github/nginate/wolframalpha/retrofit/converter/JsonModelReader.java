@@ -0,0 +1,738 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.nginate.wolframalpha.model.*;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionType;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionValue;
+import com.github.nginate.wolframalpha.model.Sounds.Sound;
+import com.github.nginate.wolframalpha.model.Sounds.Sound.AudioType;
+import com.github.nginate.wolframalpha.model.States.State;
+import com.github.nginate.wolframalpha.model.States.StateList;
+
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader of JSON responses ({@code output=json}) producing the same model as XML parsers. Reads model token
+ * by token with Jackson streaming parser, no data binding or reflection is involved. JSON specific shapes are mapped to
+ * their XML counterparts:
+ * <ul>
+ * <li>error objects (e.g. invalid app id) are read as {@code error=true}</li>
+ * <li>single objects in place of arrays (assumptions, sounds, image map rectangles) are read as single element
+ * lists</li>
+ * <li>pod states array is split into states and state list by presence of nested states</li>
+ * <li>MathML markup embedded as a string is read into nested maps with {@link StaxModelReader}</li>
+ * </ul>
+ * Unknown fields are skipped, as well as fields outside of {@link Projection}. Reader is stateless and thread safe.
+ */
+public class JsonModelReader {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final StaxModelReader mathMlReader = new StaxModelReader();
+    private static final Map<String, AssumptionType> assumptionTypes =
+            StaxModelReader.enumValues(AssumptionType.class);
+    private static final Map<String, AudioType> audioTypes = StaxModelReader.enumValues(AudioType.class);
+
+    private final Projection projection;
+
+    public JsonModelReader() {
+        this(Projection.ALL);
+    }
+
+    /**
+     * @param projection model paths to read, everything else is skipped
+     */
+    public JsonModelReader(Projection projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Read document with 'queryresult' root object
+     *
+     * @param inputStream document stream
+     * @return query result
+     * @throws IOException if document is malformed or has no 'queryresult' object
+     */
+    public QueryResult readQueryResult(InputStream inputStream) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected object but found " + parser.getCurrentToken());
+            }
+            QueryResult result = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("queryresult".equals(name) && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                    result = readQueryResult(parser, projection);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (result == null) {
+                throw new JsonParseException(parser, "Expected 'queryresult' object");
+            }
+            return result;
+        }
+    }
+
+    private QueryResult readQueryResult(JsonParser parser, Projection projection) throws IOException {
+        QueryResult result = new QueryResult();
+        Projection podProjection = projection.child("pods");
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "success":
+                    result.setSuccess(readBoolean(parser));
+                    break;
+                case "error":
+                    result.setError(readError(parser));
+                    break;
+                case "numpods":
+                    result.setNumpods(readInteger(parser));
+                    break;
+                case "version":
+                    result.setVersion(readString(parser));
+                    break;
+                case "datatypes":
+                    result.setDatatypes(readStringList(parser));
+                    break;
+                case "timing":
+                    result.setTiming(readFloat(parser));
+                    break;
+                case "timedout":
+                    result.setTimedout(readStringList(parser));
+                    break;
+                case "timedoutpods":
+                    result.setTimedoutpods(readStringList(parser));
+                    break;
+                case "id":
+                    result.setId(readString(parser));
+                    break;
+                case "host":
+                    result.setHost(readString(parser));
+                    break;
+                case "server":
+                    result.setServer(readString(parser));
+                    break;
+                case "related":
+                    result.setRelated(readString(parser));
+                    break;
+                case "parsetiming":
+                    result.setParsetiming(readFloat(parser));
+                    break;
+                case "parsetimedout":
+                    result.setParsetimedout(readBoolean(parser));
+                    break;
+                case "recalculate":
+                    result.setRecalculate(readString(parser));
+                    break;
+                case "pods":
+                    if (podProjection == null) {
+                        parser.skipChildren();
+                    } else {
+                        result.setPods(readObjects(parser, p -> readPod(p, podProjection)));
+                    }
+                    break;
+                case "assumptions":
+                    if (projection.includes("assumptions")) {
+                        result.setAssumptions(readAssumptions(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private Pod readPod(JsonParser parser, Projection projection) throws IOException {
+        Pod pod = new Pod();
+        Projection subpodProjection = projection.child("subpods");
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "title":
+                    pod.setTitle(readString(parser));
+                    break;
+                case "error":
+                    pod.setError(readError(parser));
+                    break;
+                case "position":
+                    pod.setPosition(readInteger(parser));
+                    break;
+                case "scanner":
+                    pod.setScanner(readString(parser));
+                    break;
+                case "id":
+                    pod.setId(readString(parser));
+                    break;
+                case "numsubpods":
+                    pod.setNumsubpods(readInteger(parser));
+                    break;
+                case "primary":
+                    pod.setPrimary(readBoolean(parser));
+                    break;
+                case "async":
+                    pod.setAsync(readString(parser));
+                    break;
+                case "subpods":
+                    if (subpodProjection == null) {
+                        parser.skipChildren();
+                    } else {
+                        pod.setSubpods(readObjects(parser, p -> readSubpod(p, subpodProjection)));
+                    }
+                    break;
+                case "sounds":
+                    if (projection.includes("sounds")) {
+                        pod.setSounds(readSounds(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "states":
+                    if (projection.includes("states")) {
+                        pod.setStates(readStates(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return pod;
+    }
+
+    private Subpod readSubpod(JsonParser parser, Projection projection) throws IOException {
+        Subpod subpod = new Subpod();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "title":
+                    subpod.setTitle(readString(parser));
+                    continue;
+                case "primary":
+                    subpod.setPrimary(readBoolean(parser));
+                    continue;
+                default:
+                    break;
+            }
+            if (!projection.includes(subpodProperty(name))) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (name) {
+                case "img":
+                    subpod.setImg(readImage(parser));
+                    break;
+                case "imagemap":
+                    subpod.setImageMap(readImageMap(parser));
+                    break;
+                case "plaintext":
+                    subpod.setPlaintext(readString(parser));
+                    break;
+                case "mathml":
+                    subpod.setMathMl(readMathMl(parser));
+                    break;
+                case "minput":
+                    subpod.setMinput(readString(parser));
+                    break;
+                case "moutput":
+                    subpod.setMoutput(readString(parser));
+                    break;
+                case "cell":
+                    subpod.setCell(readCell(parser));
+                    break;
+                case "states":
+                    subpod.setStates(readStates(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return subpod;
+    }
+
+    /**
+     * Model property name of subpod field, used to match it with projection
+     */
+    private static String subpodProperty(String field) {
+        switch (field) {
+            case "imagemap":
+                return "imageMap";
+            case "mathml":
+                return "mathMl";
+            default:
+                return field;
+        }
+    }
+
+    @Nullable
+    private Image readImage(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Image image = new Image();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "src":
+                    image.setSrc(readString(parser));
+                    break;
+                case "alt":
+                    image.setAlt(readString(parser));
+                    break;
+                case "title":
+                    image.setTitle(readString(parser));
+                    break;
+                case "width":
+                    image.setWidth(readInteger(parser));
+                    break;
+                case "height":
+                    image.setHeight(readInteger(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return image;
+    }
+
+    @Nullable
+    private ImageMap readImageMap(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        ImageMap imageMap = new ImageMap();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("rect".equals(name)) {
+                imageMap.setRectangles(readObjects(parser, this::readImageRectangle));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return imageMap;
+    }
+
+    private ImageRectangle readImageRectangle(JsonParser parser) throws IOException {
+        ImageRectangle rectangle = new ImageRectangle();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "left":
+                    rectangle.setLeft(readInteger(parser));
+                    break;
+                case "right":
+                    rectangle.setRight(readInteger(parser));
+                    break;
+                case "top":
+                    rectangle.setTop(readInteger(parser));
+                    break;
+                case "bottom":
+                    rectangle.setBottom(readInteger(parser));
+                    break;
+                case "query":
+                    rectangle.setQuery(readString(parser));
+                    break;
+                case "assumptions":
+                    rectangle.setAssumptions(readString(parser));
+                    break;
+                case "assumptions2":
+                    rectangle.setAssumptions2(readString(parser));
+                    break;
+                case "title":
+                    rectangle.setTitle(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return rectangle;
+    }
+
+    /**
+     * Reads cell either as a string with cell data or as an object with 'compressed' and 'data' fields
+     */
+    @Nullable
+    private Cell readCell(JsonParser parser) throws IOException {
+        Cell cell = new Cell();
+        if (!isObject(parser)) {
+            String data = readString(parser);
+            if (data == null) {
+                return null;
+            }
+            cell.setData(StaxModelReader.unwrapCData(data));
+            return cell;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "compressed":
+                    cell.setCompressed(readBoolean(parser));
+                    break;
+                case "data":
+                    String data = readString(parser);
+                    cell.setData(data == null ? null : StaxModelReader.unwrapCData(data));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return cell;
+    }
+
+    @Nullable
+    private Map<String, Object> readMathMl(JsonParser parser) throws IOException {
+        String markup = readString(parser);
+        if (markup == null) {
+            return null;
+        }
+        try {
+            return mathMlReader.readMathMl(markup);
+        } catch (XMLStreamException e) {
+            throw new JsonParseException(parser, "Malformed MathML markup", e);
+        }
+    }
+
+    /**
+     * Reads array of states, where state lists are distinguished from single states by nested 'states' array
+     */
+    @Nullable
+    private States readStates(JsonParser parser) throws IOException {
+        List<Object> items = readObjects(parser, this::readStateOrList);
+        if (items == null) {
+            return null;
+        }
+        States states = new States();
+        states.setCount(items.size());
+        for (Object item : items) {
+            if (item instanceof StateList) {
+                states.setStateList((StateList) item);
+            } else {
+                if (states.getStates() == null) {
+                    states.setStates(new ArrayList<>());
+                }
+                states.getStates().add((State) item);
+            }
+        }
+        return states;
+    }
+
+    private Object readStateOrList(JsonParser parser) throws IOException {
+        String name = null;
+        String input = null;
+        Integer count = null;
+        String value = null;
+        String delimiters = null;
+        List<State> nested = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    name = readString(parser);
+                    break;
+                case "input":
+                    input = readString(parser);
+                    break;
+                case "count":
+                    count = readInteger(parser);
+                    break;
+                case "value":
+                    value = readString(parser);
+                    break;
+                case "delimiters":
+                    delimiters = readString(parser);
+                    break;
+                case "states":
+                    nested = readObjects(parser, this::readState);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (nested == null && value == null) {
+            State state = new State();
+            state.setName(name);
+            state.setInput(input);
+            return state;
+        }
+        StateList stateList = new StateList();
+        stateList.setCount(count);
+        stateList.setValue(value);
+        if (delimiters != null) {
+            stateList.setDelimiters(delimiters);
+        }
+        stateList.setStates(nested);
+        return stateList;
+    }
+
+    private State readState(JsonParser parser) throws IOException {
+        State state = new State();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "name":
+                    state.setName(readString(parser));
+                    break;
+                case "input":
+                    state.setInput(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Reads sounds either as an object with 'count' and 'sound' fields or as an array of sounds
+     */
+    @Nullable
+    private Sounds readSounds(JsonParser parser) throws IOException {
+        Sounds sounds = new Sounds();
+        if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+            sounds.setSounds(readObjects(parser, this::readSound));
+            sounds.setCount(sounds.getSounds().size());
+            return sounds;
+        }
+        if (!isObject(parser)) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "count":
+                    sounds.setCount(readInteger(parser));
+                    break;
+                case "sound":
+                    sounds.setSounds(readObjects(parser, this::readSound));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return sounds;
+    }
+
+    private Sound readSound(JsonParser parser) throws IOException {
+        Sound sound = new Sound();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "url":
+                    sound.setUrl(readString(parser));
+                    break;
+                case "type":
+                    String type = readString(parser);
+                    sound.setType(type == null ? null : audioTypes.get(type));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return sound;
+    }
+
+    /**
+     * Reads assumptions given either as a single assumption object or as an array of them
+     */
+    @Nullable
+    private Assumptions readAssumptions(JsonParser parser) throws IOException {
+        List<Assumption> values = readObjects(parser, this::readAssumption);
+        if (values == null) {
+            return null;
+        }
+        Assumptions assumptions = new Assumptions();
+        assumptions.setCount(values.size());
+        assumptions.setAssumptions(values);
+        return assumptions;
+    }
+
+    private Assumption readAssumption(JsonParser parser) throws IOException {
+        Assumption assumption = new Assumption();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "type":
+                    String type = readString(parser);
+                    assumption.setType(type == null ? null : assumptionTypes.get(type));
+                    break;
+                case "word":
+                    assumption.setWord(readString(parser));
+                    break;
+                case "template":
+                    assumption.setTemplate(readString(parser));
+                    break;
+                case "count":
+                    assumption.setCount(readInteger(parser));
+                    break;
+                case "values":
+                case "value":
+                    assumption.setValues(readObjects(parser, this::readAssumptionValue));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return assumption;
+    }
+
+    private AssumptionValue readAssumptionValue(JsonParser parser) throws IOException {
+        AssumptionValue value = new AssumptionValue();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "name":
+                    value.setName(readString(parser));
+                    break;
+                case "desc":
+                    value.setDescription(readString(parser));
+                    break;
+                case "input":
+                    value.setInput(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads array of objects or single object as a list
+     *
+     * @return list of read objects or null if value is neither an object nor an array
+     */
+    @Nullable
+    private <T> List<T> readObjects(JsonParser parser, ObjectReader<T> objectReader) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            List<T> values = new ArrayList<>(1);
+            values.add(objectReader.read(parser));
+            return values;
+        }
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<T> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                values.add(objectReader.read(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private static boolean isObject(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Reads scalar value as a string, non-scalar values are skipped
+     */
+    @Nullable
+    private static String readString(JsonParser parser) throws IOException {
+        String value = parser.getValueAsString();
+        parser.skipChildren();
+        return value;
+    }
+
+    @Nullable
+    private static List<String> readStringList(JsonParser parser) throws IOException {
+        String value = readString(parser);
+        return value == null ? null : new ArrayList<>(Collections.singletonList(value));
+    }
+
+    @Nullable
+    private static Boolean readBoolean(JsonParser parser) throws IOException {
+        String value = readString(parser);
+        return value == null ? null : Boolean.valueOf(value);
+    }
+
+    /**
+     * Reads error flag, given either as a boolean or as an object with error code and message
+     */
+    @Nullable
+    private static Boolean readError(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return true;
+        }
+        return readBoolean(parser);
+    }
+
+    @Nullable
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        String value = readString(parser);
+        try {
+            return value == null || value.isEmpty() ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Malformed integer value: " + value, e);
+        }
+    }
+
+    @Nullable
+    private static Float readFloat(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken().isNumeric()) {
+            return parser.getFloatValue();
+        }
+        String value = readString(parser);
+        try {
+            return value == null || value.isEmpty() ? null : Float.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Malformed float value: " + value, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ObjectReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+}
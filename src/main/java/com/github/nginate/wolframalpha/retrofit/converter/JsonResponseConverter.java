@@ -0,0 +1,34 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.QueryResult;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Converts JSON response ({@code output=json}) to query result reading it directly from response stream with {@link
+ * JsonModelReader}
+ */
+public class JsonResponseConverter implements Converter<ResponseBody, QueryResult> {
+    private final JsonModelReader modelReader;
+
+    public JsonResponseConverter() {
+        this(Projection.ALL);
+    }
+
+    /**
+     * @param projection model paths to read
+     */
+    public JsonResponseConverter(Projection projection) {
+        this.modelReader = new JsonModelReader(projection);
+    }
+
+    @Override
+    public QueryResult convert(ResponseBody value) throws IOException {
+        try (ResponseBody body = value; InputStream inputStream = body.byteStream()) {
+            return modelReader.readQueryResult(inputStream);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import com.github.nginate.wolframalpha.metrics.Metric;
+import com.github.nginate.wolframalpha.metrics.MetricsRecorder;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records conversion time of wrapped converter and server side timings reported in {@link QueryResult}
+ *
+ * @param <T> response type
+ */
+public class MeasuredResponseConverter<T> implements Converter<ResponseBody, T> {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Converter<ResponseBody, T> delegate;
+    private final MetricsRecorder recorder;
+    private final ApiType api;
+
+    public MeasuredResponseConverter(Converter<ResponseBody, T> delegate, MetricsRecorder recorder, ApiType api) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.api = api;
+    }
+
+    @Override
+    public T convert(ResponseBody value) throws IOException {
+        long start = System.nanoTime();
+        T result = delegate.convert(value);
+        recorder.record(Metric.PARSE, api, System.nanoTime() - start);
+
+        if (result instanceof QueryResult) {
+            QueryResult queryResult = (QueryResult) result;
+            if (queryResult.getTiming() != null) {
+                recorder.record(Metric.SERVER_TIMING, api, toNanos(queryResult.getTiming()));
+            }
+            if (queryResult.getParsetiming() != null) {
+                recorder.record(Metric.SERVER_PARSE_TIMING, api, toNanos(queryResult.getParsetiming()));
+            }
+        }
+        return result;
+    }
+
+    private static long toNanos(float seconds) {
+        return (long) (seconds * NANOS_PER_SECOND);
+    }
+}
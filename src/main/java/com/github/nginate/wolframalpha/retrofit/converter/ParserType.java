@@ -0,0 +1,24 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+/**
+ * XML parser implementation used to read API responses
+ */
+public enum ParserType {
+    /**
+     * Reflective mapping with Jackson XML mapper driven by JAXB annotations of model classes. Whole response is read
+     * into a string before parsing and is logged on debug level.
+     */
+    JACKSON,
+    /**
+     * Streaming pull parser reading model directly from response stream, see {@link StaxModelReader}. Response body is
+     * never kept in memory as a whole and is not logged.
+     */
+    STAX,
+    /**
+     * Streaming pull parser generated at compile time from JAXB annotations of model classes, see {@link
+     * com.github.nginate.wolframalpha.model.GeneratedModelReader}. Reads the same model as {@link #JACKSON} without
+     * reflection or mapper introspection, and stays in sync with model annotations unlike {@link #STAX}. Projections
+     * are not supported.
+     */
+    GENERATED
+}
@@ -0,0 +1,119 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set of model paths to read from Full results responses, everything else is skipped by parser at the token level
+ * without being materialized. Path is a dot separated chain of model property names starting from {@link
+ * com.github.nginate.wolframalpha.model.QueryResult}, e.g. {@code pods.subpods.plaintext}:
+ * <ul>
+ * <li>property selected by path is read in full, including all its nested content</li>
+ * <li>every property on the way to selected one is read as well, but only with its attributes and selected
+ * children</li>
+ * <li>attributes (e.g. {@code Pod.title} or {@code Pod.id}) are always read for every element read, as they are
+ * coming with element start token</li>
+ * </ul>
+ * Paths are applied down to {@link com.github.nginate.wolframalpha.model.Subpod} properties, deeper ones are selecting
+ * their subpod property in full. Unknown property names are selecting nothing.
+ * <pre>
+ *     Projection projection = Projection.of("pods.title", "pods.subpods.plaintext");
+ * </pre>
+ * Async pods documents are read with paths under {@code pods}. Projection is immutable and thread safe.
+ */
+public final class Projection {
+    /**
+     * Projection reading everything
+     */
+    public static final Projection ALL = new Projection(null);
+
+    /**
+     * Children selected by paths, null if everything is selected
+     */
+    @Nullable
+    private final Map<String, Projection> children;
+
+    private Projection(@Nullable Map<String, Projection> children) {
+        this.children = children;
+    }
+
+    /**
+     * @param paths dot separated model paths to read
+     * @return projection reading only provided paths
+     * @throws IllegalArgumentException if any path is empty or has empty property name
+     */
+    public static Projection of(String... paths) {
+        return of(Arrays.asList(paths));
+    }
+
+    /**
+     * @param paths dot separated model paths to read
+     * @return projection reading only provided paths
+     * @throws IllegalArgumentException if any path is empty or has empty property name
+     */
+    public static Projection of(Collection<String> paths) {
+        Projection root = new Projection(new HashMap<>());
+        for (String path : paths) {
+            String[] names = path.split("\\.", -1);
+            for (String name : names) {
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid projection path '" + path + "'");
+                }
+            }
+            root.add(names, 0);
+        }
+        return root;
+    }
+
+    /**
+     * @return true if projection reads everything
+     */
+    public boolean isAll() {
+        return children == null;
+    }
+
+    /**
+     * @param property model property name
+     * @return projection of property content or null if property is not selected
+     */
+    @Nullable
+    Projection child(String property) {
+        return children == null ? ALL : children.get(property);
+    }
+
+    /**
+     * @param property model property name
+     * @return true if property is selected
+     */
+    boolean includes(String property) {
+        return children == null || children.containsKey(property);
+    }
+
+    /**
+     * Adds path to projection being built, never called on {@link #ALL}
+     */
+    @SuppressWarnings("ConstantConditions")
+    private void add(String[] names, int index) {
+        Projection child = children.get(names[index]);
+        if (child == ALL) {
+            return;
+        }
+        if (index == names.length - 1) {
+            children.put(names[index], ALL);
+            return;
+        }
+        if (child == null) {
+            child = new Projection(new HashMap<>());
+            children.put(names[index], child);
+        }
+        child.add(names, index + 1);
+    }
+
+    @Override
+    public String toString() {
+        return children == null ? "*" : children.toString();
+    }
+}
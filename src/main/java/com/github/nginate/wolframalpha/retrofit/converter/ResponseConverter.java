@@ -5,27 +5,39 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
-import com.github.nginate.wolframalpha.model.QueryResult;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.ResponseBody;
 import retrofit2.Converter;
 
 import java.io.IOException;
 
+/**
+ * Converts XML response to any of model classes, e.g. {@link com.github.nginate.wolframalpha.model.QueryResult} for
+ * queries or {@link com.github.nginate.wolframalpha.model.Pod} for async pod loading. Mapper is shared between all
+ * converter instances.
+ *
+ * @param <T> response type
+ */
 @Slf4j
-public class ResponseConverter implements Converter<ResponseBody, QueryResult> {
-    private final ObjectMapper mapper = new XmlMapper();
+public class ResponseConverter<T> implements Converter<ResponseBody, T> {
+    private static final ObjectMapper mapper = new XmlMapper();
 
-    public ResponseConverter() {
+    static {
         mapper.setAnnotationIntrospector(new JaxbAnnotationIntrospector(TypeFactory.defaultInstance()));
         mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    private final Class<T> type;
+
+    public ResponseConverter(Class<T> type) {
+        this.type = type;
+    }
+
     @Override
-    public QueryResult convert(ResponseBody value) throws IOException {
+    public T convert(ResponseBody value) throws IOException {
         String string = value.string();
         log.debug("Response body : {}", string);
-        return mapper.readValue(string, QueryResult.class);
+        return mapper.readValue(string, type);
     }
 }
@@ -0,0 +1,18 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.ResultType;
+import retrofit2.Converter;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Locale;
+
+public class ResultTypeConverter implements Converter<ResultType, String> {
+    @Override
+    public String convert(@Nullable ResultType value) throws IOException {
+        if (value == null) {
+            return null;
+        }
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
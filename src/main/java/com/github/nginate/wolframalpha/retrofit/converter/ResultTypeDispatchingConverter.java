@@ -0,0 +1,34 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+import java.io.IOException;
+
+/**
+ * Picks converter by response content type, so the same client reads both XML and JSON responses depending on
+ * requested {@link com.github.nginate.wolframalpha.model.ResultType output}. Responses without content type are read
+ * as XML.
+ *
+ * @param <T> response type
+ */
+public class ResultTypeDispatchingConverter<T> implements Converter<ResponseBody, T> {
+    private final Converter<ResponseBody, T> xmlConverter;
+    private final Converter<ResponseBody, T> jsonConverter;
+
+    public ResultTypeDispatchingConverter(Converter<ResponseBody, T> xmlConverter,
+                                          Converter<ResponseBody, T> jsonConverter) {
+        this.xmlConverter = xmlConverter;
+        this.jsonConverter = jsonConverter;
+    }
+
+    @Override
+    public T convert(ResponseBody value) throws IOException {
+        MediaType contentType = value.contentType();
+        if (contentType != null && contentType.subtype().contains("json")) {
+            return jsonConverter.convert(value);
+        }
+        return xmlConverter.convert(value);
+    }
+}
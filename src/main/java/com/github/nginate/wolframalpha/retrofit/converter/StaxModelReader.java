@@ -0,0 +1,814 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.*;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionType;
+import com.github.nginate.wolframalpha.model.Assumptions.Assumption.AssumptionValue;
+import com.github.nginate.wolframalpha.model.Sounds.Sound;
+import com.github.nginate.wolframalpha.model.Sounds.Sound.AudioType;
+import com.github.nginate.wolframalpha.model.States.State;
+import com.github.nginate.wolframalpha.model.States.StateList;
+import com.github.nginate.wolframalpha.retrofit.CDATAAdapter;
+
+import org.codehaus.stax2.XMLStreamReader2;
+
+import javax.annotation.Nullable;
+import javax.xml.bind.annotation.XmlEnumValue;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hand-written pull parser for API responses. Reads model straight from the stream token by token, so response is
+ * never materialized as a string and no reflection is involved. Produces the same model as {@link ResponseConverter}:
+ * <ul>
+ * <li>unknown elements and attributes are skipped</li>
+ * <li>list attributes are single element lists with raw attribute value</li>
+ * <li>MathML is read into nested maps, where attributes and child elements are keys, elements without attributes and
+ * children are text values, repeated child elements are overwriting previous ones</li>
+ * <li>empty elements ({@code <plaintext/>}) are read as nulls, elements without content ({@code
+ * <plaintext></plaintext>}) as empty strings. The latter is only distinguished with Woodstox parser (the one used by
+ * Jackson), other StAX implementations are reading both as nulls</li>
+ * </ul>
+ * Reader could be limited to {@link Projection} of the model, then unselected elements are skipped without being read.
+ * Reader is stateless and thread safe.
+ */
+public class StaxModelReader {
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+    private static final Map<String, AssumptionType> assumptionTypes = enumValues(AssumptionType.class);
+    private static final Map<String, AudioType> audioTypes = enumValues(AudioType.class);
+
+    static {
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final Projection projection;
+
+    public StaxModelReader() {
+        this(Projection.ALL);
+    }
+
+    /**
+     * @param projection model paths to read, everything else is skipped
+     */
+    public StaxModelReader(Projection projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Read 'queryresult' document
+     *
+     * @param inputStream document stream
+     * @return query result
+     * @throws XMLStreamException if document is malformed or has unexpected root element
+     */
+    public QueryResult readQueryResult(InputStream inputStream) throws XMLStreamException {
+        return readDocument(inputStream, "queryresult", reader -> readQueryResult(reader, projection));
+    }
+
+    /**
+     * Read 'pod' document, e.g. async pod response
+     *
+     * @param inputStream document stream
+     * @return pod
+     * @throws XMLStreamException if document is malformed or has unexpected root element
+     */
+    public Pod readPod(InputStream inputStream) throws XMLStreamException {
+        Projection podProjection = Optional.ofNullable(projection.child("pods")).orElseGet(Projection::of);
+        return readDocument(inputStream, "pod", reader -> readPod(reader, podProjection));
+    }
+
+    /**
+     * Read document with given root element by element reader, e.g. the one generated from model annotations
+     *
+     * @param inputStream   document stream
+     * @param rootElement   expected root element name
+     * @param elementReader reader of root element
+     * @param <T>           model type
+     * @return model read from root element
+     * @throws XMLStreamException if document is malformed or has unexpected root element
+     */
+    static <T> T readDocument(InputStream inputStream, String rootElement, ElementReader<T> elementReader)
+            throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+        try {
+            toRootElement(reader, rootElement);
+            return elementReader.read(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Read MathML markup, e.g. embedded as a string into JSON response, same way as 'mathml' element content
+     *
+     * @param markup MathML markup
+     * @return MathML as nested maps
+     * @throws XMLStreamException if markup is malformed
+     */
+    @Nullable
+    Map<String, Object> readMathMl(String markup) throws XMLStreamException {
+        String document = "<mathml>" + markup + "</mathml>";
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(document));
+        try {
+            reader.nextTag();
+            return readMathMl(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private QueryResult readQueryResult(XMLStreamReader reader, Projection projection) throws XMLStreamException {
+        QueryResult result = new QueryResult();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "success":
+                    result.setSuccess(toBoolean(value));
+                    break;
+                case "error":
+                    result.setError(toBoolean(value));
+                    break;
+                case "numpods":
+                    result.setNumpods(toInteger(reader, value));
+                    break;
+                case "version":
+                    result.setVersion(value);
+                    break;
+                case "datatypes":
+                    result.setDatatypes(toList(value));
+                    break;
+                case "timing":
+                    result.setTiming(toFloat(reader, value));
+                    break;
+                case "timedout":
+                    result.setTimedout(toList(value));
+                    break;
+                case "timedoutpods":
+                    result.setTimedoutpods(toList(value));
+                    break;
+                case "id":
+                    result.setId(value);
+                    break;
+                case "host":
+                    result.setHost(value);
+                    break;
+                case "server":
+                    result.setServer(value);
+                    break;
+                case "related":
+                    result.setRelated(value);
+                    break;
+                case "parsetiming":
+                    result.setParsetiming(toFloat(reader, value));
+                    break;
+                case "parsetimedout":
+                    result.setParsetimedout(toBoolean(value));
+                    break;
+                case "recalculate":
+                    result.setRecalculate(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        Projection podProjection = projection.child("pods");
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "pod":
+                    if (podProjection == null) {
+                        skipElement(reader);
+                        break;
+                    }
+                    if (result.getPods() == null) {
+                        result.setPods(new ArrayList<>());
+                    }
+                    result.getPods().add(readPod(reader, podProjection));
+                    break;
+                case "assumptions":
+                    if (projection.includes("assumptions")) {
+                        result.setAssumptions(readAssumptions(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private Pod readPod(XMLStreamReader reader, Projection projection) throws XMLStreamException {
+        Pod pod = new Pod();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "title":
+                    pod.setTitle(value);
+                    break;
+                case "error":
+                    pod.setError(toBoolean(value));
+                    break;
+                case "position":
+                    pod.setPosition(toInteger(reader, value));
+                    break;
+                case "scanner":
+                    pod.setScanner(value);
+                    break;
+                case "id":
+                    pod.setId(value);
+                    break;
+                case "numsubpods":
+                    pod.setNumsubpods(toInteger(reader, value));
+                    break;
+                case "primary":
+                    pod.setPrimary(toBoolean(value));
+                    break;
+                case "async":
+                    pod.setAsync(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        Projection subpodProjection = projection.child("subpods");
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "subpod":
+                    if (subpodProjection == null) {
+                        skipElement(reader);
+                        break;
+                    }
+                    if (pod.getSubpods() == null) {
+                        pod.setSubpods(new ArrayList<>());
+                    }
+                    pod.getSubpods().add(readSubpod(reader, subpodProjection));
+                    break;
+                case "sounds":
+                    if (projection.includes("sounds")) {
+                        pod.setSounds(readSounds(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "states":
+                    if (projection.includes("states")) {
+                        pod.setStates(readStates(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+        return pod;
+    }
+
+    private Subpod readSubpod(XMLStreamReader reader, Projection projection) throws XMLStreamException {
+        Subpod subpod = new Subpod();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "title":
+                    subpod.setTitle(value);
+                    break;
+                case "primary":
+                    subpod.setPrimary(toBoolean(value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        while (nextChild(reader)) {
+            String name = reader.getLocalName();
+            if (!projection.includes(subpodProperty(name))) {
+                skipElement(reader);
+                continue;
+            }
+            switch (name) {
+                case "img":
+                    subpod.setImg(readImage(reader));
+                    break;
+                case "imagemap":
+                    subpod.setImageMap(readImageMap(reader));
+                    break;
+                case "plaintext":
+                    subpod.setPlaintext(readText(reader));
+                    break;
+                case "mathml":
+                    subpod.setMathMl(readMathMl(reader));
+                    break;
+                case "minput":
+                    subpod.setMinput(readText(reader));
+                    break;
+                case "moutput":
+                    subpod.setMoutput(readText(reader));
+                    break;
+                case "cell":
+                    subpod.setCell(readCell(reader));
+                    break;
+                case "states":
+                    subpod.setStates(readStates(reader));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+        return subpod;
+    }
+
+    /**
+     * Model property name of subpod child element, used to match it with projection
+     */
+    private static String subpodProperty(String element) {
+        switch (element) {
+            case "imagemap":
+                return "imageMap";
+            case "mathml":
+                return "mathMl";
+            default:
+                return element;
+        }
+    }
+
+    private Image readImage(XMLStreamReader reader) throws XMLStreamException {
+        Image image = new Image();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "src":
+                    image.setSrc(value);
+                    break;
+                case "alt":
+                    image.setAlt(value);
+                    break;
+                case "title":
+                    image.setTitle(value);
+                    break;
+                case "width":
+                    image.setWidth(toInteger(reader, value));
+                    break;
+                case "height":
+                    image.setHeight(toInteger(reader, value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        skipElement(reader);
+        return image;
+    }
+
+    private ImageMap readImageMap(XMLStreamReader reader) throws XMLStreamException {
+        ImageMap imageMap = new ImageMap();
+        while (nextChild(reader)) {
+            if ("rect".equals(reader.getLocalName())) {
+                if (imageMap.getRectangles() == null) {
+                    imageMap.setRectangles(new ArrayList<>());
+                }
+                imageMap.getRectangles().add(readImageRectangle(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return imageMap;
+    }
+
+    private ImageRectangle readImageRectangle(XMLStreamReader reader) throws XMLStreamException {
+        ImageRectangle rectangle = new ImageRectangle();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "left":
+                    rectangle.setLeft(toInteger(reader, value));
+                    break;
+                case "right":
+                    rectangle.setRight(toInteger(reader, value));
+                    break;
+                case "top":
+                    rectangle.setTop(toInteger(reader, value));
+                    break;
+                case "bottom":
+                    rectangle.setBottom(toInteger(reader, value));
+                    break;
+                case "query":
+                    rectangle.setQuery(value);
+                    break;
+                case "assumptions":
+                    rectangle.setAssumptions(value);
+                    break;
+                case "assumptions2":
+                    rectangle.setAssumptions2(value);
+                    break;
+                case "title":
+                    rectangle.setTitle(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        skipElement(reader);
+        return rectangle;
+    }
+
+    private Cell readCell(XMLStreamReader reader) throws XMLStreamException {
+        Cell cell = new Cell();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if ("compressed".equals(reader.getAttributeLocalName(i))) {
+                cell.setCompressed(toBoolean(reader.getAttributeValue(i)));
+            }
+        }
+        String data = readText(reader);
+        cell.setData(data == null ? null : unwrapCData(data));
+        return cell;
+    }
+
+    private States readStates(XMLStreamReader reader) throws XMLStreamException {
+        States states = new States();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if ("count".equals(reader.getAttributeLocalName(i))) {
+                states.setCount(toInteger(reader, reader.getAttributeValue(i)));
+            }
+        }
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "state":
+                    if (states.getStates() == null) {
+                        states.setStates(new ArrayList<>());
+                    }
+                    states.getStates().add(readState(reader));
+                    break;
+                case "statelist":
+                    states.setStateList(readStateList(reader));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+        return states;
+    }
+
+    private StateList readStateList(XMLStreamReader reader) throws XMLStreamException {
+        StateList stateList = new StateList();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "count":
+                    stateList.setCount(toInteger(reader, value));
+                    break;
+                case "value":
+                    stateList.setValue(value);
+                    break;
+                case "delimiters":
+                    stateList.setDelimiters(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        while (nextChild(reader)) {
+            if ("state".equals(reader.getLocalName())) {
+                if (stateList.getStates() == null) {
+                    stateList.setStates(new ArrayList<>());
+                }
+                stateList.getStates().add(readState(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return stateList;
+    }
+
+    private State readState(XMLStreamReader reader) throws XMLStreamException {
+        State state = new State();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "name":
+                    state.setName(value);
+                    break;
+                case "input":
+                    state.setInput(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        skipElement(reader);
+        return state;
+    }
+
+    private Sounds readSounds(XMLStreamReader reader) throws XMLStreamException {
+        Sounds sounds = new Sounds();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if ("count".equals(reader.getAttributeLocalName(i))) {
+                sounds.setCount(toInteger(reader, reader.getAttributeValue(i)));
+            }
+        }
+        while (nextChild(reader)) {
+            if ("sound".equals(reader.getLocalName())) {
+                if (sounds.getSounds() == null) {
+                    sounds.setSounds(new ArrayList<>());
+                }
+                sounds.getSounds().add(readSound(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return sounds;
+    }
+
+    private Sound readSound(XMLStreamReader reader) throws XMLStreamException {
+        Sound sound = new Sound();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "url":
+                    sound.setUrl(value);
+                    break;
+                case "type":
+                    sound.setType(audioTypes.get(value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        skipElement(reader);
+        return sound;
+    }
+
+    private Assumptions readAssumptions(XMLStreamReader reader) throws XMLStreamException {
+        Assumptions assumptions = new Assumptions();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if ("count".equals(reader.getAttributeLocalName(i))) {
+                assumptions.setCount(toInteger(reader, reader.getAttributeValue(i)));
+            }
+        }
+        while (nextChild(reader)) {
+            if ("assumption".equals(reader.getLocalName())) {
+                if (assumptions.getAssumptions() == null) {
+                    assumptions.setAssumptions(new ArrayList<>());
+                }
+                assumptions.getAssumptions().add(readAssumption(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return assumptions;
+    }
+
+    private Assumption readAssumption(XMLStreamReader reader) throws XMLStreamException {
+        Assumption assumption = new Assumption();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "type":
+                    assumption.setType(assumptionTypes.get(value));
+                    break;
+                case "word":
+                    assumption.setWord(value);
+                    break;
+                case "template":
+                    assumption.setTemplate(value);
+                    break;
+                case "count":
+                    assumption.setCount(toInteger(reader, value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        while (nextChild(reader)) {
+            if ("value".equals(reader.getLocalName())) {
+                if (assumption.getValues() == null) {
+                    assumption.setValues(new ArrayList<>());
+                }
+                assumption.getValues().add(readAssumptionValue(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return assumption;
+    }
+
+    private AssumptionValue readAssumptionValue(XMLStreamReader reader) throws XMLStreamException {
+        AssumptionValue value = new AssumptionValue();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attribute = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "name":
+                    value.setName(attribute);
+                    break;
+                case "desc":
+                    value.setDescription(attribute);
+                    break;
+                case "input":
+                    value.setInput(attribute);
+                    break;
+                default:
+                    break;
+            }
+        }
+        skipElement(reader);
+        return value;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readMathMl(XMLStreamReader reader) throws XMLStreamException {
+        Object value = readUntyped(reader);
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+
+    /**
+     * Reads any element as a map of attributes and child elements or as a text if it has neither of them
+     */
+    @Nullable
+    private Object readUntyped(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, Object> values = null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (values == null) {
+                values = new LinkedHashMap<>();
+            }
+            values.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        StringBuilder text = null;
+        boolean hasChildren = false;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (values == null) {
+                    values = new LinkedHashMap<>();
+                }
+                hasChildren = true;
+                String name = reader.getLocalName();
+                values.put(name, readUntyped(reader));
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(reader.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        if (values == null) {
+            return text == null ? null : text.toString();
+        }
+        if (!hasChildren && text != null) {
+            values.put("", text.toString());
+        }
+        return values;
+    }
+
+    /**
+     * Reads text content of current element. Nested elements are skipped.
+     *
+     * @return element text or null if element is empty
+     */
+    @Nullable
+    private String readText(XMLStreamReader reader) throws XMLStreamException {
+        String text = isEmptyElement(reader) ? null : "";
+        StringBuilder builder = null;
+        int depth = 0;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth-- == 0) {
+                    break;
+                }
+            } else if (depth == 0 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                if (text == null || text.isEmpty()) {
+                    text = reader.getText();
+                } else {
+                    if (builder == null) {
+                        builder = new StringBuilder(text);
+                    }
+                    builder.append(reader.getText());
+                }
+            }
+        }
+        return builder == null ? text : builder.toString();
+    }
+
+    /**
+     * Moves reader to the next child element of current one
+     *
+     * @return true if reader is on child start element, false if reader reached the end of current element
+     */
+    private boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Moves reader to the end of current element skipping all its content
+     */
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT && depth-- == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isEmptyElement(XMLStreamReader reader) throws XMLStreamException {
+        return !(reader instanceof XMLStreamReader2) || ((XMLStreamReader2) reader).isEmptyElement();
+    }
+
+    private static void toRootElement(XMLStreamReader reader, String name) throws XMLStreamException {
+        reader.nextTag();
+        if (!name.equals(reader.getLocalName())) {
+            throw new XMLStreamException(String.format("Expected <%s> but found <%s>", name, reader.getLocalName()),
+                    reader.getLocation());
+        }
+    }
+
+    private static Boolean toBoolean(String value) {
+        return Boolean.valueOf(value);
+    }
+
+    @Nullable
+    private static Integer toInteger(XMLStreamReader reader, String value) throws XMLStreamException {
+        try {
+            return value.isEmpty() ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Malformed integer value: " + value, reader.getLocation(), e);
+        }
+    }
+
+    @Nullable
+    private static Float toFloat(XMLStreamReader reader, String value) throws XMLStreamException {
+        try {
+            return value.isEmpty() ? null : Float.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Malformed float value: " + value, reader.getLocation(), e);
+        }
+    }
+
+    private static List<String> toList(String value) {
+        return new ArrayList<>(Collections.singletonList(value));
+    }
+
+    static String unwrapCData(String data) {
+        try {
+            return new CDATAAdapter().unmarshal(data);
+        } catch (Exception e) {
+            return data;
+        }
+    }
+
+    static <E extends Enum<E>> Map<String, E> enumValues(Class<E> enumClass) {
+        Map<String, E> values = new HashMap<>();
+        for (E constant : enumClass.getEnumConstants()) {
+            try {
+                XmlEnumValue xmlValue = enumClass.getField(constant.name()).getAnnotation(XmlEnumValue.class);
+                values.put(xmlValue == null ? constant.name() : xmlValue.value(), constant);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads model from reader positioned on its start element
+     *
+     * @param <T> model type
+     */
+    @FunctionalInterface
+    interface ElementReader<T> {
+        T read(XMLStreamReader reader) throws XMLStreamException;
+    }
+}
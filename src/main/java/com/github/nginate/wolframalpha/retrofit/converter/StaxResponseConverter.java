@@ -0,0 +1,83 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.GeneratedModelReader;
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Converts XML response to model classes reading it directly from response stream with {@link StaxModelReader}.
+ * Alternative to {@link ResponseConverter} for large responses, as document is never materialized as a string.
+ * Model could be read either with hand-written {@link StaxModelReader} or with {@link GeneratedModelReader} generated
+ * at compile time from JAXB annotations of model classes.
+ *
+ * @param <T> response type
+ */
+public class StaxResponseConverter<T> implements Converter<ResponseBody, T> {
+    private static final StaxModelReader modelReader = new StaxModelReader();
+
+    private final StreamReader<T> streamReader;
+
+    private StaxResponseConverter(StreamReader<T> streamReader) {
+        this.streamReader = streamReader;
+    }
+
+    public static StaxResponseConverter<QueryResult> queryResult() {
+        return new StaxResponseConverter<>(modelReader::readQueryResult);
+    }
+
+    /**
+     * @param projection model paths to read
+     * @return converter reading only projected part of query result
+     */
+    public static StaxResponseConverter<QueryResult> queryResult(Projection projection) {
+        return new StaxResponseConverter<>(new StaxModelReader(projection)::readQueryResult);
+    }
+
+    public static StaxResponseConverter<Pod> pod() {
+        return new StaxResponseConverter<>(modelReader::readPod);
+    }
+
+    /**
+     * @param projection model paths to read, paths under 'pods' are applied to pod
+     * @return converter reading only projected part of pod
+     */
+    public static StaxResponseConverter<Pod> pod(Projection projection) {
+        return new StaxResponseConverter<>(new StaxModelReader(projection)::readPod);
+    }
+
+    /**
+     * @return converter reading query result with {@link GeneratedModelReader} generated from model annotations
+     */
+    public static StaxResponseConverter<QueryResult> generatedQueryResult() {
+        return new StaxResponseConverter<>(inputStream -> StaxModelReader.readDocument(inputStream, "queryresult",
+                GeneratedModelReader::readQueryResult));
+    }
+
+    /**
+     * @return converter reading pod with {@link GeneratedModelReader} generated from model annotations
+     */
+    public static StaxResponseConverter<Pod> generatedPod() {
+        return new StaxResponseConverter<>(inputStream -> StaxModelReader.readDocument(inputStream, "pod",
+                GeneratedModelReader::readPod));
+    }
+
+    @Override
+    public T convert(ResponseBody value) throws IOException {
+        try (ResponseBody body = value; InputStream inputStream = body.byteStream()) {
+            return streamReader.read(inputStream);
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse response", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StreamReader<T> {
+        T read(InputStream inputStream) throws XMLStreamException;
+    }
+}
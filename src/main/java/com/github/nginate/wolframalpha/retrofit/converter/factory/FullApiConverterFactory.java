@@ -1,11 +1,23 @@
 package com.github.nginate.wolframalpha.retrofit.converter.factory;
 
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import com.github.nginate.wolframalpha.metrics.MetricsRecorder;
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultType;
 import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
 import com.github.nginate.wolframalpha.retrofit.BooleanTimeout;
 import com.github.nginate.wolframalpha.retrofit.converter.AsyncTimeoutConverter;
 import com.github.nginate.wolframalpha.retrofit.converter.CommaJoiningConverter;
 import com.github.nginate.wolframalpha.retrofit.converter.GeoCoordsConverter;
+import com.github.nginate.wolframalpha.retrofit.converter.JsonResponseConverter;
+import com.github.nginate.wolframalpha.retrofit.converter.MeasuredResponseConverter;
+import com.github.nginate.wolframalpha.retrofit.converter.ParserType;
+import com.github.nginate.wolframalpha.retrofit.converter.Projection;
 import com.github.nginate.wolframalpha.retrofit.converter.ResponseConverter;
+import com.github.nginate.wolframalpha.retrofit.converter.ResultTypeConverter;
+import com.github.nginate.wolframalpha.retrofit.converter.ResultTypeDispatchingConverter;
+import com.github.nginate.wolframalpha.retrofit.converter.StaxResponseConverter;
 import okhttp3.ResponseBody;
 import retrofit2.Converter;
 import retrofit2.Retrofit;
@@ -24,18 +36,81 @@ public class FullApiConverterFactory extends Converter.Factory {
     private final AsyncTimeoutConverter asyncTimeoutConverter = new AsyncTimeoutConverter();
     private final GeoCoordsConverter geoCoordsConverter = new GeoCoordsConverter();
     private final CommaJoiningConverter commaJoiningConverter = new CommaJoiningConverter();
-    private final ResponseConverter responseConverter = new ResponseConverter();
+    private final ResultTypeConverter resultTypeConverter = new ResultTypeConverter();
+    private final Converter<ResponseBody, QueryResult> responseConverter;
+    private final Converter<ResponseBody, Pod> podConverter;
 
-    private FullApiConverterFactory() {
+    private FullApiConverterFactory(ParserType parserType, MetricsRecorder metricsRecorder, Projection projection) {
+        if (!projection.isAll() && parserType != ParserType.STAX) {
+            throw new IllegalArgumentException("Projection of XML responses is only supported by STAX parser, not "
+                    + parserType);
+        }
+        Converter<ResponseBody, QueryResult> queryResultConverter;
+        Converter<ResponseBody, Pod> asyncPodConverter;
+        switch (parserType) {
+            case STAX:
+                queryResultConverter = StaxResponseConverter.queryResult(projection);
+                asyncPodConverter = StaxResponseConverter.pod(projection);
+                break;
+            case GENERATED:
+                queryResultConverter = StaxResponseConverter.generatedQueryResult();
+                asyncPodConverter = StaxResponseConverter.generatedPod();
+                break;
+            case JACKSON:
+            default:
+                queryResultConverter = new ResponseConverter<>(QueryResult.class);
+                asyncPodConverter = new ResponseConverter<>(Pod.class);
+                break;
+        }
+        queryResultConverter = new ResultTypeDispatchingConverter<>(queryResultConverter,
+                new JsonResponseConverter(projection));
+        if (metricsRecorder != MetricsRecorder.NONE) {
+            queryResultConverter = new MeasuredResponseConverter<>(queryResultConverter, metricsRecorder, ApiType.FULL);
+            asyncPodConverter = new MeasuredResponseConverter<>(asyncPodConverter, metricsRecorder, ApiType.ASYNC_POD);
+        }
+        responseConverter = queryResultConverter;
+        podConverter = asyncPodConverter;
     }
 
     public static FullApiConverterFactory create() {
-        return new FullApiConverterFactory();
+        return create(ParserType.JACKSON);
+    }
+
+    /**
+     * @param parserType parser used to read responses
+     * @return converter factory reading responses with requested parser
+     */
+    public static FullApiConverterFactory create(ParserType parserType) {
+        return create(parserType, MetricsRecorder.NONE);
+    }
+
+    /**
+     * @param parserType      parser used to read responses
+     * @param metricsRecorder recorder of parsing time and server timings
+     * @return converter factory reading responses with requested parser
+     */
+    public static FullApiConverterFactory create(ParserType parserType, MetricsRecorder metricsRecorder) {
+        return create(parserType, metricsRecorder, Projection.ALL);
+    }
+
+    /**
+     * @param parserType      parser used to read responses
+     * @param metricsRecorder recorder of parsing time and server timings
+     * @param projection      model paths to read, everything else is skipped while parsing
+     * @return converter factory reading responses with requested parser
+     * @throws IllegalArgumentException if projection is not supported by parser
+     */
+    public static FullApiConverterFactory create(ParserType parserType, MetricsRecorder metricsRecorder,
+                                                 Projection projection) {
+        return new FullApiConverterFactory(parserType, metricsRecorder, projection);
     }
 
     @Nullable
     @Override
     public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type == Pod.class) {
+            return podConverter;
+        }
         return responseConverter;
     }
 
@@ -53,6 +128,9 @@ public class FullApiConverterFactory extends Converter.Factory {
         if (GeoCoordinates.class.isAssignableFrom(rawParameterType)) {
             return geoCoordsConverter;
         }
+        if (rawParameterType == ResultType.class) {
+            return resultTypeConverter;
+        }
         return paramsConverter.stringConverter(type, annotations, retrofit);
     }
 
@@ -0,0 +1,108 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.appid.AppIdPool;
+import com.github.nginate.wolframalpha.exceptions.InvalidAppIdException;
+import com.github.nginate.wolframalpha.exceptions.RateLimitExceededException;
+import com.github.nginate.wolframalpha.exceptions.WolframClientException;
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Adds app id from {@link AppIdPool} to API requests made without one. If API rejects app id as invalid or rate
+ * limited, it is taken out of rotation and request is repeated with the next available app id. Requests stopped by
+ * client side {@link RateLimitingInterceptor} are failed without benching app id, as API has not seen them. Requests
+ * with explicit app id are passed as is.
+ * <p>
+ * Full results API reports invalid app id in successful response, as query result error with code 1, so head of its
+ * responses is checked for such error. When no other app id is left, that response is returned as is.
+ * <p>
+ * Should be placed before {@link RateLimitingInterceptor}, so requests are limited per app id they were sent with.
+ */
+@Slf4j
+public class AppIdPoolInterceptor implements Interceptor {
+    private static final String APP_ID_PARAMETER = "appid";
+    private static final Set<ApiType> APIS = EnumSet.of(ApiType.SIMPLE, ApiType.SPOKEN, ApiType.SHORT, ApiType.FULL);
+    /**
+     * Enough to cover query result attributes and error element, which come first in both XML and JSON responses
+     */
+    private static final long RESULT_HEAD_SIZE = 2048;
+    private static final Pattern INVALID_APP_ID_RESULT = Pattern.compile(
+            "error=['\"]true['\"][^>]*>\\s*<error>\\s*<code>\\s*1\\s*</code>"
+                    + "|\"error\"\\s*:\\s*\\{[^}]*\"code\"\\s*:\\s*\"?1\"?\\s*[,}]");
+
+    private final AppIdPool pool;
+
+    public AppIdPoolInterceptor(AppIdPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.url().queryParameter(APP_ID_PARAMETER) != null || !APIS.contains(ApiType.of(request.url()))) {
+            return chain.proceed(request);
+        }
+
+        Set<String> tried = new HashSet<>();
+        while (true) {
+            AppIdPool.Key key = pool.acquire(tried);
+            if (key == null) {
+                throw new WolframClientException("No app id available");
+            }
+            tried.add(key.getAppId());
+            try {
+                Response response = chain.proceed(request.newBuilder()
+                        .url(request.url().newBuilder().addQueryParameter(APP_ID_PARAMETER, key.getAppId()).build())
+                        .build());
+                if (!isInvalidAppIdResult(response)
+                        || !reject(key, pool.getInvalidCooldown(), tried, "Invalid appid in query result")) {
+                    return response;
+                }
+                response.close();
+            } catch (InvalidAppIdException e) {
+                rejectOrThrow(key, pool.getInvalidCooldown(), tried, e);
+            } catch (RateLimitExceededException e) {
+                if (!e.isRejectedByApi()) {
+                    throw e;
+                }
+                rejectOrThrow(key, pool.getRateLimitedCooldown(), tried, e);
+            } finally {
+                pool.release(key);
+            }
+        }
+    }
+
+    private void rejectOrThrow(AppIdPool.Key key, Duration cooldown, Set<String> tried, WolframClientException e) {
+        if (!reject(key, cooldown, tried, e.getMessage())) {
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if there is another app id to repeat request with
+     */
+    private boolean reject(AppIdPool.Key key, Duration cooldown, Set<String> tried, String reason) {
+        log.warn("App id {} is out of rotation for {} : {}", mask(key.getAppId()), cooldown, reason);
+        pool.coolDown(key, cooldown);
+        return pool.hasAvailable(tried);
+    }
+
+    private static boolean isInvalidAppIdResult(Response response) throws IOException {
+        return response.code() == 200 && ApiType.of(response.request().url()) == ApiType.FULL
+                && INVALID_APP_ID_RESULT.matcher(response.peekBody(RESULT_HEAD_SIZE).string()).find();
+    }
+
+    private static String mask(String appId) {
+        return appId.length() <= 4 ? "****" : appId.substring(0, 4) + "****";
+    }
+}
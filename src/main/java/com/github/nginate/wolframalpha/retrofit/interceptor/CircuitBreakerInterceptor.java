@@ -0,0 +1,62 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.exceptions.CircuitBreakerOpenException;
+import com.github.nginate.wolframalpha.exceptions.ServiceUnavailableException;
+import com.github.nginate.wolframalpha.resilience.CircuitBreaker;
+import com.github.nginate.wolframalpha.resilience.CircuitBreakerConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejects requests with {@link CircuitBreakerOpenException} without sending them while {@link CircuitBreaker} of their
+ * host is open. I/O errors and {@link ServiceUnavailableException} are counted as failures; other API errors mean
+ * server is up, so are counted as successes.
+ */
+@Slf4j
+public class CircuitBreakerInterceptor implements Interceptor {
+    private final CircuitBreakerConfiguration configuration;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(CircuitBreakerConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String host = request.url().host();
+        CircuitBreaker breaker = breakers.computeIfAbsent(host, key -> new CircuitBreaker(configuration));
+        if (!breaker.tryAcquire(System.nanoTime())) {
+            throw new CircuitBreakerOpenException("Circuit breaker is open for " + host);
+        }
+        try {
+            Response response = chain.proceed(request);
+            breaker.onSuccess();
+            return response;
+        } catch (IOException | ServiceUnavailableException e) {
+            if (chain.call().isCanceled()) {
+                breaker.onIgnored();
+            } else {
+                onFailure(breaker, host);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.onSuccess();
+            throw e;
+        }
+    }
+
+    private void onFailure(CircuitBreaker breaker, String host) {
+        CircuitBreaker.State previous = breaker.getState();
+        breaker.onFailure(System.nanoTime());
+        if (previous != CircuitBreaker.State.OPEN && breaker.getState() == CircuitBreaker.State.OPEN) {
+            log.warn("Circuit breaker opened for {} for {}", host, configuration.getOpenDuration());
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.github.nginate.wolframalpha.retrofit.interceptor;
 
 import com.github.nginate.wolframalpha.exceptions.InvalidAppIdException;
 import com.github.nginate.wolframalpha.exceptions.MissingAppIdException;
+import com.github.nginate.wolframalpha.exceptions.RateLimitExceededException;
+import com.github.nginate.wolframalpha.exceptions.ServiceUnavailableException;
 import com.github.nginate.wolframalpha.exceptions.WolframClientException;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -11,16 +13,17 @@ import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import static com.github.nginate.wolframalpha.util.RetrofitUtil.getRequestId;
 import static com.github.nginate.wolframalpha.util.RetrofitUtil.responseBodyToString;
 
 @Slf4j
 public class DocumentedErrorsInterceptor implements Interceptor {
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
     private static final Map<String, Supplier<? extends WolframClientException>> exceptionBuilders;
 
     static {
@@ -34,12 +37,17 @@ public class DocumentedErrorsInterceptor implements Interceptor {
         Request request = chain.request();
         Response response = chain.proceed(request);
 
-        int requestId = getRequestId(request);
-
         int code = response.code();
         if (code != 200) {
             String body = Optional.ofNullable(response.body()).map(this::readBody).orElse("");
-            log.warn("{} <--- received error response : {}", requestId, body);
+            log.warn("{} <--- received error response : {}", RequestId.of(request), body);
+            if (code == HTTP_TOO_MANY_REQUESTS) {
+                throw new RateLimitExceededException(body, true);
+            }
+            if (code == HttpURLConnection.HTTP_BAD_GATEWAY || code == HttpURLConnection.HTTP_UNAVAILABLE
+                    || code == HttpURLConnection.HTTP_GATEWAY_TIMEOUT) {
+                throw new ServiceUnavailableException(code, body);
+            }
             throw exceptionBuilders.getOrDefault(body, () -> new WolframClientException(body)).get();
         }
         return response;
@@ -0,0 +1,24 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.retrofit.TunneledException;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Should be the first interceptor of a chain to catch runtime exceptions thrown by any other one. Being the outermost
+ * one, it also tags request with {@link RequestId}, so all the inner interceptors are logging the same id.
+ *
+ * @see TunneledException
+ */
+public class ExceptionTunnelingInterceptor implements Interceptor {
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        try {
+            return chain.proceed(RequestId.tag(chain.request()));
+        } catch (RuntimeException e) {
+            throw new TunneledException(e);
+        }
+    }
+}
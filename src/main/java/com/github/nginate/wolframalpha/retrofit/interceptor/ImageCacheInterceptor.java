@@ -0,0 +1,102 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import com.github.nginate.wolframalpha.simple.DiskImageCache;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ByteString;
+import okio.Okio;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serves Simple API images from {@link DiskImageCache}. Images are keyed by query parameters except app id and
+ * timeout, as they are not changing the image. Missing images are requested, written to cache and then served from it,
+ * so image body is never kept in memory. Images are served with content type of the response they were cached from.
+ * If image could not be written to cache, it is requested once more and served without caching.
+ * <p>
+ * Should be placed right after {@link ExceptionTunnelingInterceptor}, so cached images are not taking app ids or rate
+ * limit permits.
+ */
+@Slf4j
+public class ImageCacheInterceptor implements Interceptor {
+    private static final Set<String> IGNORED_PARAMETERS = new HashSet<>(Arrays.asList("appid", "timeout"));
+    private static final MediaType DEFAULT_CONTENT_TYPE = MediaType.parse("image/gif");
+
+    private final DiskImageCache cache;
+
+    public ImageCacheInterceptor(DiskImageCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (ApiType.of(request.url()) != ApiType.SIMPLE || !"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+        String key = key(request.url());
+        DiskImageCache.Image cached = cache.open(key);
+        if (cached != null) {
+            MediaType contentType = Optional.ofNullable(cached.getContentType())
+                    .map(MediaType::parse)
+                    .orElse(DEFAULT_CONTENT_TYPE);
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .header("Content-Type", contentType.toString())
+                    .body(body(cached, contentType))
+                    .build();
+        }
+
+        Response response = chain.proceed(request);
+        ResponseBody body = response.body();
+        if (body == null || !response.isSuccessful()) {
+            return response;
+        }
+        MediaType contentType = body.contentType();
+        DiskImageCache.Image image;
+        try (ResponseBody ignored = body) {
+            image = cache.put(key, contentType == null ? null : contentType.toString(), body.source());
+        } catch (IOException e) {
+            log.warn("{} <--- could not cache image, requesting it again : {}", RequestId.of(request), e.toString());
+            return chain.proceed(request);
+        }
+        return response.newBuilder()
+                .body(body(image, contentType))
+                .build();
+    }
+
+    private static String key(HttpUrl url) {
+        List<String> parameters = new ArrayList<>();
+        for (int i = 0; i < url.querySize(); i++) {
+            String name = url.queryParameterName(i);
+            if (!IGNORED_PARAMETERS.contains(name)) {
+                parameters.add(name + '=' + url.queryParameterValue(i));
+            }
+        }
+        parameters.sort(null);
+        return ByteString.encodeUtf8(url.encodedPath() + '?' + String.join("&", parameters)).sha256().hex();
+    }
+
+    private static ResponseBody body(DiskImageCache.Image image, @Nullable MediaType contentType) {
+        return ResponseBody.create(contentType, image.getSize(), Okio.buffer(Okio.source(Channels.newInputStream(
+                image.getChannel()))));
+    }
+}
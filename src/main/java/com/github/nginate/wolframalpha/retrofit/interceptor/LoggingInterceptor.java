@@ -1,43 +1,68 @@
 package com.github.nginate.wolframalpha.retrofit.interceptor;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import okhttp3.internal.http.HttpHeaders;
+import okio.Buffer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
-import static com.github.nginate.wolframalpha.util.RetrofitUtil.*;
-
+/**
+ * Logs http exchanges on INFO level with configurable amount of details. Nothing is formatted or read unless INFO is
+ * enabled for this logger. Bodies are never buffered as a whole: at most {@code maxBodySize} bytes are peeked and
+ * logged, binary bodies (e.g. images) are not read at all. Only request lines and response statuses are logged by
+ * default, headers and bodies may carry app ids and large payloads, so they should be enabled explicitly.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class LoggingInterceptor implements Interceptor {
+    public static final Level DEFAULT_LEVEL = Level.BASIC;
+    public static final long DEFAULT_MAX_BODY_SIZE = 4096;
+
+    private final Level level;
+    private final long maxBodySize;
+
+    public LoggingInterceptor() {
+        this(DEFAULT_LEVEL, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * @param level       details to log
+     * @param maxBodySize max number of body bytes to log, the rest is truncated
+     */
+    public LoggingInterceptor(Level level, long maxBodySize) {
+        this.level = level;
+        this.maxBodySize = maxBodySize;
+    }
 
     @Override
     public Response intercept(@Nonnull Chain chain) throws IOException {
-        Request request = chain.request();
-        if (!log.isInfoEnabled()) {
-            return chain.proceed(request);
+        if (level == Level.NONE || !log.isInfoEnabled()) {
+            return chain.proceed(chain.request());
         }
-
-        int requestId = getRequestId(request);
+        Request request = chain.request();
+        RequestId requestId = RequestId.of(request);
 
         log.info("{} ---> {} {}", requestId, request.method(), request.url());
+        if (level.includes(Level.HEADERS) && request.headers().size() > 0) {
+            log.info("{} ---> headers : {}", requestId, lazy(() -> formatHeaders(request.headers())));
+        }
         RequestBody requestBody = request.body();
         if (requestBody != null) {
             log.info("{} ---> {} bytes of {}", requestId, requestBody.contentLength(), requestBody.contentType());
-
-            Headers headers = request.headers();
-            log.debug("{} ---> headers : {}", requestId, formatHeadersForLog(headers));
-            if (!bodyEncoded(headers)) {
-                log.info("{} ---> {}", requestId, requestBodyToString(requestBody));
+            if (level.includes(Level.BODY) && !bodyEncoded(request.headers()) && isText(requestBody.contentType())
+                    && requestBody.contentLength() >= 0 && requestBody.contentLength() <= maxBodySize) {
+                Buffer buffer = new Buffer();
+                requestBody.writeTo(buffer);
+                log.info("{} ---> {}", requestId, buffer.readString(StandardCharsets.UTF_8));
             }
         }
 
-        long startMs = System.currentTimeMillis();
+        long start = System.nanoTime();
         Response response;
         try {
             response = chain.proceed(request);
@@ -45,21 +70,25 @@ public class LoggingInterceptor implements Interceptor {
             log.error("{} ---> failed : {}", requestId, e.getMessage(), e);
             throw e;
         }
-        long tookMs = TimeUnit.MILLISECONDS.toMillis(System.currentTimeMillis() - startMs);
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 
         ResponseBody responseBody = response.body();
-        long size = Optional.ofNullable(responseBody).map(ResponseBody::contentLength).orElse(0L);
+        long size = responseBody == null ? 0 : responseBody.contentLength();
         log.info("{} <--- {} {} [{} bytes] : took {} ms", requestId, response.code(), response.message(), size, tookMs);
-
-        Headers headers = response.headers();
-        log.debug("{} <--- headers : {}", requestId, formatHeadersForLog(headers));
-        if (HttpHeaders.hasBody(response)) {
-            if (bodyEncoded(headers)) {
+        if (level.includes(Level.HEADERS)) {
+            log.info("{} <--- headers : {}", requestId, lazy(() -> formatHeaders(response.headers())));
+        }
+        if (level.includes(Level.BODY) && responseBody != null && HttpHeaders.hasBody(response)) {
+            if (bodyEncoded(response.headers())) {
                 log.info("{} <--- body encoded", requestId);
+            } else if (!isText(responseBody.contentType())) {
+                log.info("{} <--- binary body of {}", requestId, responseBody.contentType());
             } else if (size == 0) {
                 log.info("{} <--- body is empty", requestId);
-            } else if (responseBody != null) {
-                log.info("{} <--- response body", requestId, responseBodyToString(responseBody));
+            } else {
+                ResponseBody peeked = response.peekBody(maxBodySize);
+                boolean truncated = size > maxBodySize || (size < 0 && peeked.contentLength() == maxBodySize);
+                log.info("{} <--- {}{}", requestId, peeked.string(), truncated ? "... (truncated)" : "");
             }
         }
         return response;
@@ -70,14 +99,63 @@ public class LoggingInterceptor implements Interceptor {
         return contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity");
     }
 
-    private String formatHeadersForLog(Headers headers) {
-        return headers.names()
-                .stream()
-                .map(name -> {
-                    String headerValues = headers.values(name).stream().reduce((s, s2) -> s + ", " + s2).orElse("");
-                    return String.format("%s=[%s]", name, headerValues);
-                })
-                .reduce((s, s2) -> s + "; " + s2)
-                .orElse("");
+    /**
+     * Only text bodies are logged, binary ones (e.g. images) are not buffered, so streamed responses stay streamed
+     */
+    private boolean isText(@Nullable MediaType mediaType) {
+        if (mediaType == null) {
+            return true;
+        }
+        String subtype = mediaType.subtype();
+        return "text".equals(mediaType.type()) || subtype.contains("xml") || subtype.contains("json");
+    }
+
+    private String formatHeaders(Headers headers) {
+        StringBuilder builder = new StringBuilder();
+        for (String name : headers.names()) {
+            if (builder.length() > 0) {
+                builder.append("; ");
+            }
+            builder.append(name).append("=[").append(String.join(", ", headers.values(name))).append(']');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return argument formatted by logger only if message is actually written
+     */
+    private static Object lazy(Supplier<String> formatter) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return formatter.get();
+            }
+        };
+    }
+
+    /**
+     * Amount of logged details, each level includes all the previous ones
+     */
+    public enum Level {
+        /**
+         * Nothing is logged
+         */
+        NONE,
+        /**
+         * Request line, response code, size and time
+         */
+        BASIC,
+        /**
+         * Request and response headers
+         */
+        HEADERS,
+        /**
+         * Text bodies up to the configured size
+         */
+        BODY;
+
+        boolean includes(Level level) {
+            return compareTo(level) >= 0;
+        }
     }
 }
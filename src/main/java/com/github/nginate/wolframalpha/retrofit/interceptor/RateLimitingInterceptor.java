@@ -0,0 +1,73 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.exceptions.RateLimitExceededException;
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import com.github.nginate.wolframalpha.metrics.Metric;
+import com.github.nginate.wolframalpha.metrics.MetricsRecorder;
+import com.github.nginate.wolframalpha.ratelimit.RateLimitConfiguration;
+import com.github.nginate.wolframalpha.ratelimit.TokenBucket;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits request rate per app id with {@link TokenBucket token bucket}. Request exceeding the limit is waiting for a
+ * permit up to {@link RateLimitConfiguration#getMaxWait() max wait} time, then fails with {@link
+ * RateLimitExceededException}. Time spent waiting is recorded as {@link Metric#RATE_LIMIT_WAIT}. Requests without
+ * app id, e.g. async pods, are not limited. Permit of request interrupted while waiting is given back.
+ * <p>
+ * Waiting request is holding http client dispatcher slot, so should be placed after {@link
+ * ExceptionTunnelingInterceptor} but before other interceptors to keep waiting out of their timings. The exceptions
+ * are {@link RetryInterceptor}, which goes before, so each retry takes its own permit, and {@link
+ * CircuitBreakerInterceptor}, which goes before as well, so requests rejected by open breaker fail fast instead of
+ * waiting for a permit.
+ */
+public class RateLimitingInterceptor implements Interceptor {
+    private static final String APP_ID_PARAMETER = "appid";
+
+    private final RateLimitConfiguration configuration;
+    private final MetricsRecorder recorder;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitingInterceptor(RateLimitConfiguration configuration, MetricsRecorder recorder) {
+        this.configuration = configuration;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String appId = request.url().queryParameter(APP_ID_PARAMETER);
+        if (appId != null) {
+            acquire(appId, ApiType.of(request.url()));
+        }
+        return chain.proceed(request);
+    }
+
+    private void acquire(String appId, ApiType api) throws InterruptedIOException {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(appId, key ->
+                new TokenBucket(configuration.getPermitsPerSecond(), configuration.getBurst(), now));
+        long wait = bucket.reserve(now, configuration.getMaxWait().toNanos());
+        if (wait < 0) {
+            throw new RateLimitExceededException(String.format("Rate limit of %s requests per second exceeded",
+                    configuration.getPermitsPerSecond()));
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                bucket.release();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for rate limit permit");
+            }
+        }
+        recorder.record(Metric.RATE_LIMIT_WAIT, api, wait);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import okhttp3.Request;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequential request number used to match log lines of the same exchange. Assigned once by {@link
+ * ExceptionTunnelingInterceptor}, the outermost interceptor, and carried as request tag, so inner interceptors are
+ * logging the same id, including every retry attempt.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestId {
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final RequestId UNKNOWN = new RequestId(0);
+
+    private final long id;
+
+    /**
+     * @param request request to tag
+     * @return request tagged with new id or the same request if it is already tagged
+     */
+    public static Request tag(Request request) {
+        if (request.tag() instanceof RequestId) {
+            return request;
+        }
+        return request.newBuilder().tag(new RequestId(sequence.incrementAndGet())).build();
+    }
+
+    /**
+     * @param request tagged request
+     * @return request id or 0 if request is not tagged
+     */
+    public static RequestId of(Request request) {
+        Object tag = request.tag();
+        return tag instanceof RequestId ? (RequestId) tag : UNKNOWN;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(id);
+    }
+}
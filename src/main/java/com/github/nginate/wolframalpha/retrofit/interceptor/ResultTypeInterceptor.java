@@ -0,0 +1,37 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import com.github.nginate.wolframalpha.model.ResultType;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Adds default output format to Full results API requests made without explicit one, so all clients sharing http
+ * client are getting responses in the same format unless requested otherwise. Other APIs requests are passed as is.
+ * <p>
+ * Should be placed before {@link LoggingInterceptor}, so logged request shows actual output format.
+ */
+public class ResultTypeInterceptor implements Interceptor {
+    private static final String OUTPUT_PARAMETER = "output";
+
+    private final String output;
+
+    public ResultTypeInterceptor(ResultType resultType) {
+        this.output = resultType.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.url().queryParameter(OUTPUT_PARAMETER) != null || ApiType.of(request.url()) != ApiType.FULL) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request.newBuilder()
+                .url(request.url().newBuilder().addQueryParameter(OUTPUT_PARAMETER, output).build())
+                .build());
+    }
+}
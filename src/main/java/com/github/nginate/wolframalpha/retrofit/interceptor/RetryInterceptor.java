@@ -0,0 +1,76 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.exceptions.ServiceUnavailableException;
+import com.github.nginate.wolframalpha.resilience.RetryBudget;
+import com.github.nginate.wolframalpha.resilience.RetryConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeats idempotent (GET, HEAD) requests failed with I/O error or {@link ServiceUnavailableException}, waiting
+ * exponential backoff with full jitter between attempts. Retries are capped with {@link RetryBudget budget} shared by
+ * all requests; cancelled calls and other API errors are not retried.
+ * <p>
+ * Should be placed before {@link CircuitBreakerInterceptor}, so retries stop once breaker opens, which in turn goes
+ * before {@link RateLimitingInterceptor}, so every attempt takes its own rate limit permit but attempts rejected by
+ * open breaker are not waiting for one. Interceptors added later are the inner ones and run on every attempt.
+ */
+@Slf4j
+public class RetryInterceptor implements Interceptor {
+    private final RetryConfiguration configuration;
+    private final RetryBudget budget;
+
+    public RetryInterceptor(RetryConfiguration configuration) {
+        this.configuration = configuration;
+        this.budget = new RetryBudget(configuration.getBudgetRatio(), configuration.getMaxBurst());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        budget.onRequest();
+        if (!isIdempotent(request)) {
+            return chain.proceed(request);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return chain.proceed(request);
+            } catch (IOException | ServiceUnavailableException e) {
+                if (attempt >= configuration.getMaxAttempts() || chain.call().isCanceled() || !budget.tryRetry()) {
+                    throw e;
+                }
+                long backoff = backoff(attempt);
+                log.debug("{} <--- attempt {} failed, retrying in {} ms : {}", RequestId.of(request), attempt,
+                        TimeUnit.NANOSECONDS.toMillis(backoff), e.toString());
+                sleep(backoff);
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        long max = configuration.getMaxBackoff().toNanos();
+        long base = configuration.getBaseBackoff().toNanos();
+        long ceiling = attempt > 62 || base > max >> (attempt - 1) ? max : base << (attempt - 1);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean isIdempotent(Request request) {
+        return "GET".equals(request.method()) || "HEAD".equals(request.method());
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry request");
+        }
+    }
+}
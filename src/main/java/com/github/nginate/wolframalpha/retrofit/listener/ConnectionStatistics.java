@@ -0,0 +1,129 @@
+package com.github.nginate.wolframalpha.retrofit.listener;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection reuse counters for a shared http client. Every call acquires a connection from the pool; only calls that
+ * had to open a new socket (and perform TLS handshake for https) are counted as opened connections, so the difference
+ * shows how many calls were served by already established connections.
+ */
+public class ConnectionStatistics extends EventListener {
+    private final ConnectionPool connectionPool;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder connectionsAcquired = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+
+    public ConnectionStatistics(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        calls.increment();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        failedCalls.increment();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, @Nullable Protocol protocol) {
+        connectionsOpened.increment();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, @Nullable Handshake handshake) {
+        handshakes.increment();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        connectionsAcquired.increment();
+    }
+
+    /**
+     * @return number of calls started with shared client
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return number of calls failed with I/O errors
+     */
+    public long getFailedCalls() {
+        return failedCalls.sum();
+    }
+
+    /**
+     * @return number of times any call got a connection, either new or pooled one
+     */
+    public long getConnectionsAcquired() {
+        return connectionsAcquired.sum();
+    }
+
+    /**
+     * @return number of new sockets opened
+     */
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    /**
+     * @return number of TLS handshakes performed
+     */
+    public long getHandshakes() {
+        return handshakes.sum();
+    }
+
+    /**
+     * @return number of connection acquisitions served by already opened connections
+     */
+    public long getConnectionsReused() {
+        return Math.max(0, getConnectionsAcquired() - getConnectionsOpened());
+    }
+
+    /**
+     * @return part of acquisitions that reused pooled connection, 0 if nothing was acquired yet
+     */
+    public double getReuseRatio() {
+        long acquired = getConnectionsAcquired();
+        return acquired == 0 ? 0 : (double) getConnectionsReused() / acquired;
+    }
+
+    /**
+     * @return total number of connections currently held by the pool
+     */
+    public int getPooledConnections() {
+        return connectionPool.connectionCount();
+    }
+
+    /**
+     * @return number of idle connections currently held by the pool
+     */
+    public int getIdleConnections() {
+        return connectionPool.idleConnectionCount();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("calls=%d, failed=%d, acquired=%d, opened=%d, handshakes=%d, reused=%d, pooled=%d, idle=%d",
+                getCalls(), getFailedCalls(), getConnectionsAcquired(), getConnectionsOpened(), getHandshakes(),
+                getConnectionsReused(), getPooledConnections(), getIdleConnections());
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.nginate.wolframalpha.retrofit.listener;
+
+import com.github.nginate.wolframalpha.metrics.ApiType;
+import com.github.nginate.wolframalpha.metrics.Metric;
+import com.github.nginate.wolframalpha.metrics.MetricsRecorder;
+import okhttp3.*;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * Measures phases of a single call and records them tagged with {@link ApiType API} the call is made to. Created per
+ * call by {@link #factory(EventListener, MetricsRecorder) factory}; all events are also forwarded to shared delegate
+ * listener, e.g. {@link ConnectionStatistics}.
+ */
+public class MetricsEventListener extends EventListener {
+    private final EventListener delegate;
+    private final MetricsRecorder recorder;
+    private final ApiType api;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestSent;
+    private long responseHeadersReceived;
+
+    MetricsEventListener(EventListener delegate, MetricsRecorder recorder, ApiType api) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.api = api;
+    }
+
+    /**
+     * @param delegate listener shared by all calls
+     * @param recorder measurements recorder
+     * @return factory creating listener per call
+     */
+    public static EventListener.Factory factory(EventListener delegate, MetricsRecorder recorder) {
+        return call -> new MetricsEventListener(delegate, recorder, ApiType.of(call.request().url()));
+    }
+
+    @Override
+    public void callStart(Call call) {
+        delegate.callStart(call);
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        delegate.dnsStart(call, domainName);
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, @Nullable List<InetAddress> inetAddressList) {
+        delegate.dnsEnd(call, domainName, inetAddressList);
+        record(Metric.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        delegate.connectStart(call, inetSocketAddress, proxy);
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        delegate.secureConnectStart(call);
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, @Nullable Handshake handshake) {
+        delegate.secureConnectEnd(call, handshake);
+        record(Metric.TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, @Nullable Protocol protocol) {
+        delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+        record(Metric.CONNECT, connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, @Nullable Protocol protocol,
+                              IOException ioe) {
+        delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        delegate.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        delegate.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        delegate.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        delegate.requestHeadersEnd(call, request);
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+        delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        delegate.requestBodyEnd(call, byteCount);
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        delegate.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        delegate.responseHeadersEnd(call, response);
+        responseHeadersReceived = System.nanoTime();
+        record(Metric.TIME_TO_FIRST_BYTE, requestSent);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        delegate.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        delegate.responseBodyEnd(call, byteCount);
+        record(Metric.BODY, responseHeadersReceived);
+        recorder.record(Metric.RESPONSE_SIZE, api, byteCount);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        delegate.callEnd(call);
+        record(Metric.LATENCY, callStart);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        delegate.callFailed(call, ioe);
+    }
+
+    private void record(Metric metric, long start) {
+        if (start != 0) {
+            recorder.record(metric, api, System.nanoTime() - start);
+        }
+    }
+}
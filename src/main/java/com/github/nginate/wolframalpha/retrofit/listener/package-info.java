@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.retrofit.listener;
+
+import javax.annotation.ParametersAreNonnullByDefault;
\ No newline at end of file
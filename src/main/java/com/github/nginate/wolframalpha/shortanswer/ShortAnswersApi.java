@@ -1,6 +1,7 @@
 package com.github.nginate.wolframalpha.shortanswer;
 
 import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.retrofit.GenerateClient;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -36,6 +37,7 @@ import retrofit2.http.Query;
  * This error is returned when a request does not contain any option for the appid parameter. Double-check that your
  * AppID is typed correctly and that your appid parameter is using the correct syntax.
  */
+@GenerateClient
 public interface ShortAnswersApi {
 
     /**
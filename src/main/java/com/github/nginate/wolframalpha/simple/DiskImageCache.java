@@ -0,0 +1,295 @@
+package com.github.nginate.wolframalpha.simple;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of Simple API images, one file per image. Total size of images is capped, least recently used ones are
+ * deleted first. Images are written to a temporary file and synced before being atomically moved in place, so crashed
+ * process never leaves partially written image under its key; leftovers of interrupted writes are removed when cache
+ * is opened. Access order is kept in file modification time, so it survives restarts.
+ * <p>
+ * Each file starts with a line holding image content type, followed by image itself. Cached images are read through
+ * {@link FileChannel} chunk by chunk, not loaded into memory as a whole.
+ *
+ * @see com.github.nginate.wolframalpha.retrofit.interceptor.ImageCacheInterceptor
+ */
+@Slf4j
+public class DiskImageCache {
+    private static final String SUFFIX = ".img";
+    private static final String TEMP_PREFIX = "image";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int MAX_HEADER_SIZE = 256;
+
+    private final Path directory;
+    private final long maxSize;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Open cache in directory, images already there are loaded to index
+     *
+     * @param directory cache directory, created if missing
+     * @param maxSize   max total size of images in bytes
+     * @throws IOException if directory could not be created or listed
+     */
+    public DiskImageCache(Path directory, long maxSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.collect(Collectors.toList());
+        }
+        files.sort(Comparator.comparing(DiskImageCache::lastModified));
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                Files.deleteIfExists(file);
+            } else if (name.endsWith(SUFFIX)) {
+                long length = Files.size(file);
+                entries.put(name.substring(0, name.length() - SUFFIX.length()), length);
+                size += length;
+            }
+        }
+        synchronized (this) {
+            evict();
+        }
+    }
+
+    /**
+     * @param key image key, should be a valid file name
+     * @return cached image, that should be closed by caller, or null if image is not cached
+     * @throws IOException if image could not be opened
+     */
+    @Nullable
+    public Image open(String key) throws IOException {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses.increment();
+                return null;
+            }
+        }
+        Path file = file(key);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            remove(key);
+            misses.increment();
+            return null;
+        }
+        Image image;
+        try {
+            image = read(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (image == null) {
+            channel.close();
+            log.warn("Cached image {} has no content type header, removing it", file);
+            remove(key);
+            Files.deleteIfExists(file);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Could not update access time of {}", file, e);
+        }
+        return image;
+    }
+
+    /**
+     * Write image to cache, replacing previous one with the same key. Source is read to the end but not closed.
+     *
+     * @param key         image key, should be a valid file name
+     * @param contentType image content type, served with cached image
+     * @param source      image
+     * @return cached image, that should be closed by caller
+     * @throws IOException if image could not be read or written
+     */
+    public Image put(String key, @Nullable String contentType, BufferedSource source) throws IOException {
+        Path temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+        long length;
+        try {
+            try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                BufferedSink sink = Okio.buffer(Okio.sink(Channels.newOutputStream(output)));
+                sink.writeUtf8(header(contentType)).writeByte('\n');
+                source.readAll(sink);
+                sink.flush();
+                output.force(true);
+                length = output.size();
+            }
+            Files.move(temp, file(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        FileChannel channel = FileChannel.open(file(key), StandardOpenOption.READ);
+        synchronized (this) {
+            Long previous = entries.put(key, length);
+            size += length - (previous == null ? 0 : previous);
+            evict();
+        }
+        try {
+            return Optional.ofNullable(read(channel))
+                    .orElseThrow(() -> new IOException("Content type header of image " + key + " is corrupted"));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return total size of cached images in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of cached images
+     */
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of images found in cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of images not found in cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private synchronized void remove(String key) {
+        Long length = entries.remove(key);
+        if (length != null) {
+            size -= length;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue();
+            try {
+                Files.deleteIfExists(file(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("Could not delete evicted image {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * @return content type to write as header or empty string if there is none or it does not fit header
+     */
+    private static String header(@Nullable String contentType) {
+        if (contentType == null || contentType.indexOf('\n') >= 0
+                || contentType.getBytes(StandardCharsets.UTF_8).length >= MAX_HEADER_SIZE) {
+            return "";
+        }
+        return contentType;
+    }
+
+    /**
+     * @return image with channel positioned right after content type header or null if file has no header
+     */
+    @Nullable
+    private static Image read(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(MAX_HEADER_SIZE, channel.size()));
+        int read = 0;
+        while (head.hasRemaining() && read >= 0) {
+            read = channel.read(head);
+        }
+        for (int i = 0; i < head.position(); i++) {
+            if (head.get(i) == '\n') {
+                String contentType = new String(head.array(), 0, i, StandardCharsets.UTF_8);
+                channel.position(i + 1);
+                return new Image(contentType.isEmpty() ? null : contentType, channel.size() - i - 1, channel);
+            }
+        }
+        return null;
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Cached image, closing it closes underlying channel
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Image implements Closeable {
+        /**
+         * Content type of image response or null if it had none
+         */
+        @Nullable
+        private final String contentType;
+        /**
+         * Image size in bytes
+         */
+        private final long size;
+        /**
+         * Channel positioned at the start of image
+         */
+        private final FileChannel channel;
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.nginate.wolframalpha.simple;
+
+import lombok.experimental.UtilityClass;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Sink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Helpers piping {@link SimpleApi#streamQuery(String, String, int, int, int) streamed} images to their destination
+ * chunk by chunk, so whole image is never kept in memory. All methods are closing response body, but not the
+ * destination stream or channel.
+ */
+@UtilityClass
+public class ImageTransfer {
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * @param body   image response body
+     * @param output destination stream
+     * @return number of bytes transferred
+     * @throws IOException if image could not be read or written
+     */
+    public static long transfer(ResponseBody body, OutputStream output) throws IOException {
+        try (ResponseBody image = body) {
+            Sink sink = Okio.sink(output);
+            long transferred = image.source().readAll(sink);
+            sink.flush();
+            return transferred;
+        }
+    }
+
+    /**
+     * @param body    image response body
+     * @param channel destination channel, e.g. socket channel
+     * @return number of bytes transferred
+     * @throws IOException if image could not be read or written
+     */
+    public static long transfer(ResponseBody body, WritableByteChannel channel) throws IOException {
+        try (ResponseBody image = body) {
+            BufferedSource source = image.source();
+            byte[] chunk = new byte[CHUNK_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long transferred = 0;
+            int read;
+            while ((read = source.read(chunk)) != -1) {
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                transferred += read;
+            }
+            return transferred;
+        }
+    }
+
+    /**
+     * Write image to a file, file is created or replaced
+     *
+     * @param body image response body
+     * @param file destination file
+     * @return number of bytes transferred
+     * @throws IOException if image could not be read or written
+     */
+    public static long transfer(ResponseBody body, Path file) throws IOException {
+        try (ResponseBody image = body; Sink sink = Okio.sink(file)) {
+            return image.source().readAll(sink);
+        }
+    }
+}
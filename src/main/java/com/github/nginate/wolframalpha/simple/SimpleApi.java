@@ -2,9 +2,12 @@ package com.github.nginate.wolframalpha.simple;
 
 import com.github.nginate.wolframalpha.model.Layout;
 import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.retrofit.GenerateClient;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /**
  * Immediately get simple images of complete Wolfram|Alpha result pages with the Simple API.
@@ -40,6 +43,7 @@ import retrofit2.http.Query;
  *
  * @see <a href="http://products.wolframalpha.com/simple-api/documentation/">documentation reference</a>
  */
+@GenerateClient
 public interface SimpleApi {
     /**
      * This call will return an image with informational elements relating to the input.
@@ -105,4 +109,40 @@ public interface SimpleApi {
                        @Query("width") int width,
                        @Query("units") Units units,
                        @Query("timeout") int timeout);
+
+    /**
+     * Streaming version of {@link SimpleApi#query(String, String, int, int, int)}. Image is not read into memory, so it
+     * could be piped to a file or socket with {@link ImageTransfer}.
+     *
+     * @param literal  URL-encoded input for your query
+     * @param appId    The appid parameter tells your query which AppID to use
+     * @param fontsize display size of text elements in points
+     * @param width    desired width (in pixels) for output images
+     * @param timeout  maximum amount of time (in seconds) allowed to process a query
+     * @return image response body, that should be consumed and closed by caller
+     * @see SimpleApi#query(String, String, int, int, int)
+     */
+    default Call<ResponseBody> streamQuery(String literal, String appId, int fontsize, int width, int timeout) {
+        return streamQuery(literal, appId, null, null, null, fontsize, width, null, timeout);
+    }
+
+    /**
+     * Streaming version of {@link SimpleApi#query(String, String, Layout, String, String, int, int, Units, int)}.
+     * Image is not read into memory, so it could be piped to a file or socket with {@link ImageTransfer}. See query
+     * method for parameters description.
+     *
+     * @return image response body, that should be consumed and closed by caller
+     * @see SimpleApi#query(String, String, Layout, String, String, int, int, Units, int)
+     */
+    @Streaming
+    @GET("/v1/simple")
+    Call<ResponseBody> streamQuery(@Query("i") String literal,
+                                   @Query("appid") String appId,
+                                   @Query("layout") Layout layout,
+                                   @Query("background") String background,
+                                   @Query("foreground") String foreground,
+                                   @Query("fontsize") int fontsize,
+                                   @Query("width") int width,
+                                   @Query("units") Units units,
+                                   @Query("timeout") int timeout);
 }
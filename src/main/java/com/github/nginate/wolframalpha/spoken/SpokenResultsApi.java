@@ -1,6 +1,7 @@
 package com.github.nginate.wolframalpha.spoken;
 
 import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.retrofit.GenerateClient;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -38,6 +39,7 @@ import retrofit2.http.Query;
  *
  * @see <a href="http://products.wolframalpha.com/spoken-results-api/documentation/">documentation reference</>
  */
+@GenerateClient
 public interface SpokenResultsApi {
 
     /**
@@ -0,0 +1,94 @@
+package com.github.nginate.wolframalpha.timeout;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Adaptive timeouts settings. Any value not provided to builder is using its default.
+ *
+ * @see AdaptiveTimeouts
+ */
+@Getter
+public class AdaptiveTimeoutConfiguration {
+    public static final Duration DEFAULT_TARGET_LATENCY = Duration.ofSeconds(5);
+    public static final double DEFAULT_LATENCY_PERCENTILE = 95;
+    public static final double DEFAULT_MAX_TIMED_OUT_RATIO = 0.05;
+    public static final int DEFAULT_WINDOW = 20;
+    public static final Duration DEFAULT_INITIAL_SCAN_TIMEOUT = Duration.ofSeconds(3);
+    public static final Duration DEFAULT_MIN_TIMEOUT = Duration.ofMillis(500);
+    public static final Duration DEFAULT_INCREASE_STEP = Duration.ofMillis(500);
+    public static final double DEFAULT_DECREASE_FACTOR = 0.8;
+
+    /**
+     * Server side query time that given percentile of queries should not exceed
+     */
+    private final Duration targetLatency;
+    /**
+     * Percentile of server side query time compared with target latency
+     */
+    private final double latencyPercentile;
+    /**
+     * Max fraction of pods and scanners allowed to time out
+     */
+    private final double maxTimedOutRatio;
+    /**
+     * Number of query results per query class timeouts are adjusted after
+     */
+    private final int window;
+    /**
+     * Scan, pod and format timeouts used before any results are observed
+     */
+    private final Duration initialScanTimeout;
+    /**
+     * Lowest timeout value ever used
+     */
+    private final Duration minTimeout;
+    /**
+     * Scan timeout increase when too many pods are timed out
+     */
+    private final Duration increaseStep;
+    /**
+     * Scan timeout multiplier when target latency is exceeded
+     */
+    private final double decreaseFactor;
+
+    /**
+     * @param targetLatency      server side query time percentile should not exceed. Default : 5 seconds
+     * @param latencyPercentile  percentile compared with target latency. Default : 95
+     * @param maxTimedOutRatio   max fraction of timed out pods and scanners. Default : 0.05
+     * @param window             number of results timeouts are adjusted after. Default : 20
+     * @param initialScanTimeout scan timeout used before results are observed. Default : 3 seconds
+     * @param minTimeout         lowest timeout value. Default : 500 milliseconds
+     * @param increaseStep       scan timeout increase when too many pods timed out. Default : 500 milliseconds
+     * @param decreaseFactor     scan timeout multiplier when target latency is exceeded. Default : 0.8
+     */
+    @Builder
+    private AdaptiveTimeoutConfiguration(@Nullable Duration targetLatency,
+                                         @Nullable Double latencyPercentile,
+                                         @Nullable Double maxTimedOutRatio,
+                                         @Nullable Integer window,
+                                         @Nullable Duration initialScanTimeout,
+                                         @Nullable Duration minTimeout,
+                                         @Nullable Duration increaseStep,
+                                         @Nullable Double decreaseFactor) {
+        this.targetLatency = Optional.ofNullable(targetLatency).orElse(DEFAULT_TARGET_LATENCY);
+        this.latencyPercentile = Optional.ofNullable(latencyPercentile).orElse(DEFAULT_LATENCY_PERCENTILE);
+        this.maxTimedOutRatio = Optional.ofNullable(maxTimedOutRatio).orElse(DEFAULT_MAX_TIMED_OUT_RATIO);
+        this.window = Optional.ofNullable(window).orElse(DEFAULT_WINDOW);
+        this.initialScanTimeout = Optional.ofNullable(initialScanTimeout).orElse(DEFAULT_INITIAL_SCAN_TIMEOUT);
+        this.minTimeout = Optional.ofNullable(minTimeout).orElse(DEFAULT_MIN_TIMEOUT);
+        this.increaseStep = Optional.ofNullable(increaseStep).orElse(DEFAULT_INCREASE_STEP);
+        this.decreaseFactor = Optional.ofNullable(decreaseFactor).orElse(DEFAULT_DECREASE_FACTOR);
+    }
+
+    /**
+     * @return configuration with all the defaults
+     */
+    public static AdaptiveTimeoutConfiguration defaults() {
+        return AdaptiveTimeoutConfiguration.builder().build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.nginate.wolframalpha.timeout;
+
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Full results API client using {@link AdaptiveTimeouts adaptive timeouts} for every timeout parameter not provided
+ * by caller. Queries are assigned to classes by classifier function, all to the same class by default:
+ * <pre>
+ *     FullResultsApi client = new AdaptiveTimeoutFullResultsApi(ClientFactory.fullResultsApi(),
+ *             new AdaptiveTimeouts(AdaptiveTimeoutConfiguration.defaults()),
+ *             input -&gt; input.contains("weather") ? "weather" : "default");
+ * </pre>
+ */
+public class AdaptiveTimeoutFullResultsApi implements FullResultsApi {
+    public static final String DEFAULT_QUERY_CLASS = "default";
+
+    private final FullResultsApi delegate;
+    private final AdaptiveTimeouts timeouts;
+    private final Function<String, String> classifier;
+
+    public AdaptiveTimeoutFullResultsApi(FullResultsApi delegate, AdaptiveTimeouts timeouts) {
+        this(delegate, timeouts, input -> DEFAULT_QUERY_CLASS);
+    }
+
+    /**
+     * @param delegate   client to make requests with
+     * @param timeouts   adaptive timeouts
+     * @param classifier function providing query class for query input
+     */
+    public AdaptiveTimeoutFullResultsApi(FullResultsApi delegate, AdaptiveTimeouts timeouts,
+                                         Function<String, String> classifier) {
+        this.delegate = delegate;
+        this.timeouts = timeouts;
+        this.classifier = classifier;
+    }
+
+    @Override
+    public QueryResult getFullResults(String input,
+                                      String appId,
+                                      List<ResultFormat> formats,
+                                      List<String> assumptions,
+                                      String location,
+                                      GeoCoordinates latlong,
+                                      String ip,
+                                      List<String> podStates,
+                                      Float async,
+                                      Float scantimeout,
+                                      Float podtimeout,
+                                      Float formattimeout,
+                                      Float parsetimeout,
+                                      Float totaltimeout,
+                                      List<String> includedPodIds,
+                                      List<String> excludedPodIds,
+                                      List<String> podTitles,
+                                      List<Integer> podIndexes,
+                                      List<String> scanners,
+                                      ResultType output) {
+        String queryClass = classifier.apply(input);
+        Timeouts adaptive = timeouts.get(queryClass);
+        QueryResult result = delegate.getFullResults(input, appId, formats, assumptions, location, latlong, ip,
+                podStates, async,
+                Optional.ofNullable(scantimeout).orElse(adaptive.getScanTimeout()),
+                Optional.ofNullable(podtimeout).orElse(adaptive.getPodTimeout()),
+                Optional.ofNullable(formattimeout).orElse(adaptive.getFormatTimeout()),
+                Optional.ofNullable(parsetimeout).orElse(adaptive.getParseTimeout()),
+                Optional.ofNullable(totaltimeout).orElse(adaptive.getTotalTimeout()),
+                includedPodIds, excludedPodIds, podTitles, podIndexes, scanners, output);
+        if (result != null) {
+            timeouts.observe(queryClass, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.nginate.wolframalpha.timeout;
+
+import com.github.nginate.wolframalpha.metrics.Histogram;
+import com.github.nginate.wolframalpha.metrics.HistogramSnapshot;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.selection.Selector;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses Full results API timeouts per query class from server side timings of previous results. Every {@link
+ * AdaptiveTimeoutConfiguration#getWindow() window} results of a class its timeouts are adjusted:
+ * <ul>
+ * <li>if latency percentile exceeds target, scan, pod and format timeouts are decreased multiplicatively</li>
+ * <li>otherwise, if too many pods or scanners timed out, they are increased by fixed step</li>
+ * </ul>
+ * Parse timeout follows observed parse timing with headroom; total timeout is always the target latency. Query class
+ * is any label grouping queries of similar cost, e.g. "weather" or "math".
+ * <pre>
+ *     AdaptiveTimeouts timeouts = new AdaptiveTimeouts(AdaptiveTimeoutConfiguration.defaults());
+ *     QueryResult result = timeouts.apply("weather", client.withCustomSelection()).getResults(input, appId);
+ *     timeouts.observe("weather", result);
+ * </pre>
+ *
+ * @see AdaptiveTimeoutFullResultsApi
+ */
+public class AdaptiveTimeouts {
+    private static final float NANOS_PER_SECOND = 1e9f;
+    private static final float PARSE_TIMEOUT_HEADROOM = 2;
+
+    private final AdaptiveTimeoutConfiguration configuration;
+    private final Map<String, QueryClass> classes = new ConcurrentHashMap<>();
+
+    public AdaptiveTimeouts(AdaptiveTimeoutConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * @param queryClass query class
+     * @return timeouts to use for the next query of this class
+     */
+    public Timeouts get(String queryClass) {
+        return getQueryClass(queryClass).timeouts;
+    }
+
+    /**
+     * @param queryClass query class
+     * @param selector   request builder
+     * @return the same builder with timeouts for query class set
+     */
+    public Selector apply(String queryClass, Selector selector) {
+        return get(queryClass).applyTo(selector);
+    }
+
+    /**
+     * Account result of a query. Results without timings, e.g. errors, are ignored.
+     *
+     * @param queryClass query class
+     * @param result     query result
+     */
+    public void observe(String queryClass, QueryResult result) {
+        if (result.getTiming() != null) {
+            getQueryClass(queryClass).observe(result);
+        }
+    }
+
+    private QueryClass getQueryClass(String queryClass) {
+        return classes.computeIfAbsent(queryClass, key -> new QueryClass());
+    }
+
+    private static int size(Collection<?> collection) {
+        return collection == null ? 0 : collection.size();
+    }
+
+    private static float toSeconds(long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+    private class QueryClass {
+        private final Histogram timing = new Histogram();
+        private final Histogram parseTiming = new Histogram();
+        private long pods;
+        private long timedOut;
+        private volatile Timeouts timeouts;
+
+        private QueryClass() {
+            float target = toSeconds(configuration.getTargetLatency().toNanos());
+            float scan = Math.min(toSeconds(configuration.getInitialScanTimeout().toNanos()), target);
+            timeouts = new Timeouts(scan, scan, scan, target / 2, target);
+        }
+
+        private synchronized void observe(QueryResult result) {
+            timing.record((long) (result.getTiming() * NANOS_PER_SECOND));
+            Optional.ofNullable(result.getParsetiming())
+                    .ifPresent(parse -> parseTiming.record((long) (parse * NANOS_PER_SECOND)));
+            pods += size(result.getPods());
+            timedOut += size(result.getTimedoutpods()) + size(result.getTimedout());
+            if (timing.getCount() >= configuration.getWindow()) {
+                adjust();
+            }
+        }
+
+        private void adjust() {
+            float target = toSeconds(configuration.getTargetLatency().toNanos());
+            float min = toSeconds(configuration.getMinTimeout().toNanos());
+            float latency = toSeconds(timing.snapshot().getValueAtPercentile(configuration.getLatencyPercentile()));
+            double timedOutRatio = pods + timedOut == 0 ? 0 : (double) timedOut / (pods + timedOut);
+
+            HistogramSnapshot parse = parseTiming.snapshot();
+            float parseTimeout = parse.getCount() == 0
+                    ? timeouts.getParseTimeout()
+                    : clamp(toSeconds(parse.getValueAtPercentile(configuration.getLatencyPercentile()))
+                    * PARSE_TIMEOUT_HEADROOM, min, target / 2);
+
+            float scan = timeouts.getScanTimeout();
+            if (latency > target) {
+                scan *= configuration.getDecreaseFactor();
+            } else if (timedOutRatio > configuration.getMaxTimedOutRatio()) {
+                scan += toSeconds(configuration.getIncreaseStep().toNanos());
+            }
+            scan = clamp(scan, min, Math.max(min, target - parseTimeout));
+            timeouts = new Timeouts(scan, scan, scan, parseTimeout, target);
+
+            timing.reset();
+            parseTiming.reset();
+            pods = 0;
+            timedOut = 0;
+        }
+
+        private float clamp(float value, float min, float max) {
+            return Math.max(min, Math.min(max, value));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.nginate.wolframalpha.timeout;
+
+import com.github.nginate.wolframalpha.model.selection.Selector;
+import lombok.Value;
+
+/**
+ * Full results API timeout parameters, in seconds
+ */
+@Value
+public class Timeouts {
+    float scanTimeout;
+    float podTimeout;
+    float formatTimeout;
+    float parseTimeout;
+    float totalTimeout;
+
+    /**
+     * @param selector request builder
+     * @return the same builder with all timeouts set
+     */
+    public Selector applyTo(Selector selector) {
+        return selector.usingScanTimeout(scanTimeout)
+                .usingPodTimeout(podTimeout)
+                .usingFormatTimeout(formatTimeout)
+                .usingParseTimeout(parseTimeout)
+                .usingTotalTimeout(totalTimeout);
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.github.nginate.wolframalpha.timeout;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -16,6 +16,13 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 @UtilityClass
 public class RetrofitUtil {
+    /**
+     * @param request http request
+     * @return hash of request method, url and headers
+     * @deprecated equal requests are getting the same id, so it can't match log lines of one exchange. Use {@link
+     * com.github.nginate.wolframalpha.retrofit.interceptor.RequestId#of(Request)} instead
+     */
+    @Deprecated
     public static int getRequestId(Request request) {
         String method = request.method();
         String url = request.url().toString();
@@ -0,0 +1,60 @@
+package com.github.nginate.wolframalpha;
+
+import com.github.nginate.wolframalpha.exceptions.InvalidAppIdException;
+import com.github.nginate.wolframalpha.full.AsyncFullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AsyncFullResultsApiIT {
+    private AsyncFullResultsApi asyncFullResultsApi;
+    private String token;
+
+    @Before
+    public void setUp() throws Exception {
+        asyncFullResultsApi = ClientFactory.asyncFullResultsApi();
+        Properties properties = new Properties();
+        properties.load(getClass().getResourceAsStream("/application.properties"));
+        token = properties.getProperty("api.token");
+    }
+
+    @Test
+    public void nonEmptyResponse() throws Exception {
+        QueryResult result = asyncFullResultsApi.getFullResults("How many minutes are there in an hour", token).get();
+
+        assertThat(result).isNotNull();
+        assertThat(result).hasNoNullFieldsOrPropertiesExcept("assumptions");
+    }
+
+    @Test
+    public void customSelection() throws Exception {
+        QueryResult result = asyncFullResultsApi.withCustomSelection()
+                .withPodId("Result")
+                .getResultsAsync("How many minutes are there in an hour", token)
+                .get();
+
+        assertThat(result.getPods()).isNotEmpty().allMatch(pod -> "Result".equals(pod.getId()));
+    }
+
+    @Test
+    public void errorIsReportedByFuture() throws Exception {
+        Throwable throwable = catchThrowable(() -> asyncFullResultsApi.getFullResults("france", "null").get());
+
+        assertThat(throwable).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(InvalidAppIdException.class);
+    }
+
+    @Test
+    public void cancelledFutureIsNotCompleted() throws Exception {
+        CompletableFuture<QueryResult> future = asyncFullResultsApi.getFullResults("france", token);
+
+        assertThat(future.cancel(true)).isTrue();
+        assertThat(future).isCancelled();
+    }
+}
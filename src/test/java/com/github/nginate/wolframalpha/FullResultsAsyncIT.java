@@ -1,5 +1,6 @@
 package com.github.nginate.wolframalpha;
 
+import com.github.nginate.wolframalpha.full.AsyncPodLoader;
 import com.github.nginate.wolframalpha.full.FullResultsApi;
 import com.github.nginate.wolframalpha.model.Pod;
 import com.github.nginate.wolframalpha.model.QueryResult;
@@ -69,6 +70,20 @@ public class FullResultsAsyncIT {
         }
     }
 
+    @Test
+    public void retrieveAsyncPodWithLoader() throws Exception {
+        QueryResult result = fullResultsApi.withCustomSelection()
+                .usingAsyncTimeout(.1f)
+                .getResults("birds", token);
+        AsyncPodLoader loader = ClientFactory.asyncPodLoader();
+        for (Pod pod : getAsyncPods(result)) {
+            Pod retrieved = loader.loadPod(pod.getAsync());
+            assertThat(retrieved.getId()).isEqualTo(pod.getId());
+            assertThat(retrieved.getError()).isFalse();
+            assertThat(retrieved.getSubpods()).isNotEmpty().hasSize(retrieved.getNumsubpods());
+        }
+    }
+
     private List<Pod> getAsyncPods(QueryResult result) {
         return result.getPods().stream().filter(pod -> pod.getAsync() != null).collect(toList());
     }
@@ -2,10 +2,12 @@ package com.github.nginate.wolframalpha;
 
 import com.github.nginate.wolframalpha.exceptions.InvalidAppIdException;
 import com.github.nginate.wolframalpha.exceptions.MissingAppIdException;
+import com.github.nginate.wolframalpha.simple.ImageTransfer;
 import com.github.nginate.wolframalpha.simple.SimpleApi;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Properties;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,6 +40,15 @@ public class SimpleApiIT {
         assertThat(image).isNotNull().isNotEmpty();
     }
 
+    @Test
+    public void requestStreamedQuery() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long transferred = ImageTransfer.transfer(simpleApi.streamQuery("What day is it now", token, 12, 400, 30)
+                .execute()
+                .body(), output);
+        assertThat(transferred).isPositive().isEqualTo(output.size());
+    }
+
     @Test
     public void requestWidthChangesSize() throws Exception {
         int width = 400;
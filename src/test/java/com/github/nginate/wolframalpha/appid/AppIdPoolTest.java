@@ -0,0 +1,71 @@
+package com.github.nginate.wolframalpha.appid;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AppIdPoolTest {
+    private AppIdPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = AppIdPool.builder()
+                .appId("first")
+                .appId("second")
+                .appId("third")
+                .build();
+    }
+
+    @Test
+    public void verifyLeastLoadedAppIdIsTaken() throws Exception {
+        AppIdPool.Key first = pool.acquire(Collections.emptySet());
+        AppIdPool.Key second = pool.acquire(Collections.emptySet());
+        AppIdPool.Key third = pool.acquire(Collections.emptySet());
+
+        assertThat(new HashSet<>(Arrays.asList(first.getAppId(), second.getAppId(), third.getAppId())))
+                .containsOnly("first", "second", "third");
+
+        pool.release(second);
+        assertThat(pool.acquire(Collections.emptySet())).isSameAs(second);
+    }
+
+    @Test
+    public void verifyLoadIsSpreadEvenly() throws Exception {
+        IntStream.range(0, 30).forEach(i -> pool.acquire(Collections.emptySet()));
+
+        assertThat(IntStream.range(0, 3).mapToObj(i -> pool.acquire(Collections.emptySet())))
+                .extracting(AppIdPool.Key::getInFlight)
+                .containsOnly(11);
+    }
+
+    @Test
+    public void verifyCooledDownAppIdIsSkipped() throws Exception {
+        AppIdPool.Key rejected = pool.acquire(Collections.emptySet());
+        pool.release(rejected);
+        pool.coolDown(rejected, Duration.ofMinutes(1));
+
+        IntStream.range(0, 10).forEach(i ->
+                assertThat(pool.acquire(Collections.emptySet())).isNotSameAs(rejected));
+        assertThat(pool.getAvailableAppIds()).hasSize(2).doesNotContain(rejected.getAppId());
+        assertThat(pool.hasAvailable(Collections.singleton("first"))).isTrue();
+    }
+
+    @Test
+    public void verifyAppIdReturningFirstIsTakenIfAllAreCoolingDown() throws Exception {
+        AppIdPool single = AppIdPool.builder().appId("only").build();
+        AppIdPool.Key key = single.acquire(Collections.emptySet());
+        single.release(key);
+        single.coolDown(key, Duration.ofMinutes(1));
+
+        assertThat(single.hasAvailable(Collections.emptySet())).isFalse();
+        assertThat(single.acquire(Collections.emptySet())).isSameAs(key);
+        assertThat(single.acquire(Collections.singleton("only"))).isNull();
+    }
+}
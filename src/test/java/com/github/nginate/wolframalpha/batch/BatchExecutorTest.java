@@ -0,0 +1,126 @@
+package com.github.nginate.wolframalpha.batch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchExecutorTest {
+    private Map<String, CompletableFuture<String>> queries;
+
+    @Before
+    public void setUp() throws Exception {
+        queries = new ConcurrentHashMap<>();
+    }
+
+    @Test
+    public void verifyInputOrder() throws Exception {
+        BatchExecutor<String, String> executor = new BatchExecutor<>(this::query, 3);
+        List<BatchResult<String, String>> results = new ArrayList<>();
+        Thread batch = new Thread(() -> execute(executor, Arrays.asList("a", "b", "c"), BatchExecutor.Order.INPUT,
+                results));
+        batch.start();
+
+        complete("c");
+        complete("b");
+        complete("a");
+        batch.join();
+
+        assertThat(results).extracting(BatchResult::getResult).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    public void verifyCompletionOrder() throws Exception {
+        BatchExecutor<String, String> executor = new BatchExecutor<>(this::query, 3);
+        List<BatchResult<String, String>> results = new ArrayList<>();
+        Thread batch = new Thread(() -> execute(executor, Arrays.asList("a", "b", "c"),
+                BatchExecutor.Order.COMPLETION, results));
+        batch.start();
+
+        complete("c");
+        complete("b");
+        complete("a");
+        batch.join();
+
+        assertThat(results).extracting(BatchResult::getResult).containsExactly("C", "B", "A");
+        assertThat(results).extracting(BatchResult::getIndex).containsExactly(2L, 1L, 0L);
+    }
+
+    @Test
+    public void verifyErrorsAreReportedPerItem() throws Exception {
+        IOException error = new IOException("Connection reset");
+        BatchExecutor<String, String> executor = new BatchExecutor<>(input -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            if (input.equals("b")) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(input.toUpperCase());
+            }
+            return future;
+        }, 2);
+
+        List<BatchResult<String, String>> results = executor.executeAll(Arrays.asList("a", "b", "c"));
+
+        assertThat(results).extracting(BatchResult::isSuccessful).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).isSameAs(error);
+        assertThat(results.get(2).getResult()).isEqualTo("C");
+    }
+
+    @Test
+    public void verifyParallelismIsBounded() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BatchExecutor<Integer, Integer> executor = new BatchExecutor<>(input -> CompletableFuture.supplyAsync(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return input;
+        }, pool), 4);
+
+        List<BatchResult<Integer, Integer>> results = executor.executeAll(IntStream.range(0, 200).boxed()
+                .collect(Collectors.toList()));
+        pool.shutdownNow();
+
+        assertThat(results).extracting(BatchResult::getResult)
+                .containsExactlyElementsOf(IntStream.range(0, 200).boxed().collect(Collectors.toList()));
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(4);
+    }
+
+    private CompletableFuture<String> query(String input) {
+        return queries.computeIfAbsent(input, key -> new CompletableFuture<>());
+    }
+
+    private void complete(String input) throws InterruptedException {
+        while (!queries.containsKey(input)) {
+            Thread.sleep(1);
+        }
+        queries.get(input).complete(input.toUpperCase());
+    }
+
+    private static void execute(BatchExecutor<String, String> executor, List<String> inputs,
+                                BatchExecutor.Order order, List<BatchResult<String, String>> results) {
+        try {
+            executor.execute(inputs.iterator(), order, results::add);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
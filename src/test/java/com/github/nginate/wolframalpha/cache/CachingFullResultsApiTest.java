@@ -0,0 +1,69 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class CachingFullResultsApiTest {
+    private FullResultsApi delegate;
+    private CachingFullResultsApi client;
+    private QueryResult queryResult;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(FullResultsApi.class);
+        client = new CachingFullResultsApi(delegate);
+        queryResult = new QueryResult();
+        queryResult.setError(false);
+
+        when(delegate.getFullResults(anyString(), anyString(), any(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(queryResult);
+    }
+
+    @Test
+    public void verifyEquivalentQueriesAreCached() throws Exception {
+        QueryResult first = client.getFullResults(" pi ", "token", ResultFormat.IMAGE, ResultFormat.PLAINTEXT);
+        QueryResult second = client.withCustomSelection()
+                .withResultFormats(Arrays.asList(ResultFormat.PLAINTEXT, ResultFormat.IMAGE))
+                .getResults("pi", "token");
+
+        assertThat(first).isSameAs(queryResult);
+        assertThat(second).isSameAs(queryResult);
+        verify(delegate, times(1)).getFullResults(anyString(), anyString(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertThat(client.getStats().hitCount()).isEqualTo(1);
+        assertThat(client.getStats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyDifferentQueriesAreNotShared() throws Exception {
+        client.getFullResults("pi", "token");
+        client.getFullResults("pi", "other token");
+        client.withCustomSelection().withPodId("Result").getResults("pi", "token");
+
+        verify(delegate, times(3)).getFullResults(anyString(), anyString(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertThat(client.getSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void verifyErrorsAreNotCached() throws Exception {
+        queryResult.setError(true);
+
+        client.getFullResults("pi", "token");
+        client.getFullResults("pi", "token");
+
+        verify(delegate, times(2)).getFullResults(anyString(), anyString(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertThat(client.getSize()).isZero();
+    }
+}
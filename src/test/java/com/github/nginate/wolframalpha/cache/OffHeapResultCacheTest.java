@@ -0,0 +1,123 @@
+package com.github.nginate.wolframalpha.cache;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.Subpod;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapResultCacheTest {
+
+    @Test
+    public void verifyResultIsDeserializedOnHit() throws Exception {
+        OffHeapResultCache cache = new OffHeapResultCache(OffHeapCacheConfiguration.defaults());
+        QueryResult result = result("pi");
+
+        cache.put(key("pi"), result);
+        QueryResult cached = cache.get(key("pi"));
+
+        assertThat(cached).isEqualTo(result).isNotSameAs(result);
+        assertThat(cache.get(key("e"))).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyOldestSlabIsEvicted() throws Exception {
+        int size = new BinaryResultSerializer().serialize(result("0")).length;
+        OffHeapResultCache cache = new OffHeapResultCache(OffHeapCacheConfiguration.builder()
+                .slabSize(size * 2)
+                .capacity(size * 4L)
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            cache.put(key(String.valueOf(i)), result(String.valueOf(i)));
+        }
+
+        assertThat(cache.get(key("0"))).isNull();
+        assertThat(cache.get(key("1"))).isNull();
+        assertThat(cache.get(key("2"))).isEqualTo(result("2"));
+        assertThat(cache.get(key("4"))).isEqualTo(result("4"));
+        assertThat(cache.getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    public void verifyLargeAndExpiredResultsAreNotServed() throws Exception {
+        OffHeapResultCache tiny = new OffHeapResultCache(OffHeapCacheConfiguration.builder().slabSize(16).build());
+        OffHeapResultCache expiring = new OffHeapResultCache(OffHeapCacheConfiguration.builder()
+                .timeToLive(Duration.ZERO)
+                .build());
+
+        tiny.put(key("pi"), result("pi"));
+        expiring.put(key("pi"), result("pi"));
+
+        assertThat(tiny.getSize()).isZero();
+        assertThat(expiring.get(key("pi"))).isNull();
+    }
+
+    @Test
+    public void verifyCacheKeepsWorkingWhenDirectMemoryRunsOut() throws Exception {
+        int size = new BinaryResultSerializer().serialize(result("0")).length;
+        OffHeapCacheConfiguration configuration = OffHeapCacheConfiguration.builder()
+                .slabSize(size * 2)
+                .capacity(size * 8L)
+                .build();
+        OffHeapResultCache limited = new LimitedMemoryCache(configuration, 2);
+        OffHeapResultCache exhausted = new LimitedMemoryCache(configuration, 0);
+
+        for (int i = 0; i < 5; i++) {
+            limited.put(key(String.valueOf(i)), result(String.valueOf(i)));
+            exhausted.put(key(String.valueOf(i)), result(String.valueOf(i)));
+        }
+
+        assertThat(limited.get(key("0"))).isNull();
+        assertThat(limited.get(key("2"))).isEqualTo(result("2"));
+        assertThat(limited.get(key("4"))).isEqualTo(result("4"));
+        assertThat(limited.getSize()).isEqualTo(3);
+        assertThat(exhausted.getSize()).isZero();
+    }
+
+    private static QueryKey key(String input) {
+        return QueryKey.of(input, "token", null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null);
+    }
+
+    private static QueryResult result(String input) {
+        Subpod subpod = new Subpod();
+        subpod.setTitle("");
+        subpod.setPlaintext(input);
+        Pod pod = new Pod();
+        pod.setId("Input");
+        pod.setTitle("Input interpretation");
+        pod.setPosition(100);
+        pod.setSubpods(Collections.singletonList(subpod));
+        QueryResult result = new QueryResult();
+        result.setSuccess(true);
+        result.setError(false);
+        result.setNumpods(1);
+        result.setPods(Collections.singletonList(pod));
+        return result;
+    }
+
+    private static class LimitedMemoryCache extends OffHeapResultCache {
+        private int slabsLeft;
+
+        LimitedMemoryCache(OffHeapCacheConfiguration configuration, int slabsLeft) {
+            super(configuration);
+            this.slabsLeft = slabsLeft;
+        }
+
+        @Override
+        ByteBuffer allocateSlab() {
+            if (slabsLeft-- == 0) {
+                throw new OutOfMemoryError("Direct buffer memory");
+            }
+            return super.allocateSlab();
+        }
+    }
+}
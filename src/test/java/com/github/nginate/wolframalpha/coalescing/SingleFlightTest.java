@@ -0,0 +1,101 @@
+package com.github.nginate.wolframalpha.coalescing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private SingleFlight<String, String> flights;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        flights = new SingleFlight<>();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void verifyConcurrentCallersShareExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flights.execute("key", () -> {
+                executions.incrementAndGet();
+                release.await();
+                return "value";
+            })));
+        }
+        awaitCallers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(flights.getExecutions()).isEqualTo(1);
+        assertThat(flights.getCoalesced()).isEqualTo(CALLERS - 1);
+        assertThat(flights.getInFlight()).isZero();
+    }
+
+    @Test
+    public void verifyFailureIsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+            release.await();
+            throw new IllegalArgumentException("failed");
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> flights.execute("key", () -> "not executed"));
+        awaitCallers(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(flights.execute("key", () -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    public void verifyAsyncCancellationIsPerCaller() throws Exception {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.executeAsync("key", () -> upstream);
+        CompletableFuture<String> second = flights.executeAsync("key", () -> CompletableFuture.completedFuture("no"));
+        first.cancel(true);
+        upstream.complete("value");
+
+        assertThat(first).isCancelled();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(flights.getExecutions()).isEqualTo(1);
+        assertThat(flights.getInFlight()).isZero();
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (flights.getInFlight() == 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitCallers(int coalesced) throws InterruptedException {
+        while (flights.getCoalesced() < coalesced) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.nginate.wolframalpha.codec;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.Subpod;
+import com.github.nginate.wolframalpha.retrofit.converter.ResponseConverter;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class QueryResultCodecTest {
+
+    @Test
+    public void verifyExampleResponseRoundTrip() throws Exception {
+        byte[] xml;
+        try (InputStream inputStream = getClass().getResourceAsStream("/full_example.xml")) {
+            xml = Okio.buffer(Okio.source(inputStream)).readByteArray();
+        }
+        QueryResult result = new ResponseConverter<>(QueryResult.class)
+                .convert(ResponseBody.create(MediaType.parse("text/xml"), xml));
+
+        byte[] encoded = QueryResultCodec.encode(result);
+
+        assertThat(QueryResultCodec.decode(encoded)).isEqualTo(result);
+        assertThat(encoded.length).isLessThan(xml.length / 2);
+    }
+
+    @Test
+    public void verifyNullsAndMathMlRoundTrip() throws Exception {
+        Map<String, Object> mrow = new LinkedHashMap<>();
+        mrow.put("mi", Arrays.asList("x", "y"));
+        mrow.put("mo", "+");
+        Subpod subpod = new Subpod();
+        subpod.setTitle(null);
+        subpod.setPrimary(null);
+        subpod.setMathMl(Collections.singletonMap("math", Collections.singletonMap("mrow", mrow)));
+        Pod pod = new Pod();
+        pod.setPosition(-100);
+        pod.setNumsubpods(Integer.MAX_VALUE);
+        pod.setSubpods(Arrays.asList(subpod, new Subpod()));
+        QueryResult result = new QueryResult();
+        result.setTiming(Float.NaN);
+        result.setTimedout(Collections.emptyList());
+        result.setPods(Collections.singletonList(pod));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        buffer.put(QueryResultCodec.encode(result)).flip();
+
+        assertThat(QueryResultCodec.decode(buffer)).isEqualTo(result);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void verifyUnsupportedInputIsRejected() throws Exception {
+        byte[] encoded = QueryResultCodec.encode(new QueryResult());
+        byte[] otherVersion = encoded.clone();
+        otherVersion[2] = (byte) (QueryResultCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> QueryResultCodec.decode(otherVersion)).isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> QueryResultCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> QueryResultCodec.decode("<queryresult/>".getBytes()))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.nginate.wolframalpha.full.PodFixtures.pod;
+import static com.github.nginate.wolframalpha.full.PodFixtures.queryResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AsyncPodResolverTest {
+    private AsyncPodLoader loader;
+    private List<CompletableFuture<Pod>> requests;
+
+    @Before
+    public void setUp() throws Exception {
+        loader = mock(AsyncPodLoader.class);
+        requests = new ArrayList<>();
+        when(loader.loadPodFuture(anyString())).thenAnswer(invocation -> {
+            CompletableFuture<Pod> future = new CompletableFuture<>();
+            requests.add(future);
+            return future;
+        });
+    }
+
+    @Test
+    public void verifyPodsAreSplicedByPosition() throws Exception {
+        QueryResult queryResult = queryResult(pod("Input", null), pod("Result", "http://host/1"),
+                pod("Plot", "http://host/2"));
+        CompletableFuture<AsyncPodResolution> future = new AsyncPodResolver(loader).resolveAsync(queryResult);
+
+        requests.get(1).complete(pod("Plot", null));
+        assertThat(future).isNotDone();
+        requests.get(0).complete(pod("Result", null));
+
+        AsyncPodResolution resolution = future.join();
+        assertThat(resolution.isComplete()).isTrue();
+        assertThat(resolution.getQueryResult().getPods())
+                .extracting(Pod::getTitle, Pod::getAsync)
+                .containsExactly(tuple("Input", null), tuple("Result", null), tuple("Plot", null));
+    }
+
+    @Test
+    public void verifyParallelismIsBounded() throws Exception {
+        QueryResult queryResult = queryResult(pod("1", "http://host/1"), pod("2", "http://host/2"),
+                pod("3", "http://host/3"));
+        CompletableFuture<AsyncPodResolution> future = new AsyncPodResolver(loader, 2, Duration.ofSeconds(10))
+                .resolveAsync(queryResult);
+
+        assertThat(requests).hasSize(2);
+        requests.get(0).complete(pod("1", null));
+        assertThat(requests).hasSize(3);
+        requests.get(1).complete(pod("2", null));
+        requests.get(2).complete(pod("3", null));
+
+        assertThat(future.join().isComplete()).isTrue();
+    }
+
+    @Test
+    public void verifyFailuresAreKept() throws Exception {
+        QueryResult queryResult = queryResult(pod("Result", "http://host/1"), pod("Plot", "http://host/2"));
+        CompletableFuture<AsyncPodResolution> future = new AsyncPodResolver(loader).resolveAsync(queryResult);
+
+        IOException error = new IOException("Connection reset");
+        requests.get(0).completeExceptionally(error);
+        requests.get(1).complete(pod("Plot", null));
+
+        AsyncPodResolution resolution = future.join();
+        assertThat(resolution.getFailures()).hasSize(1);
+        assertThat(resolution.getFailures().get(0).getIndex()).isEqualTo(0);
+        assertThat(resolution.getFailures().get(0).getCause()).isSameAs(error);
+        assertThat(resolution.getQueryResult().getPods().get(0).getAsync()).isEqualTo("http://host/1");
+        assertThat(resolution.getQueryResult().getPods().get(1).getAsync()).isNull();
+    }
+
+    @Test
+    public void verifyPendingPodsAreCancelledOnDeadline() throws Exception {
+        QueryResult queryResult = queryResult(pod("Result", "http://host/1"), pod("Plot", "http://host/2"));
+        AsyncPodResolver resolver = new AsyncPodResolver(loader, 1, Duration.ofMillis(100));
+        CompletableFuture<AsyncPodResolution> future = resolver.resolveAsync(queryResult);
+
+        AsyncPodResolution resolution = future.join();
+        assertThat(resolution.getFailures())
+                .extracting(AsyncPodResolution.PodFailure::getIndex)
+                .containsExactly(0, 1);
+        assertThat(resolution.getFailures().get(0).getCause()).isInstanceOf(TimeoutException.class);
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).isCancelled();
+    }
+}
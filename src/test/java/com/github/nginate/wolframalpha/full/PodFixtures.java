@@ -0,0 +1,24 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@UtilityClass
+class PodFixtures {
+    static QueryResult queryResult(Pod... pods) {
+        QueryResult queryResult = new QueryResult();
+        queryResult.setPods(new ArrayList<>(Arrays.asList(pods)));
+        return queryResult;
+    }
+
+    static Pod pod(String title, String async) {
+        Pod pod = new Pod();
+        pod.setTitle(title);
+        pod.setAsync(async);
+        return pod;
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.nginate.wolframalpha.full;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.nginate.wolframalpha.full.PodFixtures.pod;
+import static com.github.nginate.wolframalpha.full.PodFixtures.queryResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProgressivePodPublisherTest {
+    private CompletableFuture<Pod> asyncPod;
+    private ProgressivePodPublisher publisher;
+    private List<String> events;
+
+    @Before
+    public void setUp() throws Exception {
+        AsyncPodLoader loader = mock(AsyncPodLoader.class);
+        asyncPod = new CompletableFuture<>();
+        when(loader.loadPodFuture(anyString())).thenReturn(asyncPod);
+        publisher = new ProgressivePodPublisher(new AsyncPodResolver(loader));
+        events = new ArrayList<>();
+    }
+
+    @Test
+    public void verifyPodsAreDeliveredAsTheyBecomeAvailable() throws Exception {
+        CompletableFuture<QueryResult> query = new CompletableFuture<>();
+        CompletableFuture<AsyncPodResolution> resolution = publisher.publish(query, new RecordingListener());
+
+        query.complete(queryResult(pod("Input", null), pod("Plot", "http://host/1"), pod("Result", null)));
+        assertThat(events).containsExactly("result", "pod 0 Input", "pod 2 Result");
+
+        asyncPod.complete(pod("Plot", null));
+        assertThat(events).containsExactly("result", "pod 0 Input", "pod 2 Result", "pod 1 Plot", "complete");
+        assertThat(resolution.join().isComplete()).isTrue();
+    }
+
+    @Test
+    public void verifyQueryErrorIsDelivered() throws Exception {
+        CompletableFuture<QueryResult> query = new CompletableFuture<>();
+        CompletableFuture<AsyncPodResolution> resolution = publisher.publish(query, new RecordingListener());
+
+        query.completeExceptionally(new IOException("Connection reset"));
+
+        assertThat(events).containsExactly("error Connection reset");
+        assertThat(resolution).isCompletedExceptionally();
+    }
+
+    @Test
+    public void verifyListenerErrorsDoNotStopDelivery() throws Exception {
+        CompletableFuture<QueryResult> query = new CompletableFuture<>();
+        CompletableFuture<AsyncPodResolution> resolution = publisher.publish(query, new RecordingListener() {
+            @Override
+            public void onQueryResult(QueryResult queryResult) {
+                super.onQueryResult(queryResult);
+                throw new IllegalStateException("Listener failure");
+            }
+
+            @Override
+            public void onPod(int index, Pod pod) {
+                super.onPod(index, pod);
+                throw new IllegalStateException("Listener failure");
+            }
+        });
+
+        query.complete(queryResult(pod("Input", null), pod("Plot", "http://host/1"), pod("Result", null)));
+        asyncPod.complete(pod("Plot", null));
+
+        assertThat(events).containsExactly("result", "pod 0 Input", "pod 2 Result", "pod 1 Plot", "complete");
+        assertThat(resolution.join().isComplete()).isTrue();
+    }
+
+    private class RecordingListener implements PodListener {
+        @Override
+        public void onQueryResult(QueryResult queryResult) {
+            events.add("result");
+        }
+
+        @Override
+        public void onPod(int index, Pod pod) {
+            events.add("pod " + index + " " + pod.getTitle());
+        }
+
+        @Override
+        public void onComplete(AsyncPodResolution resolution, Duration initialLatency, Duration totalLatency) {
+            assertThat(totalLatency).isGreaterThanOrEqualTo(initialLatency);
+            events.add("complete");
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            events.add("error " + cause.getMessage());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.nginate.wolframalpha.hedging;
+
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class HedgedCallTest {
+    private Call<String> primary;
+    private Call<String> hedge;
+    private CompletableFuture<Callback<String>> primaryCallback;
+    private CompletableFuture<Callback<String>> hedgeCallback;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        primary = mock(Call.class);
+        hedge = mock(Call.class);
+        primaryCallback = new CompletableFuture<>();
+        hedgeCallback = new CompletableFuture<>();
+        when(primary.clone()).thenReturn(hedge);
+        doAnswer(invocation -> primaryCallback.complete(invocation.getArgument(0))).when(primary).enqueue(any());
+        doAnswer(invocation -> hedgeCallback.complete(invocation.getArgument(0))).when(hedge).enqueue(any());
+    }
+
+    @Test
+    public void verifyFastResponseIsNotHedged() throws Exception {
+        HedgingPolicy policy = policy(10);
+        HedgedCall<String> call = new HedgedCall<>(primary, policy);
+        CompletableFuture<String> result = enqueue(call);
+
+        primaryCallback.get().onResponse(primary, Response.success("42"));
+        Thread.sleep(100);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("42");
+        verify(primary, never()).clone();
+        assertThat(policy.getHedges()).isZero();
+    }
+
+    @Test
+    public void verifyHedgeWinsAndPrimaryIsCancelled() throws Exception {
+        HedgingPolicy policy = policy(10);
+        HedgedCall<String> call = new HedgedCall<>(primary, policy);
+        CompletableFuture<String> result = enqueue(call);
+
+        hedgeCallback.get(1, TimeUnit.SECONDS).onResponse(hedge, Response.success("42"));
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("42");
+        verify(primary).cancel();
+        assertThat(policy.getHedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyFailureIsReportedWhenBothCallsFailed() throws Exception {
+        HedgedCall<String> call = new HedgedCall<>(primary, policy(10));
+        CompletableFuture<String> result = enqueue(call);
+
+        hedgeCallback.get(1, TimeUnit.SECONDS).onFailure(hedge, new IOException("hedge"));
+        assertThat(result).isNotDone();
+        primaryCallback.get().onFailure(primary, new IOException("primary"));
+
+        assertThat(catchThrowable(result::join)).hasRootCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void verifyHedgesAreLimitedByBudget() throws Exception {
+        HedgingPolicy policy = policy(0);
+        HedgedCall<String> call = new HedgedCall<>(primary, policy);
+        CompletableFuture<String> result = enqueue(call);
+
+        Thread.sleep(100);
+        primaryCallback.get().onResponse(primary, Response.success("42"));
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("42");
+        verify(primary, never()).clone();
+    }
+
+    private static HedgingPolicy policy(int maxBurst) {
+        return HedgingPolicy.builder()
+                .delay(Duration.ofMillis(20))
+                .maxHedgeRatio(1.0)
+                .maxBurst(maxBurst)
+                .build();
+    }
+
+    private static CompletableFuture<String> enqueue(Call<String> call) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        call.enqueue(new Callback<String>() {
+            @Override
+            public void onResponse(Call<String> call, Response<String> response) {
+                result.complete(response.body());
+            }
+
+            @Override
+            public void onFailure(Call<String> call, Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.nginate.wolframalpha.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class HistogramTest {
+    private Histogram histogram;
+
+    @Before
+    public void setUp() throws Exception {
+        histogram = new Histogram();
+    }
+
+    @Test
+    public void smallValuesAreExact() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(10);
+        assertThat(snapshot.getValueAtPercentile(50)).isEqualTo(5);
+        assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(10);
+        assertThat(snapshot.getMean()).isEqualTo(5.5, within(0.001));
+    }
+
+    @Test
+    public void largeValuesAreWithinBucketPrecision() throws Exception {
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getValueAtPercentile(50)).isBetween(50_000_000L, 56_250_000L);
+        assertThat(snapshot.getValueAtPercentile(99)).isBetween(99_000_000L, 100_000_000L);
+        assertThat(snapshot.getMax()).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    public void bucketsAreCoveringAllValues() throws Exception {
+        long[] values = {0, 15, 16, 17, 1000, 1L << 40, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = Histogram.bucket(value);
+            assertThat(Histogram.upperBound(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(Histogram.upperBound(bucket - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void resetClearsValues() throws Exception {
+        histogram.record(42);
+        histogram.reset();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.snapshot().getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    public void invalidPercentile() throws Exception {
+        assertThatThrownBy(() -> histogram.snapshot().getValueAtPercentile(101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
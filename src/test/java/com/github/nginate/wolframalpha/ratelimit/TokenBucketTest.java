@@ -0,0 +1,62 @@
+package com.github.nginate.wolframalpha.ratelimit;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void verifyBurstIsServedImmediately() throws Exception {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+
+        assertThat(bucket.reserve(0, 0)).isZero();
+        assertThat(bucket.reserve(0, 0)).isZero();
+        assertThat(bucket.reserve(0, 0)).isZero();
+        assertThat(bucket.reserve(0, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    public void verifyWaitingCallersAreQueued() throws Exception {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        assertThat(bucket.reserve(0, SECOND)).isZero();
+        assertThat(bucket.reserve(0, SECOND)).isEqualTo(SECOND / 2);
+        assertThat(bucket.reserve(0, SECOND)).isEqualTo(SECOND);
+        assertThat(bucket.reserve(0, SECOND)).isEqualTo(-1);
+    }
+
+    @Test
+    public void verifyTokensAreRefilledUpToCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.reserve(0, 0);
+        bucket.reserve(0, 0);
+
+        assertThat(bucket.reserve(SECOND / 2, 0)).isZero();
+        assertThat(bucket.reserve(SECOND / 2, 0)).isEqualTo(-1);
+
+        long later = 10 * SECOND;
+        assertThat(bucket.reserve(later, 0)).isZero();
+        assertThat(bucket.reserve(later, 0)).isZero();
+        assertThat(bucket.reserve(later, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    public void verifyReleasedTokenIsReused() throws Exception {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.reserve(0, SECOND);
+        bucket.reserve(0, SECOND);
+
+        bucket.release();
+
+        assertThat(bucket.reserve(0, SECOND)).isEqualTo(SECOND / 2);
+        bucket.release();
+        bucket.release();
+        bucket.release();
+        assertThat(bucket.reserve(0, 0)).isZero();
+        assertThat(bucket.reserve(0, 0)).isEqualTo(-1);
+    }
+}
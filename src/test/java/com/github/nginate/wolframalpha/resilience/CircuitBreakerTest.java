@@ -0,0 +1,76 @@
+package com.github.nginate.wolframalpha.resilience;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final CircuitBreaker breaker = new CircuitBreaker(CircuitBreakerConfiguration.builder()
+            .window(4)
+            .minCalls(4)
+            .failureRateThreshold(0.5)
+            .openDuration(Duration.ofSeconds(1))
+            .build());
+
+    @Test
+    public void verifyBreakerOpensOnFailureRate() throws Exception {
+        breaker.onSuccess();
+        breaker.onFailure(0);
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(SECOND / 2)).isFalse();
+    }
+
+    @Test
+    public void verifyOldOutcomesAreEvicted() throws Exception {
+        breaker.onFailure(0);
+        for (int i = 0; i < 8; i++) {
+            breaker.onSuccess();
+        }
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void verifySingleProbeClosesBreaker() throws Exception {
+        open();
+
+        assertThat(breaker.tryAcquire(SECOND)).isTrue();
+        assertThat(breaker.tryAcquire(SECOND)).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(SECOND)).isTrue();
+    }
+
+    @Test
+    public void verifyFailedProbeReopensBreaker() throws Exception {
+        open();
+        assertThat(breaker.tryAcquire(SECOND)).isTrue();
+
+        breaker.onFailure(SECOND);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(SECOND + SECOND / 2)).isFalse();
+        assertThat(breaker.tryAcquire(2 * SECOND)).isTrue();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(0);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.nginate.wolframalpha.retrofit;
+
+import com.github.nginate.wolframalpha.full.AsyncFullResultsApi;
+import com.github.nginate.wolframalpha.full.FullResultsApi;
+import com.github.nginate.wolframalpha.full.GeneratedAsyncFullResultsApi;
+import com.github.nginate.wolframalpha.full.GeneratedFullResultsApi;
+import com.github.nginate.wolframalpha.metrics.InMemoryMetrics;
+import com.github.nginate.wolframalpha.model.Layout;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.ResultFormat;
+import com.github.nginate.wolframalpha.model.ResultType;
+import com.github.nginate.wolframalpha.model.Units;
+import com.github.nginate.wolframalpha.model.params.GeoCoordinates;
+import com.github.nginate.wolframalpha.retrofit.converter.ParserType;
+import com.github.nginate.wolframalpha.retrofit.converter.Projection;
+import com.github.nginate.wolframalpha.retrofit.converter.factory.ByteArrayConverterFactory;
+import com.github.nginate.wolframalpha.retrofit.converter.factory.FullApiConverterFactory;
+import com.github.nginate.wolframalpha.shortanswer.GeneratedShortAnswersApi;
+import com.github.nginate.wolframalpha.shortanswer.ShortAnswersApi;
+import com.github.nginate.wolframalpha.simple.GeneratedSimpleApi;
+import com.github.nginate.wolframalpha.simple.SimpleApi;
+import com.github.nginate.wolframalpha.spoken.GeneratedSpokenResultsApi;
+import com.github.nginate.wolframalpha.spoken.SpokenResultsApi;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.Test;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeneratedClientsTest {
+    private static final String URL = "https://api.wolframalpha.com";
+
+    private final List<HttpUrl> requests = new ArrayList<>();
+    private final OkHttpClient httpClient = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                HttpUrl url = chain.request().url();
+                requests.add(url);
+                okhttp3.Response.Builder response = new okhttp3.Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK");
+                switch (url.encodedPath()) {
+                    case "/v2/query":
+                        return response.body(ResponseBody.create(MediaType.parse("text/xml;charset=utf-8"),
+                                readResource("/full_example.xml"))).build();
+                    case "/v1/simple":
+                        return response.body(ResponseBody.create(MediaType.parse("image/gif"), new byte[]{1, 2, 3}))
+                                .build();
+                    default:
+                        return response.code(501).message("Not Implemented")
+                                .body(ResponseBody.create(MediaType.parse("text/plain"), "No short answer available"))
+                                .build();
+                }
+            })
+            .build();
+
+    @Test
+    public void testFullResultsSameAsRetrofit() throws Exception {
+        Retrofit retrofit = retrofit(FullApiConverterFactory.create(ParserType.STAX, new InMemoryMetrics(),
+                Projection.ALL), new PayloadAdapter());
+
+        QueryResult expected = fullQuery(retrofit.create(FullResultsApi.class));
+        QueryResult actual = fullQuery(new GeneratedFullResultsApi(retrofit));
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1)).isEqualTo(requests.get(0));
+        assertThat(requests.get(0).queryParameter("format")).isEqualTo("image,plaintext");
+        assertThat(requests.get(0).queryParameter("async")).isEqualTo("3.0");
+        assertThat(requests.get(0).queryParameterValues("assumption")).hasSize(2);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void testAsyncFullResultsSameAsRetrofit() throws Exception {
+        Retrofit retrofit = retrofit(FullApiConverterFactory.create(ParserType.STAX, new InMemoryMetrics(),
+                Projection.ALL), new CompletableFutureAdapter());
+
+        QueryResult expected = retrofit.create(AsyncFullResultsApi.class)
+                .getFullResults("pi", "DEMO", ResultFormat.PLAINTEXT).get();
+        QueryResult actual = new GeneratedAsyncFullResultsApi(retrofit)
+                .getFullResults("pi", "DEMO", ResultFormat.PLAINTEXT).get();
+
+        assertThat(requests.get(1)).isEqualTo(requests.get(0));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void testSimpleSameAsRetrofit() throws Exception {
+        Retrofit retrofit = retrofit(ByteArrayConverterFactory.create(), new ErrorUnwrappingAdapter());
+        SimpleApi proxy = retrofit.create(SimpleApi.class);
+        SimpleApi generated = new GeneratedSimpleApi(retrofit);
+
+        byte[] expected = proxy.query("pi", "DEMO", Layout.LABELBAR, null, "white", 14, 500, Units.METRIC, 5)
+                .execute().body();
+        byte[] actual = generated.query("pi", "DEMO", Layout.LABELBAR, null, "white", 14, 500, Units.METRIC, 5)
+                .execute().body();
+        try (ResponseBody body = generated.streamQuery("pi", "DEMO", 14, 500, 5).execute().body()) {
+            assertThat(body).isNotNull();
+            assertThat(body.bytes()).isEqualTo(expected);
+        }
+
+        assertThat(requests.get(1)).isEqualTo(requests.get(0));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void testErrorResponsesSameAsRetrofit() throws Exception {
+        Retrofit retrofit = retrofit(ScalarsConverterFactory.create(), new ErrorUnwrappingAdapter());
+
+        Response<String> expected = retrofit.create(ShortAnswersApi.class)
+                .getShortAnswer("how far is Los Angeles from New York?", "DEMO", Units.IMPERIAL, 7).execute();
+        Response<String> actual = new GeneratedShortAnswersApi(retrofit)
+                .getShortAnswer("how far is Los Angeles from New York?", "DEMO", Units.IMPERIAL, 7).execute();
+        Response<String> spoken = new GeneratedSpokenResultsApi(retrofit)
+                .getSpokenResults("pi", "DEMO", Units.METRIC).execute();
+
+        assertThat(requests.get(1)).isEqualTo(requests.get(0));
+        assertThat(requests.get(2).encodedPath()).isEqualTo("/v1/spoken");
+        assertThat(retrofit.create(SpokenResultsApi.class).getSpokenResults("pi", "DEMO", Units.METRIC).request()
+                .url()).isEqualTo(requests.get(2));
+        assertThat(actual.isSuccessful()).isFalse();
+        assertThat(actual.code()).isEqualTo(expected.code());
+        assertThat(actual.body()).isNull();
+        assertThat(actual.errorBody().string()).isEqualTo(expected.errorBody().string());
+        assertThat(spoken.code()).isEqualTo(501);
+    }
+
+    private static QueryResult fullQuery(FullResultsApi api) {
+        return api.getFullResults("pi", "DEMO", Arrays.asList(ResultFormat.IMAGE, ResultFormat.PLAINTEXT),
+                Arrays.asList("*C.pi-_*Movie-", "*DPClash.NumberE.pi-_*Pi-"), null, new GeoCoordinates(40.42, -3.7),
+                null, null, 3f, null, 2.5f, null, null, null, null, null, null, Arrays.asList(1, 2), null,
+                ResultType.XML);
+    }
+
+    private Retrofit retrofit(retrofit2.Converter.Factory converterFactory, retrofit2.CallAdapter.Factory adapter) {
+        return new Retrofit.Builder()
+                .baseUrl(URL)
+                .client(httpClient)
+                .addConverterFactory(converterFactory)
+                .addCallAdapterFactory(adapter)
+                .build();
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream inputStream = GeneratedClientsTest.class.getResourceAsStream(name)) {
+            return Okio.buffer(Okio.source(inputStream)).readByteArray();
+        }
+    }
+}
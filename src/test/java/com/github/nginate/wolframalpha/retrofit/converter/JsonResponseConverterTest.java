@@ -0,0 +1,97 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.Subpod;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonResponseConverterTest {
+    private static final MediaType XML = MediaType.parse("text/xml;charset=utf-8");
+    private static final MediaType JSON = MediaType.parse("application/json;charset=utf-8");
+
+    @Test
+    public void testSameResultAsXml() throws Exception {
+        QueryResult expected = StaxResponseConverter.queryResult()
+                .convert(ResponseBody.create(XML, readResource("/full_example.xml")));
+        QueryResult actual = new JsonResponseConverter()
+                .convert(ResponseBody.create(JSON, readResource("/full_example.json")));
+
+        assertThat(actual.getPods()).hasSize(expected.getNumpods());
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testJsonShapes() throws Exception {
+        String response = "{\"queryresult\":{\"success\":true,\"error\":false,\"numpods\":\"1\",\"timing\":0.5," +
+                "\"pods\":{\"title\":\"Result\",\"id\":\"Result\",\"position\":200,\"error\":false," +
+                "\"subpods\":[{\"title\":\"\",\"plaintext\":\"x + y\"," +
+                "\"mathml\":\"<math xmlns='http://www.w3.org/1998/Math/MathML'><mrow><mi>x</mi><mo>+</mo>" +
+                "<mi>y</mi></mrow></math>\",\"cell\":\"<![CDATA[Cell[BoxData[\\\"x\\\"]]]]>\"," +
+                "\"imagemap\":{\"rect\":{\"left\":0,\"top\":0,\"right\":10,\"bottom\":18,\"query\":\"x\"}}}]," +
+                "\"states\":[{\"name\":\"More digits\",\"input\":\"Result__More digits\"}]}," +
+                "\"assumptions\":{\"type\":\"Clash\",\"word\":\"x\",\"count\":2," +
+                "\"values\":[{\"name\":\"Variable\",\"desc\":\"a variable\",\"input\":\"*C.x-_*Variable-\"}]}}}";
+
+        QueryResult result = new JsonResponseConverter().convert(ResponseBody.create(JSON, response));
+
+        assertThat(result.getNumpods()).isEqualTo(1);
+        assertThat(result.getTiming()).isEqualTo(0.5f);
+        assertThat(result.getPods()).hasSize(1);
+        assertThat(result.getPods().get(0).getStates().getStates()).hasSize(1);
+        Subpod subpod = result.getPods().get(0).getSubpods().get(0);
+        assertThat(subpod.getPlaintext()).isEqualTo("x + y");
+        assertThat(subpod.getCell().getData()).isEqualTo("Cell[BoxData[\"x\"]]");
+        assertThat(subpod.getImageMap().getRectangles()).hasSize(1);
+        Map<String, Object> math = (Map<String, Object>) subpod.getMathMl().get("math");
+        assertThat((Map<String, Object>) math.get("mrow")).containsEntry("mi", "y").containsEntry("mo", "+");
+        assertThat(result.getAssumptions().getAssumptions()).hasSize(1);
+        assertThat(result.getAssumptions().getAssumptions().get(0).getValues()).hasSize(1);
+
+        QueryResult projected = new JsonResponseConverter(Projection.of("pods.subpods.plaintext"))
+                .convert(ResponseBody.create(JSON, response));
+
+        assertThat(projected.getAssumptions()).isNull();
+        assertThat(projected.getPods().get(0).getStates()).isNull();
+        assertThat(projected.getPods().get(0).getSubpods().get(0).getPlaintext()).isEqualTo("x + y");
+        assertThat(projected.getPods().get(0).getSubpods().get(0).getMathMl()).isNull();
+    }
+
+    @Test
+    public void testErrorsAndDispatching() throws Exception {
+        ResultTypeDispatchingConverter<QueryResult> converter = new ResultTypeDispatchingConverter<>(
+                StaxResponseConverter.queryResult(), new JsonResponseConverter());
+
+        QueryResult json = converter.convert(ResponseBody.create(JSON,
+                "{\"queryresult\":{\"success\":false,\"error\":{\"code\":\"1\",\"msg\":\"Invalid appid\"}}}"));
+        QueryResult xml = converter.convert(ResponseBody.create(XML,
+                "<queryresult success='false' error='true'><error><code>1</code></error></queryresult>"));
+
+        assertThat(json.getError()).isTrue();
+        assertThat(json.getSuccess()).isFalse();
+        assertThat(xml).isEqualTo(json);
+        assertThatThrownBy(() -> converter.convert(ResponseBody.create(JSON, "{\"pod\":{}}")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> converter.convert(ResponseBody.create(JSON,
+                "{\"queryresult\":{\"success\":true,\"numpods\":\"one\"}}")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> converter.convert(ResponseBody.create(JSON,
+                "{\"queryresult\":{\"success\":true,\"timing\":\"fast\"}}")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream inputStream = JsonResponseConverterTest.class.getResourceAsStream(name)) {
+            return Okio.buffer(Okio.source(inputStream)).readByteArray();
+        }
+    }
+}
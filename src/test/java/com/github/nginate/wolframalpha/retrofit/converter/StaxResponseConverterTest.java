@@ -0,0 +1,144 @@
+package com.github.nginate.wolframalpha.retrofit.converter;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import com.github.nginate.wolframalpha.model.Subpod;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StaxResponseConverterTest {
+    private static final MediaType XML = MediaType.parse("text/xml;charset=utf-8");
+
+    @Test
+    public void testSameResultAsJackson() throws Exception {
+        byte[] response = readResource("/full_example.xml");
+
+        QueryResult expected = new ResponseConverter<>(QueryResult.class).convert(ResponseBody.create(XML, response));
+        QueryResult actual = StaxResponseConverter.queryResult().convert(ResponseBody.create(XML, response));
+
+        assertThat(actual.getPods()).hasSize(expected.getNumpods());
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void testGeneratedReaderSameResultAsJackson() throws Exception {
+        byte[] response = readResource("/full_example.xml");
+        String pod = "<pod title='Result' id='Result' position='200' primary='true'><subpod title=''>" +
+                "<plaintext>x &amp; y</plaintext><mathml><math><mi>x</mi></math></mathml>" +
+                "<cell compressed='false'><![CDATA[Cell[BoxData[\"x\"]]]]></cell><plaintext/></subpod>" +
+                "<states count='1'><state name='More digits' input='Result__More digits'/></states></pod>";
+
+        QueryResult expected = new ResponseConverter<>(QueryResult.class).convert(ResponseBody.create(XML, response));
+        QueryResult actual = StaxResponseConverter.generatedQueryResult().convert(ResponseBody.create(XML, response));
+
+        assertThat(actual.getPods()).hasSize(expected.getNumpods());
+        assertThat(actual).isEqualTo(expected);
+        assertThat(StaxResponseConverter.generatedPod().convert(ResponseBody.create(XML, pod)))
+                .isEqualTo(StaxResponseConverter.pod().convert(ResponseBody.create(XML, pod)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSubpodContent() throws Exception {
+        String response = "<pod title='Result' id='Result' position='200' primary='true'>" +
+                "<subpod title=''>" +
+                "<plaintext>x &amp; y</plaintext>" +
+                "<mathml><math xmlns='http://www.w3.org/1998/Math/MathML' mathematica:form='StandardForm'" +
+                " xmlns:mathematica='http://www.wolfram.com/XML/'><mrow><mi>x</mi><mo>+</mo><mi>y</mi></mrow></math>" +
+                "</mathml>" +
+                "<cell compressed='false'><![CDATA[Cell[BoxData[\"x\"]]]]></cell>" +
+                "<unknown><plaintext>skipped</plaintext></unknown>" +
+                "</subpod>" +
+                "</pod>";
+
+        Pod pod = StaxResponseConverter.pod().convert(ResponseBody.create(XML, response));
+
+        assertThat(pod.getPrimary()).isTrue();
+        assertThat(pod.getSubpods()).hasSize(1);
+        Subpod subpod = pod.getSubpods().get(0);
+        assertThat(subpod.getPlaintext()).isEqualTo("x & y");
+        assertThat(subpod.getCell().getCompressed()).isFalse();
+        assertThat(subpod.getCell().getData()).isEqualTo("Cell[BoxData[\"x\"]]");
+        assertThat(subpod.getMathMl()).containsOnlyKeys("math");
+        Map<String, Object> math = (Map<String, Object>) subpod.getMathMl().get("math");
+        assertThat(math).containsEntry("form", "StandardForm").containsKey("mrow");
+        assertThat((Map<String, Object>) math.get("mrow")).containsEntry("mi", "y").containsEntry("mo", "+");
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+        byte[] response = readResource("/full_example.xml");
+        Projection projection = Projection.of("pods.title", "pods.subpods.plaintext", "pods.subpods.img.src");
+
+        QueryResult full = StaxResponseConverter.queryResult().convert(ResponseBody.create(XML, response));
+        QueryResult projected = StaxResponseConverter.queryResult(projection)
+                .convert(ResponseBody.create(XML, response));
+
+        assertThat(projected.getSuccess()).isEqualTo(full.getSuccess());
+        assertThat(projected.getAssumptions()).isNull();
+        assertThat(projected.getPods()).hasSameSizeAs(full.getPods());
+        for (int i = 0; i < full.getPods().size(); i++) {
+            Pod expected = full.getPods().get(i);
+            Pod actual = projected.getPods().get(i);
+            assertThat(actual.getTitle()).isEqualTo(expected.getTitle());
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getStates()).isNull();
+            assertThat(actual.getSubpods()).hasSameSizeAs(expected.getSubpods());
+            for (int j = 0; j < expected.getSubpods().size(); j++) {
+                assertThat(actual.getSubpods().get(j).getPlaintext())
+                        .isEqualTo(expected.getSubpods().get(j).getPlaintext());
+                assertThat(actual.getSubpods().get(j).getImg()).isEqualTo(expected.getSubpods().get(j).getImg());
+                assertThat(actual.getSubpods().get(j).getStates()).isNull();
+            }
+        }
+    }
+
+    @Test
+    public void testPodProjection() throws Exception {
+        String response = "<pod title='Result' id='Result'>" +
+                "<subpod title=''><plaintext>x</plaintext><mathml><math><mi>x</mi></math></mathml></subpod>" +
+                "<states count='1'><state name='More digits' input='Result__More digits'/></states>" +
+                "</pod>";
+
+        Pod pod = StaxResponseConverter.pod(Projection.of("pods.subpods.mathMl"))
+                .convert(ResponseBody.create(XML, response));
+        Pod withoutPods = StaxResponseConverter.pod(Projection.of("assumptions"))
+                .convert(ResponseBody.create(XML, response));
+
+        assertThat(pod.getStates()).isNull();
+        assertThat(pod.getSubpods()).hasSize(1);
+        assertThat(pod.getSubpods().get(0).getPlaintext()).isNull();
+        assertThat(pod.getSubpods().get(0).getMathMl()).containsOnlyKeys("math");
+        assertThat(withoutPods.getTitle()).isEqualTo("Result");
+        assertThat(withoutPods.getSubpods()).isNull();
+        assertThatThrownBy(() -> Projection.of("pods..title")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testMalformedDocuments() throws Exception {
+        ResponseBody body = ResponseBody.create(XML, "<queryresult success='true'/>");
+        ResponseBody malformedNumber = ResponseBody.create(XML, "<queryresult success='true' numpods='one'/>");
+
+        assertThatThrownBy(() -> StaxResponseConverter.pod().convert(body)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> StaxResponseConverter.queryResult().convert(malformedNumber))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> StaxResponseConverter.generatedQueryResult().convert(
+                ResponseBody.create(XML, "<queryresult success='true' numpods='one'/>")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream inputStream = StaxResponseConverterTest.class.getResourceAsStream(name)) {
+            return Okio.buffer(Okio.source(inputStream)).readByteArray();
+        }
+    }
+}
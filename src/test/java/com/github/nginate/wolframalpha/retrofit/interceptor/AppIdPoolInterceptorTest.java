@@ -0,0 +1,160 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.appid.AppIdPool;
+import com.github.nginate.wolframalpha.exceptions.InvalidAppIdException;
+import com.github.nginate.wolframalpha.exceptions.RateLimitExceededException;
+import com.github.nginate.wolframalpha.metrics.InMemoryMetrics;
+import com.github.nginate.wolframalpha.ratelimit.RateLimitConfiguration;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AppIdPoolInterceptorTest {
+    private static final String INVALID_XML = "<?xml version='1.0' encoding='UTF-8'?>\n"
+            + "<queryresult success='false' error='true' numpods='0' datatypes='' timedout='' timing='0.0'"
+            + " version='2.6'>\n <error>\n  <code>1</code>\n  <msg>Invalid appid</msg>\n </error>\n</queryresult>";
+    private static final String INVALID_JSON = "{\"queryresult\":{\"success\":false,"
+            + "\"error\":{\"code\":\"1\",\"msg\":\"Invalid appid\"},\"numpods\":0,\"version\":\"2.6\"}}";
+    private static final String VALID_XML = "<?xml version='1.0' encoding='UTF-8'?>\n"
+            + "<queryresult success='true' error='false' numpods='1' version='2.6'>\n"
+            + " <pod title='Result' error='false'/>\n</queryresult>";
+
+    private final List<String> sentAppIds = new ArrayList<>();
+    private AppIdPool pool;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = AppIdPool.builder()
+                .appId("invalid")
+                .appId("valid")
+                .build();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new AppIdPoolInterceptor(pool))
+                .addInterceptor(new DocumentedErrorsInterceptor())
+                .addInterceptor(this::respond)
+                .build();
+    }
+
+    @Test
+    public void verifyInvalidAppIdOfSimpleApisIsFailedOver() throws Exception {
+        assertThat(execute("https://api.wolframalpha.com/v1/result?i=pi")).isEqualTo("3.14");
+
+        assertThat(sentAppIds).containsExactly("invalid", "valid");
+        assertThat(pool.getAvailableAppIds()).containsExactly("valid");
+    }
+
+    @Test
+    public void verifyInvalidAppIdOfFullResultsIsFailedOver() throws Exception {
+        assertThat(execute("https://api.wolframalpha.com/v2/query?input=pi")).isEqualTo(VALID_XML);
+        assertThat(execute("https://api.wolframalpha.com/v2/query?input=pi")).isEqualTo(VALID_XML);
+
+        assertThat(sentAppIds).containsExactly("invalid", "valid", "valid");
+        assertThat(pool.getAvailableAppIds()).containsExactly("valid");
+    }
+
+    @Test
+    public void verifyInvalidAppIdOfJsonFullResultsIsFailedOver() throws Exception {
+        execute("https://api.wolframalpha.com/v2/query?input=pi&output=json");
+
+        assertThat(sentAppIds).containsExactly("invalid", "valid");
+        assertThat(pool.getAvailableAppIds()).containsExactly("valid");
+    }
+
+    @Test
+    public void verifyLastRejectionIsReportedWhenNoAppIdIsLeft() throws Exception {
+        pool = AppIdPool.builder().appId("invalid").build();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new AppIdPoolInterceptor(pool))
+                .addInterceptor(new DocumentedErrorsInterceptor())
+                .addInterceptor(this::respond)
+                .build();
+
+        assertThat(execute("https://api.wolframalpha.com/v2/query?input=pi")).isEqualTo(INVALID_XML);
+        assertThatThrownBy(() -> execute("https://api.wolframalpha.com/v1/result?i=pi"))
+                .isInstanceOf(InvalidAppIdException.class);
+        assertThat(execute("https://api.wolframalpha.com/v2/query?input=pi&appid=explicit")).isEqualTo(VALID_XML);
+        assertThat(sentAppIds).containsExactly("invalid", "invalid", "explicit");
+    }
+
+    @Test
+    public void verifyOnlyApiRateLimitRejectionsBenchAppId() throws Exception {
+        pool = AppIdPool.builder()
+                .appId("limited")
+                .appId("valid")
+                .build();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new AppIdPoolInterceptor(pool))
+                .addInterceptor(new RateLimitingInterceptor(RateLimitConfiguration.builder()
+                        .permitsPerSecond(0.001)
+                        .burst(1)
+                        .maxWait(Duration.ZERO)
+                        .build(), new InMemoryMetrics()))
+                .addInterceptor(new DocumentedErrorsInterceptor())
+                .addInterceptor(this::respond)
+                .build();
+
+        assertThat(execute("https://api.wolframalpha.com/v1/result?i=pi")).isEqualTo("3.14");
+        assertThat(pool.getAvailableAppIds()).containsExactly("valid");
+
+        assertThatThrownBy(() -> execute("https://api.wolframalpha.com/v1/result?i=pi"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .matches(e -> !((RateLimitExceededException) e).isRejectedByApi());
+        assertThat(pool.getAvailableAppIds()).containsExactly("valid");
+        assertThat(sentAppIds).containsExactly("limited", "valid");
+    }
+
+    private String execute(String url) throws Exception {
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private Response respond(okhttp3.Interceptor.Chain chain) {
+        HttpUrl url = chain.request().url();
+        String appId = url.queryParameter("appid");
+        sentAppIds.add(appId);
+        boolean full = url.encodedPath().equals("/v2/query");
+        boolean invalid = "invalid".equals(appId);
+        if ("limited".equals(appId)) {
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(429)
+                    .message("Too Many Requests")
+                    .body(ResponseBody.create(MediaType.parse("text/plain"), "Rate limit exceeded"))
+                    .build();
+        }
+        Response.Builder response = new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK");
+        if (!full) {
+            return invalid
+                    ? response.code(403).message("Forbidden")
+                    .body(ResponseBody.create(MediaType.parse("text/plain"), "Error 1: Invalid appid")).build()
+                    : response.body(ResponseBody.create(MediaType.parse("text/plain"), "3.14")).build();
+        }
+        if ("json".equals(url.queryParameter("output"))) {
+            return response.body(ResponseBody.create(MediaType.parse("application/json"),
+                    invalid ? INVALID_JSON : "{\"queryresult\":{\"success\":true,\"error\":false,\"numpods\":0}}"))
+                    .build();
+        }
+        return response.body(ResponseBody.create(MediaType.parse("text/xml"), invalid ? INVALID_XML : VALID_XML))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.simple.DiskImageCache;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImageCacheInterceptorTest {
+    private static final String URL = "https://api.wolframalpha.com/v1/simple?i=pi&width=500";
+    private static final byte[] IMAGE = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @Test
+    public void verifyMissedImageIsRequestedAndCached() throws Exception {
+        DiskImageCache cache = new DiskImageCache(folder.getRoot().toPath(), 1024);
+
+        try (Response response = execute(cache, URL + "&appid=first")) {
+            assertThat(response.body().contentType()).isEqualTo(MediaType.parse("image/png"));
+            assertThat(response.body().bytes()).isEqualTo(IMAGE);
+        }
+
+        assertThat(sent.get()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyCachedImageIsServedWithItsContentType() throws Exception {
+        DiskImageCache cache = new DiskImageCache(folder.getRoot().toPath(), 1024);
+        execute(cache, URL + "&appid=first").close();
+
+        try (Response response = execute(cache, URL + "&appid=second")) {
+            assertThat(response.header("Content-Type")).isEqualTo("image/png");
+            assertThat(response.body().contentType()).isEqualTo(MediaType.parse("image/png"));
+            assertThat(response.body().bytes()).isEqualTo(IMAGE);
+        }
+
+        assertThat(sent.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyImageIsServedWhenItCouldNotBeCached() throws Exception {
+        DiskImageCache cache = new DiskImageCache(folder.getRoot().toPath(), 1024) {
+            @Override
+            public Image put(String key, @Nullable String contentType, BufferedSource source) throws IOException {
+                source.readByte();
+                throw new IOException("No space left on device");
+            }
+        };
+
+        try (Response response = execute(cache, URL)) {
+            assertThat(response.body().contentType()).isEqualTo(MediaType.parse("image/png"));
+            assertThat(response.body().bytes()).isEqualTo(IMAGE);
+        }
+
+        assertThat(sent.get()).isEqualTo(2);
+        assertThat(cache.getCount()).isZero();
+    }
+
+    private Response execute(DiskImageCache cache, String url) throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ImageCacheInterceptor(cache))
+                .addInterceptor(chain -> {
+                    sent.incrementAndGet();
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .header("Content-Type", "image/png")
+                            .body(ResponseBody.create(MediaType.parse("image/png"), IMAGE))
+                            .build();
+                })
+                .build();
+        return client.newCall(new Request.Builder().url(url).build()).execute();
+    }
+}
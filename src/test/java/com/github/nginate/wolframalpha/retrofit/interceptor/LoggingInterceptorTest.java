@@ -0,0 +1,148 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoggingInterceptorTest {
+    private static final String URL = "https://api.wolframalpha.com/v2/query?input=pi&appid=DEMO";
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    @Before
+    public void setUp() throws Exception {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    public void verifyDefaultLevelSkipsHeadersAndBodies() throws Exception {
+        execute(new LoggingInterceptor(), "text/xml", "<queryresult success='true'/>");
+
+        assertThat(messages()).hasSize(2);
+        assertThat(messages().get(0)).endsWith("---> GET " + URL);
+        assertThat(messages().get(1)).contains("<--- 200 OK");
+        assertThat(log()).doesNotContain("headers").doesNotContain("queryresult");
+    }
+
+    @Test
+    public void verifyNothingIsLoggedAtNoneLevel() throws Exception {
+        execute(new LoggingInterceptor(LoggingInterceptor.Level.NONE, 16), "text/xml", "<queryresult/>");
+
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test
+    public void verifyHeadersLevelSkipsBodies() throws Exception {
+        execute(new LoggingInterceptor(LoggingInterceptor.Level.HEADERS, 16), "text/xml", "<queryresult/>");
+
+        assertThat(log()).contains("<--- headers : Content-Type=[text/xml]").doesNotContain("queryresult");
+    }
+
+    @Test
+    public void verifyLongBodiesAreTruncated() throws Exception {
+        execute(new LoggingInterceptor(LoggingInterceptor.Level.BODY, 16), "text/xml",
+                "<queryresult success='true'/>");
+
+        assertThat(messages()).last().asString().endsWith("<--- <queryresult suc... (truncated)");
+    }
+
+    @Test
+    public void verifyBinaryBodiesAreNotRead() throws Exception {
+        execute(new LoggingInterceptor(LoggingInterceptor.Level.BODY, 16), "image/gif", "GIF89a");
+
+        assertThat(messages()).last().asString().endsWith("<--- binary body of image/gif");
+        assertThat(bytesRead.get()).isZero();
+    }
+
+    @Test
+    public void verifyRequestIdIsAssignedByOutermostInterceptor() throws Exception {
+        List<RequestId> ids = new ArrayList<>();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ExceptionTunnelingInterceptor())
+                .addInterceptor(new LoggingInterceptor())
+                .addInterceptor(chain -> {
+                    ids.add(RequestId.of(chain.request()));
+                    return chain.proceed(chain.request());
+                })
+                .addInterceptor(chain -> respond(chain, "text/xml", "<queryresult/>"))
+                .build();
+        client.newCall(new Request.Builder().url(URL).build()).execute().close();
+
+        assertThat(ids).hasSize(1);
+        assertThat(ids.get(0).toString()).isNotEqualTo("0");
+        assertThat(messages()).allMatch(message -> message.startsWith(ids.get(0) + " "));
+    }
+
+    private void execute(LoggingInterceptor interceptor, String contentType, String body) throws Exception {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .addInterceptor(chain -> respond(chain, contentType, body))
+                .build();
+        client.newCall(new Request.Builder().url(URL).build()).execute().close();
+    }
+
+    private Response respond(Interceptor.Chain chain, String contentType, String body) {
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("Content-Type", contentType)
+                .body(ResponseBody.create(MediaType.parse(contentType), -1, Okio.buffer(source(body))))
+                .build();
+    }
+
+    /**
+     * @return body source counting bytes read from it
+     */
+    private Source source(String body) {
+        return new ForwardingSource(new Buffer().writeUtf8(body)) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                bytesRead.addAndGet(Math.max(read, 0));
+                return read;
+            }
+        };
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).collect(toList());
+    }
+
+    private String log() {
+        return String.join("\n", messages());
+    }
+}
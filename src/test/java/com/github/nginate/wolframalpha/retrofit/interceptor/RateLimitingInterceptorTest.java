@@ -0,0 +1,70 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.exceptions.RateLimitExceededException;
+import com.github.nginate.wolframalpha.metrics.InMemoryMetrics;
+import com.github.nginate.wolframalpha.ratelimit.RateLimitConfiguration;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimitingInterceptorTest {
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @Test
+    public void verifyRequestsOverLimitFailFast() throws Exception {
+        OkHttpClient client = client(RateLimitConfiguration.builder()
+                .permitsPerSecond(0.001)
+                .burst(2)
+                .maxWait(Duration.ZERO)
+                .build());
+
+        execute(client, "https://api.wolframalpha.com/v1/result?i=pi&appid=first");
+        execute(client, "https://api.wolframalpha.com/v1/result?i=pi&appid=first");
+        assertThatThrownBy(() -> execute(client, "https://api.wolframalpha.com/v1/result?i=pi&appid=first"))
+                .isInstanceOf(RateLimitExceededException.class);
+        execute(client, "https://api.wolframalpha.com/v1/result?i=pi&appid=second");
+        execute(client, "https://api.wolframalpha.com/api/v2/asyncPod.jsp?id=1");
+
+        assertThat(sent.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void verifyInvalidConfigurationIsRejected() throws Exception {
+        assertThatThrownBy(() -> RateLimitConfiguration.builder().permitsPerSecond(0.0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitConfiguration.builder().burst(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitConfiguration.builder().maxWait(Duration.ofSeconds(-1)).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private OkHttpClient client(RateLimitConfiguration configuration) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new RateLimitingInterceptor(configuration, new InMemoryMetrics()))
+                .addInterceptor(chain -> {
+                    sent.incrementAndGet();
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create(MediaType.parse("text/plain"), "3.14"))
+                            .build();
+                })
+                .build();
+    }
+
+    private static void execute(OkHttpClient client, String url) throws Exception {
+        client.newCall(new Request.Builder().url(url).build()).execute().close();
+    }
+}
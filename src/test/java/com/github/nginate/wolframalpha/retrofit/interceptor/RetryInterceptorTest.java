@@ -0,0 +1,152 @@
+package com.github.nginate.wolframalpha.retrofit.interceptor;
+
+import com.github.nginate.wolframalpha.exceptions.CircuitBreakerOpenException;
+import com.github.nginate.wolframalpha.exceptions.RateLimitExceededException;
+import com.github.nginate.wolframalpha.exceptions.ServiceUnavailableException;
+import com.github.nginate.wolframalpha.metrics.InMemoryMetrics;
+import com.github.nginate.wolframalpha.ratelimit.RateLimitConfiguration;
+import com.github.nginate.wolframalpha.resilience.CircuitBreakerConfiguration;
+import com.github.nginate.wolframalpha.resilience.RetryConfiguration;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryInterceptorTest {
+    private static final String URL = "https://api.wolframalpha.com/v1/result?i=pi&appid=DEMO";
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void verifyOnlyIdempotentCallsAreRetried() throws Exception {
+        OkHttpClient client = client(retry(3, 10), this::unavailable);
+
+        assertThatThrownBy(() -> client.newCall(new Request.Builder().url(URL).build()).execute())
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(attempts.getAndSet(0)).isEqualTo(3);
+
+        assertThatThrownBy(() -> client.newCall(new Request.Builder().url(URL)
+                .post(RequestBody.create(MediaType.parse("text/plain"), "pi"))
+                .build()).execute())
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyCancelledCallsAreNotRetried() throws Exception {
+        OkHttpClient client = client(retry(3, 10), chain -> {
+            attempts.incrementAndGet();
+            chain.call().cancel();
+            throw new IOException("Canceled");
+        });
+        Call call = client.newCall(new Request.Builder().url(URL).build());
+
+        assertThatThrownBy(call::execute).isInstanceOf(IOException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyRetriesStopOnceBudgetIsExhausted() throws Exception {
+        OkHttpClient client = client(RetryConfiguration.builder()
+                .maxAttempts(10)
+                .baseBackoff(Duration.ofMillis(1))
+                .budgetRatio(0.0)
+                .maxBurst(2)
+                .build(), this::unavailable);
+
+        assertThatThrownBy(() -> execute(client)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(attempts.getAndSet(0)).isEqualTo(3);
+        assertThatThrownBy(() -> execute(client)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyRetriesStopOnceBreakerOpens() throws Exception {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(retry(10, 10)))
+                .addInterceptor(new CircuitBreakerInterceptor(CircuitBreakerConfiguration.builder()
+                        .window(4)
+                        .minCalls(2)
+                        .failureRateThreshold(0.5)
+                        .build()))
+                .addInterceptor(this::unavailable)
+                .build();
+
+        assertThatThrownBy(() -> execute(client)).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void verifyEveryAttemptTakesRateLimitPermit() throws Exception {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(retry(10, 10)))
+                .addInterceptor(new RateLimitingInterceptor(RateLimitConfiguration.builder()
+                        .permitsPerSecond(0.001)
+                        .burst(2)
+                        .maxWait(Duration.ZERO)
+                        .build(), new InMemoryMetrics()))
+                .addInterceptor(this::unavailable)
+                .build();
+
+        assertThatThrownBy(() -> execute(client)).isInstanceOf(RateLimitExceededException.class);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void verifyOpenBreakerFailsFastWithoutWaitingForRateLimit() throws Exception {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(retry(10, 10)))
+                .addInterceptor(new CircuitBreakerInterceptor(CircuitBreakerConfiguration.builder()
+                        .window(4)
+                        .minCalls(2)
+                        .failureRateThreshold(0.5)
+                        .build()))
+                .addInterceptor(new RateLimitingInterceptor(RateLimitConfiguration.builder()
+                        .permitsPerSecond(0.001)
+                        .burst(2)
+                        .maxWait(Duration.ofSeconds(10))
+                        .build(), new InMemoryMetrics()))
+                .addInterceptor(this::unavailable)
+                .build();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> execute(client)).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    private Response unavailable(Interceptor.Chain chain) {
+        attempts.incrementAndGet();
+        throw new ServiceUnavailableException(503, "Service Unavailable");
+    }
+
+    private static RetryConfiguration retry(int maxAttempts, int maxBurst) {
+        return RetryConfiguration.builder()
+                .maxAttempts(maxAttempts)
+                .baseBackoff(Duration.ofMillis(1))
+                .maxBurst(maxBurst)
+                .build();
+    }
+
+    private static OkHttpClient client(RetryConfiguration configuration, Interceptor server) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(configuration))
+                .addInterceptor(server)
+                .build();
+    }
+
+    private static void execute(OkHttpClient client) throws IOException {
+        client.newCall(new Request.Builder().url(URL).build()).execute().close();
+    }
+}
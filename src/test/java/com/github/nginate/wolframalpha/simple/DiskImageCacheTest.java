@@ -0,0 +1,72 @@
+package com.github.nginate.wolframalpha.simple;
+
+import okio.Buffer;
+import okio.Okio;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiskImageCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void verifyImageIsReadFromCache() throws Exception {
+        DiskImageCache cache = new DiskImageCache(folder.getRoot().toPath(), 100);
+
+        assertThat(cache.open("pi")).isNull();
+        read(cache.put("pi", "image/png", new Buffer().writeUtf8("image")));
+
+        DiskImageCache.Image image = cache.open("pi");
+        assertThat(image.getContentType()).isEqualTo("image/png");
+        assertThat(image.getSize()).isEqualTo(5);
+        assertThat(read(image)).isEqualTo("image");
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyLeastRecentlyUsedImageIsEvicted() throws Exception {
+        DiskImageCache cache = new DiskImageCache(folder.getRoot().toPath(), 10);
+        read(cache.put("first", null, new Buffer().writeUtf8("1111")));
+        read(cache.put("second", null, new Buffer().writeUtf8("2222")));
+        read(cache.open("first"));
+
+        read(cache.put("third", null, new Buffer().writeUtf8("3333")));
+
+        assertThat(cache.open("second")).isNull();
+        assertThat(read(cache.open("first"))).isEqualTo("1111");
+        assertThat(cache.getSize()).isEqualTo(10);
+        assertThat(Files.exists(folder.getRoot().toPath().resolve("second.img"))).isFalse();
+    }
+
+    @Test
+    public void verifyCacheIsReopenedWithoutUnfinishedWrites() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        DiskImageCache cache = new DiskImageCache(directory, 10);
+        read(cache.put("old", null, new Buffer().writeUtf8("1111")));
+        read(cache.put("new", null, new Buffer().writeUtf8("2222")));
+        Files.setLastModifiedTime(directory.resolve("old.img"), FileTime.fromMillis(0));
+        Path unfinished = Files.createTempFile(directory, "image", ".tmp");
+
+        DiskImageCache reopened = new DiskImageCache(directory, 6);
+
+        assertThat(Files.exists(unfinished)).isFalse();
+        assertThat(reopened.getCount()).isEqualTo(1);
+        assertThat(read(reopened.open("new"))).isEqualTo("2222");
+        assertThat(reopened.open("old")).isNull();
+    }
+
+    private static String read(DiskImageCache.Image image) throws Exception {
+        try (DiskImageCache.Image cached = image) {
+            return Okio.buffer(Okio.source(Channels.newInputStream(cached.getChannel()))).readUtf8();
+        }
+    }
+}
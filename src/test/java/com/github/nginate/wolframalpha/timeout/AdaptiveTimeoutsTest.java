@@ -0,0 +1,78 @@
+package com.github.nginate.wolframalpha.timeout;
+
+import com.github.nginate.wolframalpha.model.Pod;
+import com.github.nginate.wolframalpha.model.QueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class AdaptiveTimeoutsTest {
+    private AdaptiveTimeouts timeouts;
+
+    @Before
+    public void setUp() throws Exception {
+        timeouts = new AdaptiveTimeouts(AdaptiveTimeoutConfiguration.builder()
+                .targetLatency(Duration.ofSeconds(5))
+                .window(10)
+                .build());
+    }
+
+    @Test
+    public void verifyInitialTimeouts() throws Exception {
+        Timeouts initial = timeouts.get("math");
+
+        assertThat(initial.getScanTimeout()).isEqualTo(3f);
+        assertThat(initial.getTotalTimeout()).isEqualTo(5f);
+    }
+
+    @Test
+    public void verifyScanTimeoutIsDecreasedWhenTargetIsExceeded() throws Exception {
+        observe("math", 10, 7f, 0.1f, 0);
+
+        assertThat(timeouts.get("math").getScanTimeout()).isCloseTo(2.4f, within(0.01f));
+        assertThat(timeouts.get("weather").getScanTimeout()).isEqualTo(3f);
+    }
+
+    @Test
+    public void verifyScanTimeoutIsIncreasedWhenPodsAreTimedOut() throws Exception {
+        observe("math", 10, 2f, 0.1f, 1);
+
+        assertThat(timeouts.get("math").getScanTimeout()).isCloseTo(3.5f, within(0.01f));
+    }
+
+    @Test
+    public void verifyTimeoutsAreKeptWithinTarget() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            observe("math", 10, 2f, 0.5f, 1);
+        }
+
+        Timeouts adjusted = timeouts.get("math");
+        assertThat(adjusted.getParseTimeout()).isCloseTo(1f, within(0.15f));
+        assertThat(adjusted.getScanTimeout() + adjusted.getParseTimeout()).isLessThanOrEqualTo(5f);
+    }
+
+    @Test
+    public void verifyTimeoutsAreNotChangedBeforeWindowIsFull() throws Exception {
+        observe("math", 9, 7f, 0.1f, 0);
+
+        assertThat(timeouts.get("math").getScanTimeout()).isEqualTo(3f);
+    }
+
+    private void observe(String queryClass, int count, float timing, float parseTiming, int timedOutPods) {
+        for (int i = 0; i < count; i++) {
+            QueryResult result = new QueryResult();
+            result.setTiming(timing);
+            result.setParsetiming(parseTiming);
+            result.setPods(IntStream.range(0, 4).mapToObj(pod -> new Pod()).collect(Collectors.toList()));
+            result.setTimedoutpods(Collections.nCopies(timedOutPods, "Plot"));
+            timeouts.observe(queryClass, result);
+        }
+    }
+}